@@ -0,0 +1,14 @@
+package application;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
+
+@SpringBootApplication(scanBasePackages = "application")
+@EnableR2dbcRepositories(basePackages = "application.repository")
+public class EcommerceReactiveApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(EcommerceReactiveApplication.class, args);
+    }
+}
@@ -0,0 +1,38 @@
+package application.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Pool de conexões com entrega fora dos event loops. O driver H2 do R2DBC executa cada comando na thread
+ * que assina, e o pool entrega a conexão devolvida ao próximo da fila na thread que a devolveu: sob carga,
+ * um único event loop do Netty passava a rodar todo o trabalho de banco em sequência enquanto as conexões
+ * HTTP dele ficavam sem leitura por dezenas de segundos. Com o acquisitionScheduler, cada pedido recebe a
+ * conexão num scheduler próprio, limitado ao tamanho do pool, e os event loops só fazem I/O de rede.
+ */
+@Configuration
+public class DatabaseConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool connectionFactory(R2dbcProperties properties) {
+        ConnectionFactory connectionFactory = ConnectionFactoryBuilder.withUrl(properties.getUrl())
+                .username(properties.getUsername())
+                .password(properties.getPassword())
+                .build();
+
+        R2dbcProperties.Pool pool = properties.getPool();
+        Scheduler scheduler = Schedulers.newBoundedElastic(pool.getMaxSize(), Integer.MAX_VALUE, "r2dbc");
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+                .initialSize(pool.getInitialSize())
+                .maxSize(pool.getMaxSize())
+                .customizer(builder -> builder.acquisitionScheduler(scheduler))
+                .build());
+    }
+}
@@ -0,0 +1,46 @@
+package application.controller;
+
+import application.dto.OrderRequestDTO;
+import application.dto.OrderResponseDTO;
+import application.service.OrderService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/v1/orders")
+@CrossOrigin(origins = "*")
+public class OrderController {
+
+    private final OrderService orderService;
+
+    @Autowired
+    public OrderController(OrderService orderService) {
+        this.orderService = orderService;
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<OrderResponseDTO>> createOrder(@Valid @RequestBody OrderRequestDTO orderRequest) {
+        return orderService.createOrder(orderRequest)
+                .map(order -> ResponseEntity.status(HttpStatus.CREATED).body(order));
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Page<OrderResponseDTO>>> getOrders(
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+
+        return orderService.findOrders(page, size).map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<OrderResponseDTO>> getOrder(@PathVariable Long id) {
+        return orderService.findOrder(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+}
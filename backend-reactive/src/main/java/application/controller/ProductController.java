@@ -0,0 +1,49 @@
+package application.controller;
+
+import application.dto.ProductDTO;
+import application.dto.ProductScrollDTO;
+import application.service.ProductService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/v1/products")
+@CrossOrigin(origins = "*")
+public class ProductController {
+
+    private final ProductService productService;
+
+    @Autowired
+    public ProductController(ProductService productService) {
+        this.productService = productService;
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Page<ProductDTO>>> getProducts(
+            @RequestParam(value = "search", required = false) String search,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "10") int size) {
+
+        return productService.findProducts(search, page, size).map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/scroll")
+    public Mono<ResponseEntity<ProductScrollDTO>> scrollProducts(
+            @RequestParam(value = "search", required = false) String search,
+            @RequestParam(value = "after", defaultValue = "0") long after,
+            @RequestParam(value = "size", defaultValue = "100") int size,
+            @RequestParam(value = "count", defaultValue = "false") boolean count) {
+
+        return productService.scrollProducts(search, after, size, count).map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<ProductDTO>> getProduct(@PathVariable Long id) {
+        return productService.findProduct(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+}
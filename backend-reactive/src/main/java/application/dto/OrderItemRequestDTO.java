@@ -0,0 +1,46 @@
+package application.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+public class OrderItemRequestDTO {
+
+    @NotNull(message = "ID do produto é obrigatório")
+    private Long productId;
+
+    @NotNull(message = "Quantidade é obrigatória")
+    @Min(value = 1, message = "Quantidade deve ser maior que zero")
+    private Integer quantity;
+
+    public OrderItemRequestDTO() {}
+
+    public OrderItemRequestDTO(Long productId, Integer quantity) {
+        this.productId = productId;
+        this.quantity = quantity;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    @Override
+    public String toString() {
+        return "OrderItemRequestDTO{" +
+                "productId=" + productId +
+                ", quantity=" + quantity +
+                '}';
+    }
+}
+
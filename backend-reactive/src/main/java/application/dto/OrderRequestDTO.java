@@ -0,0 +1,47 @@
+package application.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+public class OrderRequestDTO {
+
+    @NotEmpty(message = "Lista de itens não pode estar vazia")
+    @Valid
+    private List<OrderItemRequestDTO> items;
+
+    // Aceito pelo mesmo contrato do backend; esta variante não aplica regras de preço
+    private Long customerId;
+
+    public OrderRequestDTO() {}
+
+    public OrderRequestDTO(List<OrderItemRequestDTO> items) {
+        this.items = items;
+    }
+
+    public List<OrderItemRequestDTO> getItems() {
+        return items;
+    }
+
+    public void setItems(List<OrderItemRequestDTO> items) {
+        this.items = items;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(Long customerId) {
+        this.customerId = customerId;
+    }
+
+    @Override
+    public String toString() {
+        return "OrderRequestDTO{" +
+                "items=" + items +
+                ", customerId=" + customerId +
+                '}';
+    }
+}
+
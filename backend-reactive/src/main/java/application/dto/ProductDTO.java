@@ -0,0 +1,6 @@
+package application.dto;
+
+import java.math.BigDecimal;
+
+public record ProductDTO(Long id, String name, BigDecimal price, Integer stock, Boolean active) {
+}
@@ -0,0 +1,55 @@
+package application.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Sem coleção de itens: o R2DBC não carrega relacionamentos, os itens vêm de OrderItemRepository
+@Table("orders")
+public class Order {
+
+    @Id
+    private Long id;
+
+    @Column("created_at")
+    private LocalDateTime createdAt;
+
+    @Column("total")
+    private BigDecimal total;
+
+    public Order() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public Order(BigDecimal total) {
+        this();
+        this.total = total;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+}
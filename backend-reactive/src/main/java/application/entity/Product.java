@@ -0,0 +1,80 @@
+package application.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.math.BigDecimal;
+
+// Só leitura pelo repositório: o estoque muda apenas pelo UPDATE condicional de ProductRepository
+@Table("products")
+public class Product {
+
+    @Id
+    private Long id;
+
+    @Column("sku")
+    private String sku;
+
+    @Column("name")
+    private String name;
+
+    @Column("price")
+    private BigDecimal price;
+
+    @Column("stock")
+    private Integer stock;
+
+    @Column("active")
+    private Boolean active;
+
+    public Product() {}
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getSku() {
+        return sku;
+    }
+
+    public void setSku(String sku) {
+        this.sku = sku;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+    }
+
+    public Integer getStock() {
+        return stock;
+    }
+
+    public void setStock(Integer stock) {
+        this.stock = stock;
+    }
+
+    public Boolean getActive() {
+        return active;
+    }
+
+    public void setActive(Boolean active) {
+        this.active = active;
+    }
+}
@@ -0,0 +1,8 @@
+package application.exception;
+
+public class ProductNotFoundException extends RuntimeException {
+
+    public ProductNotFoundException(Long productId) {
+        super("Produto não encontrado: " + productId);
+    }
+}
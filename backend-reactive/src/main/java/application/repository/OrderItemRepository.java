@@ -0,0 +1,29 @@
+package application.repository;
+
+import application.dto.OrderItemResponseDTO;
+import application.entity.OrderItem;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+
+@Repository
+public interface OrderItemRepository extends R2dbcRepository<OrderItem, Long> {
+
+    // Itens de vários pedidos numa consulta, já com o nome do produto; orderId agrupa por pedido
+    @Query("SELECT i.id, i.order_id, i.product_id, p.name AS product_name, i.quantity, i.unit_price, i.line_total " +
+           "FROM order_items i JOIN products p ON p.id = i.product_id WHERE i.order_id IN (:orderIds) ORDER BY i.id")
+    Flux<OrderItemView> findViewsByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
+
+    record OrderItemView(Long id, Long orderId, Long productId, String productName, Integer quantity,
+                         BigDecimal unitPrice, BigDecimal lineTotal) {
+
+        public OrderItemResponseDTO toDTO() {
+            return new OrderItemResponseDTO(id, productId, productName, quantity, unitPrice, lineTotal);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package application.repository;
+
+import application.entity.Order;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+@Repository
+public interface OrderRepository extends R2dbcRepository<Order, Long> {
+
+    @Query("SELECT * FROM orders ORDER BY id DESC LIMIT :limit OFFSET :offset")
+    Flux<Order> findPage(@Param("limit") int limit, @Param("offset") long offset);
+}
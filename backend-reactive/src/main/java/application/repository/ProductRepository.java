@@ -0,0 +1,51 @@
+package application.repository;
+
+import application.dto.ProductDTO;
+import application.entity.Product;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ProductRepository extends R2dbcRepository<Product, Long> {
+
+    // Leituras do catálogo projetam direto no DTO, como no backend servlet
+    String PRODUCT_DTO = "SELECT id, name, price, stock, active FROM products ";
+    String NAME_CONTAINS = "LOWER(name) LIKE LOWER(CONCAT('%', :search, '%')) ";
+
+    @Query(PRODUCT_DTO + "WHERE active = TRUE ORDER BY id LIMIT :limit OFFSET :offset")
+    Flux<ProductDTO> findAllActiveProducts(@Param("limit") int limit, @Param("offset") long offset);
+
+    @Query("SELECT COUNT(*) FROM products WHERE active = TRUE")
+    Mono<Long> countActiveProducts();
+
+    @Query(PRODUCT_DTO + "WHERE active = TRUE AND " + NAME_CONTAINS + "ORDER BY id LIMIT :limit OFFSET :offset")
+    Flux<ProductDTO> findActiveProductsByNameContaining(@Param("search") String search,
+                                                        @Param("limit") int limit, @Param("offset") long offset);
+
+    @Query("SELECT COUNT(*) FROM products WHERE active = TRUE AND " + NAME_CONTAINS)
+    Mono<Long> countActiveProductsByNameContaining(@Param("search") String search);
+
+    @Query(PRODUCT_DTO + "WHERE active = TRUE AND id > :after ORDER BY id LIMIT :limit")
+    Flux<ProductDTO> findActiveProductsAfter(@Param("after") long after, @Param("limit") int limit);
+
+    @Query(PRODUCT_DTO + "WHERE active = TRUE AND id > :after AND " + NAME_CONTAINS + "ORDER BY id LIMIT :limit")
+    Flux<ProductDTO> findActiveProductsByNameContainingAfter(@Param("search") String search,
+                                                             @Param("after") long after, @Param("limit") int limit);
+
+    @Query(PRODUCT_DTO + "WHERE active = TRUE AND id = :id")
+    Mono<ProductDTO> findActiveProductById(@Param("id") Long id);
+
+    // Verificação e decremento no mesmo comando: 0 linhas afetadas significa estoque insuficiente
+    @Modifying
+    @Query("UPDATE products SET stock = stock - :quantity, sold_quantity = sold_quantity + :quantity, " +
+           "version = version + 1 WHERE id = :id AND stock >= :quantity")
+    Mono<Integer> decrementStockIfAvailable(@Param("id") Long id, @Param("quantity") int quantity);
+
+    @Query("SELECT stock FROM products WHERE id = :id")
+    Mono<Integer> findStockById(@Param("id") Long id);
+}
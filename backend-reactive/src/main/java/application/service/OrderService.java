@@ -0,0 +1,157 @@
+package application.service;
+
+import application.dto.OrderItemRequestDTO;
+import application.dto.OrderItemResponseDTO;
+import application.dto.OrderRequestDTO;
+import application.dto.OrderResponseDTO;
+import application.dto.StockErrorDTO;
+import application.entity.Order;
+import application.entity.OrderItem;
+import application.entity.Product;
+import application.exception.InsufficientStockException;
+import application.exception.ProductNotFoundException;
+import application.repository.OrderItemRepository;
+import application.repository.OrderItemRepository.OrderItemView;
+import application.repository.OrderRepository;
+import application.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Equivalente reativo do modo ATOMIC do backend servlet: cada produto é decrementado por um UPDATE
+ * condicional, em ordem de id para que pedidos concorrentes travem as linhas na mesma sequência. Tudo
+ * roda numa transação do R2dbcTransactionManager; se algum produto não tiver saldo, o erro propaga pelo
+ * Mono e o rollback desfaz os decrementos já feitos, sem compensação manual.
+ */
+@Service
+public class OrderService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final ProductRepository productRepository;
+
+    @Autowired
+    public OrderService(OrderRepository orderRepository, OrderItemRepository orderItemRepository,
+                        ProductRepository productRepository) {
+        this.orderRepository = orderRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.productRepository = productRepository;
+    }
+
+    @Transactional
+    public Mono<OrderResponseDTO> createOrder(OrderRequestDTO orderRequest) {
+        Map<Long, Integer> quantities = aggregateQuantities(orderRequest.getItems());
+
+        return loadProducts(quantities)
+                .flatMap(products -> reserveStock(quantities)
+                        .then(Mono.defer(() -> saveOrder(orderRequest, products))));
+    }
+
+    @Transactional(readOnly = true)
+    public Mono<OrderResponseDTO> findOrder(Long id) {
+        return orderRepository.findById(id)
+                .flatMap(order -> withItems(List.of(order)))
+                .map(orders -> orders.get(0));
+    }
+
+    // Número fixo de consultas por página: pedidos + total, depois os itens de todos com os produtos
+    @Transactional(readOnly = true)
+    public Mono<Page<OrderResponseDTO>> findOrders(int page, int size) {
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+
+        // Em sequência: dentro da transação todas as consultas dividem a mesma conexão
+        return orderRepository.count()
+                .flatMap(total -> orderRepository.findPage(pageable.getPageSize(), pageable.getOffset())
+                        .collectList()
+                        .flatMap(orders -> orders.isEmpty() ? Mono.just(List.<OrderResponseDTO>of()) : withItems(orders))
+                        .map(content -> new PageImpl<>(content, pageable, total)));
+    }
+
+    private Map<Long, Integer> aggregateQuantities(List<OrderItemRequestDTO> items) {
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (OrderItemRequestDTO item : items) {
+            quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+        }
+        return quantities;
+    }
+
+    private Mono<Map<Long, Product>> loadProducts(Map<Long, Integer> quantities) {
+        return productRepository.findAllById(quantities.keySet())
+                .collectMap(Product::getId)
+                .flatMap(products -> {
+                    for (Long productId : quantities.keySet()) {
+                        if (!products.containsKey(productId)) {
+                            return Mono.error(new ProductNotFoundException(productId));
+                        }
+                    }
+                    return Mono.just(products);
+                });
+    }
+
+    // concatMap mantém um comando por vez na conexão da transação e a ordem de id do TreeMap
+    private Mono<Void> reserveStock(Map<Long, Integer> quantities) {
+        return Flux.fromIterable(quantities.entrySet())
+                .concatMap(entry -> productRepository.decrementStockIfAvailable(entry.getKey(), entry.getValue())
+                        .filter(updated -> updated == 0)
+                        .flatMap(updated -> productRepository.findStockById(entry.getKey()))
+                        .map(available -> new StockErrorDTO(entry.getKey(), available)))
+                .collectList()
+                .flatMap(errors -> errors.isEmpty()
+                        ? Mono.<Void>empty()
+                        : Mono.error(new InsufficientStockException(errors)));
+    }
+
+    private Mono<OrderResponseDTO> saveOrder(OrderRequestDTO orderRequest, Map<Long, Product> products) {
+        List<OrderItem> items = new ArrayList<>(orderRequest.getItems().size());
+        BigDecimal total = BigDecimal.ZERO;
+        for (OrderItemRequestDTO itemRequest : orderRequest.getItems()) {
+            Product product = products.get(itemRequest.getProductId());
+            BigDecimal lineTotal = product.getPrice()
+                    .multiply(BigDecimal.valueOf(itemRequest.getQuantity()))
+                    .setScale(2, RoundingMode.HALF_EVEN);
+            items.add(new OrderItem(product.getId(), itemRequest.getQuantity(), product.getPrice(), lineTotal));
+            total = total.add(lineTotal);
+        }
+
+        return orderRepository.save(new Order(total.setScale(2, RoundingMode.HALF_EVEN)))
+                .flatMap(order -> Flux.fromIterable(items)
+                        .concatMap(item -> {
+                            item.setOrderId(order.getId());
+                            return orderItemRepository.save(item);
+                        })
+                        .map(item -> new OrderItemResponseDTO(item.getId(), item.getProductId(),
+                                products.get(item.getProductId()).getName(), item.getQuantity(),
+                                item.getUnitPrice(), item.getLineTotal()))
+                        .collectList()
+                        .map(itemDTOs -> new OrderResponseDTO(order.getId(), order.getCreatedAt(),
+                                order.getTotal(), itemDTOs)));
+    }
+
+    private Mono<List<OrderResponseDTO>> withItems(List<Order> orders) {
+        List<Long> ids = orders.stream().map(Order::getId).toList();
+        return orderItemRepository.findViewsByOrderIdIn(ids)
+                .collect(Collectors.groupingBy(OrderItemView::orderId,
+                        Collectors.mapping(OrderItemView::toDTO, Collectors.toList())))
+                .map(itemsByOrder -> orders.stream()
+                        .map(order -> new OrderResponseDTO(order.getId(), order.getCreatedAt(), order.getTotal(),
+                                itemsByOrder.getOrDefault(order.getId(), List.of())))
+                        .toList());
+    }
+}
@@ -0,0 +1,74 @@
+package application.service;
+
+import application.dto.ProductDTO;
+import application.dto.ProductScrollDTO;
+import application.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Optional;
+
+@Service
+public class ProductService {
+
+    private static final int MAX_SCROLL_SIZE = 1000;
+
+    private final ProductRepository productRepository;
+
+    @Autowired
+    public ProductService(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    public Mono<Page<ProductDTO>> findProducts(String search, int page, int size) {
+        String term = search == null ? "" : search.trim();
+        Pageable pageable = PageRequest.of(page, size);
+        int limit = pageable.getPageSize();
+        long offset = pageable.getOffset();
+
+        Flux<ProductDTO> content = term.isEmpty()
+                ? productRepository.findAllActiveProducts(limit, offset)
+                : productRepository.findActiveProductsByNameContaining(term, limit, offset);
+        Mono<Long> total = term.isEmpty()
+                ? productRepository.countActiveProducts()
+                : productRepository.countActiveProductsByNameContaining(term);
+
+        return Mono.zip(content.collectList(), total)
+                .map(result -> new PageImpl<>(result.getT1(), pageable, result.getT2()));
+    }
+
+    public Mono<ProductScrollDTO> scrollProducts(String search, long after, int size, boolean count) {
+        String term = search == null ? "" : search.trim();
+        int limit = Math.min(Math.max(size, 1), MAX_SCROLL_SIZE);
+
+        Flux<ProductDTO> products = term.isEmpty()
+                ? productRepository.findActiveProductsAfter(after, limit + 1)
+                : productRepository.findActiveProductsByNameContainingAfter(term, after, limit + 1);
+        Mono<Optional<Long>> total = !count
+                ? Mono.just(Optional.empty())
+                : (term.isEmpty()
+                        ? productRepository.countActiveProducts()
+                        : productRepository.countActiveProductsByNameContaining(term)).map(Optional::of);
+
+        return Mono.zip(products.collectList(), total)
+                .map(result -> {
+                    // Um item a mais indica se existe próxima página, sem precisar do total
+                    List<ProductDTO> found = result.getT1();
+                    boolean hasNext = found.size() > limit;
+                    List<ProductDTO> content = hasNext ? found.subList(0, limit) : found;
+                    Long nextCursor = hasNext ? content.get(content.size() - 1).id() : null;
+                    return new ProductScrollDTO(content, nextCursor, hasNext, result.getT2().orElse(null));
+                });
+    }
+
+    public Mono<ProductDTO> findProduct(Long id) {
+        return productRepository.findActiveProductById(id);
+    }
+}
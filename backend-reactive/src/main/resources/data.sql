@@ -0,0 +1,7 @@
+-- Mesma massa inicial do backend servlet
+INSERT INTO products (name, price, stock) VALUES
+    ('Café Torrado 500g', 18.90, 5),
+    ('Filtro de Papel nº103', 7.50, 10),
+    ('Garrafa Térmica 1L', 79.90, 2),
+    ('Açúcar Mascavo 1kg', 16.00, 0),
+    ('Caneca Inox 300ml', 29.00, 8);
@@ -0,0 +1,29 @@
+CREATE TABLE IF NOT EXISTS products (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    sku VARCHAR(64) UNIQUE,
+    name VARCHAR(120) NOT NULL,
+    price NUMERIC(12, 2) NOT NULL,
+    stock INT NOT NULL,
+    active BOOLEAN DEFAULT TRUE NOT NULL,
+    sold_quantity BIGINT DEFAULT 0 NOT NULL,
+    version INT DEFAULT 0 NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS orders (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    created_at TIMESTAMP NOT NULL,
+    total NUMERIC(12, 2) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_orders_created_at ON orders (created_at);
+
+CREATE TABLE IF NOT EXISTS order_items (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    order_id BIGINT NOT NULL REFERENCES orders (id),
+    product_id BIGINT NOT NULL REFERENCES products (id),
+    quantity INT NOT NULL,
+    unit_price NUMERIC(12, 2) NOT NULL,
+    line_total NUMERIC(12, 2) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_order_items_order_id ON order_items (order_id);
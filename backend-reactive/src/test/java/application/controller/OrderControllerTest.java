@@ -0,0 +1,63 @@
+package application.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class OrderControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    private List<Number> stockAndSold(long productId) {
+        Map<String, Object> row = databaseClient.sql("SELECT stock, sold_quantity FROM products WHERE id = :id")
+                .bind("id", productId)
+                .fetch()
+                .one()
+                .block();
+        return List.of((Number) row.get("STOCK"), (Number) row.get("SOLD_QUANTITY"));
+    }
+
+    @Test
+    void testShortSecondLineRollsBackTheFirstLine() {
+        // Café Torrado 500g (id 1, estoque 5) passa; Garrafa Térmica 1L (id 3, estoque 2) não
+        List<Number> before = stockAndSold(1);
+
+        webTestClient.post().uri("/api/v1/orders")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"items\": [{\"productId\": 1, \"quantity\": 2}, {\"productId\": 3, \"quantity\": 5}]}")
+                .exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Estoque insuficiente")
+                .jsonPath("$.details.length()").isEqualTo(1)
+                .jsonPath("$.details[0].productId").isEqualTo(3)
+                .jsonPath("$.details[0].available").isEqualTo(2);
+
+        assertEquals(before, stockAndSold(1));
+        assertEquals(2, stockAndSold(3).get(0).intValue());
+    }
+
+    @Test
+    void testUnknownProductIsNotFound() {
+        webTestClient.post().uri("/api/v1/orders")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"items\": [{\"productId\": 999, \"quantity\": 1}]}")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Produto não encontrado: 999");
+    }
+}
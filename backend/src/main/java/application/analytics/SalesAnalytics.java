@@ -0,0 +1,122 @@
+package application.analytics;
+
+import application.dto.BestSellerDTO;
+import application.event.ProductsSoldEvent;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ranking de mais vendidos em memória (última hora, último dia e desde sempre), alimentado
+ * pelos checkouts confirmados. Cada janela mantém o ranking ordenado a cada venda; o topo com os
+ * nomes é montado no máximo uma vez por refresh-ms, então a consulta não depende do volume de pedidos. Na inicialização, o all-time
+ * vem de products.sold_quantity e as janelas dos pedidos do último dia.
+ */
+@Component
+public class SalesAnalytics implements SmartInitializingSingleton {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Clock clock = Clock.systemDefaultZone();
+    private final int maxK;
+    private final long refreshMillis;
+    private final Map<SalesWindow, SalesCounter> counters = new EnumMap<>(SalesWindow.class);
+    private final Map<SalesWindow, Ranking> rankings = Collections.synchronizedMap(new EnumMap<>(SalesWindow.class));
+
+    @Autowired
+    public SalesAnalytics(JdbcTemplate jdbcTemplate,
+                          @Value("${ecommerce.analytics.best-sellers.max-k:100}") int maxK,
+                          @Value("${ecommerce.analytics.best-sellers.refresh-ms:1000}") long refreshMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxK = maxK;
+        this.refreshMillis = refreshMillis;
+        for (SalesWindow window : SalesWindow.values()) {
+            counters.put(window, new SalesCounter(window));
+        }
+    }
+
+    public int getMaxK() {
+        return maxK;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        long now = clock.millis();
+        Map<Long, Integer> allTime = new HashMap<>();
+        // Nos modos LEDGER e WAREHOUSE o vendido de pedidos com stock_synced = false ainda não chegou a products
+        jdbcTemplate.query("SELECT id, SUM(quantity) FROM (" +
+                        "SELECT id, sold_quantity AS quantity FROM products WHERE sold_quantity > 0 " +
+                        "UNION ALL SELECT oi.product_id, oi.quantity FROM order_items oi " +
+                        "JOIN orders o ON o.id = oi.order_id WHERE o.stock_synced = FALSE" +
+                        ") sold GROUP BY id HAVING SUM(quantity) > 0",
+                rs -> {
+                    allTime.put(rs.getLong(1), (int) Math.min(Integer.MAX_VALUE, rs.getLong(2)));
+                });
+        counters.get(SalesWindow.ALL_TIME).add(allTime, now, now);
+
+        LocalDateTime since = LocalDateTime.now(clock).minus(SalesWindow.DAY.getLength());
+        jdbcTemplate.query("SELECT oi.product_id, o.created_at, oi.quantity FROM order_items oi " +
+                        "JOIN orders o ON o.id = oi.order_id WHERE o.created_at >= ?",
+                rs -> {
+                    long at = rs.getTimestamp(2).getTime();
+                    Map<Long, Integer> sale = Map.of(rs.getLong(1), rs.getInt(3));
+                    counters.get(SalesWindow.HOUR).add(sale, at, now);
+                    counters.get(SalesWindow.DAY).add(sale, at, now);
+                }, Timestamp.valueOf(since));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsSold(ProductsSoldEvent event) {
+        long now = clock.millis();
+        for (SalesWindow window : SalesWindow.values()) {
+            counters.get(window).add(event.quantities(), now, now);
+        }
+    }
+
+    public List<BestSellerDTO> bestSellers(SalesWindow window, int k) {
+        long now = clock.millis();
+        Ranking ranking = rankings.get(window);
+        if (ranking == null || now - ranking.computedAt() >= refreshMillis) {
+            ranking = new Ranking(now, rank(window, now));
+            rankings.put(window, ranking);
+        }
+        List<BestSellerDTO> top = ranking.top();
+        return top.subList(0, Math.min(Math.max(k, 0), top.size()));
+    }
+
+    private List<BestSellerDTO> rank(SalesWindow window, long now) {
+        List<long[]> top = counters.get(window).top(maxK, now);
+        if (top.isEmpty()) {
+            return List.of();
+        }
+
+        // Só os k produtos do topo; nomes por chave primária
+        Map<Long, String> names = new HashMap<>();
+        String placeholders = String.join(",", Collections.nCopies(top.size(), "?"));
+        jdbcTemplate.query("SELECT id, name FROM products WHERE id IN (" + placeholders + ")",
+                rs -> {
+                    names.put(rs.getLong(1), rs.getString(2));
+                }, top.stream().map(entry -> entry[0]).toArray());
+
+        List<BestSellerDTO> ranking = new ArrayList<>(top.size());
+        for (long[] entry : top) {
+            ranking.add(new BestSellerDTO(entry[0], names.get(entry[0]), entry[1]));
+        }
+        return List.copyOf(ranking);
+    }
+
+    private record Ranking(long computedAt, List<BestSellerDTO> top) {
+    }
+}
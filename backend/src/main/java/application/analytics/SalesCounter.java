@@ -0,0 +1,107 @@
+package application.analytics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Vendidos por produto numa janela. O total da janela é mantido incrementalmente: cada venda
+ * soma no bucket corrente e no total, e um bucket que sai da janela é subtraído do total de uma
+ * vez. Sem janela (all-time) só existe o total. O ranking é um conjunto ordenado dos totais,
+ * atualizado a cada mudança de um total (O(log n)), então o topo sai sem varrer os produtos.
+ */
+final class SalesCounter {
+
+    private final long bucketMillis;
+    private final long[] bucketEpochs;
+    private final Map<Long, Long>[] buckets;
+    private final Map<Long, Long> totals = new HashMap<>();
+    // Maior quantidade primeiro; no empate, o menor id
+    private final TreeSet<long[]> ranking = new TreeSet<>(
+            Comparator.<long[]>comparingLong(entry -> -entry[1]).thenComparingLong(entry -> entry[0]));
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    SalesCounter(SalesWindow window) {
+        int count = window.getBuckets();
+        this.bucketMillis = count == 0 ? 0 : window.getLength().toMillis() / count;
+        this.bucketEpochs = new long[count];
+        this.buckets = new Map[count];
+        for (int i = 0; i < count; i++) {
+            bucketEpochs[i] = -1;
+            buckets[i] = new HashMap<>();
+        }
+    }
+
+    synchronized void add(Map<Long, Integer> quantities, long atMillis, long nowMillis) {
+        expire(nowMillis);
+        Map<Long, Long> bucket = null;
+        if (buckets.length > 0) {
+            long epoch = Math.min(atMillis, nowMillis) / bucketMillis;
+            if (epoch <= nowMillis / bucketMillis - buckets.length) {
+                return;
+            }
+            int index = (int) (epoch % buckets.length);
+            if (bucketEpochs[index] != epoch) {
+                return;
+            }
+            bucket = buckets[index];
+        }
+
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            adjust(entry.getKey(), entry.getValue());
+            if (bucket != null) {
+                bucket.merge(entry.getKey(), (long) entry.getValue(), Long::sum);
+            }
+        }
+    }
+
+    // Os k produtos mais vendidos, do maior para o menor (empate: menor id primeiro)
+    synchronized List<long[]> top(int k, long nowMillis) {
+        expire(nowMillis);
+        List<long[]> top = new ArrayList<>(Math.min(k, ranking.size()));
+        Iterator<long[]> iterator = ranking.iterator();
+        while (top.size() < k && iterator.hasNext()) {
+            top.add(iterator.next().clone());
+        }
+        return top;
+    }
+
+    // Move o produto no ranking: sai com o total antigo e volta com o novo (se ainda tiver vendas na janela)
+    private void adjust(long productId, long delta) {
+        Long previous = totals.get(productId);
+        long total = delta;
+        if (previous != null) {
+            ranking.remove(new long[] {productId, previous});
+            total += previous;
+        }
+        if (total == 0) {
+            totals.remove(productId);
+            return;
+        }
+        totals.put(productId, total);
+        ranking.add(new long[] {productId, total});
+    }
+
+    // Recicla os buckets que saíram da janela, descontando-os do total
+    private void expire(long nowMillis) {
+        if (buckets.length == 0) {
+            return;
+        }
+        long current = nowMillis / bucketMillis;
+        for (long epoch = Math.max(current - buckets.length + 1, 0); epoch <= current; epoch++) {
+            int index = (int) (epoch % buckets.length);
+            if (bucketEpochs[index] == epoch) {
+                continue;
+            }
+            for (Map.Entry<Long, Long> entry : buckets[index].entrySet()) {
+                adjust(entry.getKey(), -entry.getValue());
+            }
+            buckets[index].clear();
+            bucketEpochs[index] = epoch;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package application.analytics;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+
+// Janelas do ranking de mais vendidos; as deslizantes são divididas em buckets que expiram inteiros
+public enum SalesWindow {
+    HOUR("hour", Duration.ofHours(1), 60),
+    DAY("day", Duration.ofDays(1), 24),
+    ALL_TIME("all-time", null, 0);
+
+    private final String parameter;
+    private final Duration length;
+    private final int buckets;
+
+    SalesWindow(String parameter, Duration length, int buckets) {
+        this.parameter = parameter;
+        this.length = length;
+        this.buckets = buckets;
+    }
+
+    public String getParameter() {
+        return parameter;
+    }
+
+    Duration getLength() {
+        return length;
+    }
+
+    int getBuckets() {
+        return buckets;
+    }
+
+    public static Optional<SalesWindow> fromParameter(String value) {
+        String normalized = value.trim().toLowerCase(Locale.ROOT);
+        for (SalesWindow window : values()) {
+            if (window.parameter.equals(normalized)) {
+                return Optional.of(window);
+            }
+        }
+        return Optional.empty();
+    }
+}
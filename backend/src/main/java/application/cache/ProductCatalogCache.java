@@ -0,0 +1,135 @@
+package application.cache;
+
+import application.dto.ProductDTO;
+import application.event.CatalogImportedEvent;
+import application.event.ProductChangedEvent;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+@Component
+public class ProductCatalogCache {
+
+    private final AsyncCache<PageKey, Page<ProductDTO>> pages;
+    private final AsyncCache<Long, ProductDTO> products;
+
+    // Índice reverso produto -> páginas em cache que o contêm, para invalidação precisa
+    private final ConcurrentHashMap<Long, Set<PageKey>> pagesByProduct = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ProductCatalogCache(MeterRegistry meterRegistry,
+                               @Value("${ecommerce.catalog.cache.page-max-size:10000}") long pageMaxSize,
+                               @Value("${ecommerce.catalog.cache.product-max-size:100000}") long productMaxSize,
+                               @Value("${ecommerce.catalog.cache.ttl-seconds:60}") long ttlSeconds) {
+        this.pages = Caffeine.newBuilder()
+                .maximumSize(pageMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .removalListener((PageKey key, Page<ProductDTO> page, RemovalCause cause) -> unindex(key, page))
+                .recordStats()
+                .buildAsync();
+        this.products = Caffeine.newBuilder()
+                .maximumSize(productMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .buildAsync();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, "catalog.pages");
+        CaffeineCacheMetrics.monitor(meterRegistry, products, "catalog.products");
+    }
+
+    public Page<ProductDTO> getPage(String search, int page, int size, Supplier<Page<ProductDTO>> loader) {
+        return load(pages, new PageKey(search, page, size), key -> {
+            Page<ProductDTO> loaded = loader.get();
+            for (ProductDTO product : loaded.getContent()) {
+                pagesByProduct.computeIfAbsent(product.id(), id -> ConcurrentHashMap.newKeySet()).add(key);
+            }
+            return loaded;
+        });
+    }
+
+    public Optional<ProductDTO> getProduct(Long id, Supplier<Optional<ProductDTO>> loader) {
+        return Optional.ofNullable(load(products, id, key -> loader.get().orElse(null)));
+    }
+
+    // A carga roda fora do ConcurrentHashMap.compute do Caffeine: com virtual threads, o JDBC
+    // dentro do bloco synchronized prenderia a carrier thread. Quem chega durante a carga espera o future.
+    private static <K, V> V load(AsyncCache<K, V> cache, K key, Function<K, V> loader) {
+        CompletableFuture<V> pending = new CompletableFuture<>();
+        CompletableFuture<V> current = cache.get(key, (k, executor) -> pending);
+        if (current == pending) {
+            try {
+                pending.complete(loader.apply(key));
+            } catch (Throwable e) {
+                pending.completeExceptionally(e);
+            }
+        }
+
+        try {
+            return current.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // Depois do índice de busca, para que recargas já vejam o índice atualizado
+    @Order(1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        products.synchronous().invalidateAll(event.productIds());
+
+        if (event.listingChanged()) {
+            // Com paginação por offset, a entrada/saída de um produto desloca todas as páginas seguintes
+            pages.synchronous().invalidateAll();
+            return;
+        }
+
+        for (Long productId : event.productIds()) {
+            Set<PageKey> keys = pagesByProduct.remove(productId);
+            if (keys != null) {
+                pages.synchronous().invalidateAll(keys);
+            }
+        }
+    }
+
+    @Order(1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogImported(CatalogImportedEvent event) {
+        products.synchronous().invalidateAll();
+        pages.synchronous().invalidateAll();
+    }
+
+    private void unindex(PageKey key, Page<ProductDTO> page) {
+        if (page == null) {
+            return;
+        }
+        for (ProductDTO product : page.getContent()) {
+            pagesByProduct.computeIfPresent(product.id(), (id, keys) -> {
+                keys.remove(key);
+                return keys.isEmpty() ? null : keys;
+            });
+        }
+    }
+
+    private record PageKey(String search, int page, int size) {
+    }
+}
@@ -1,32 +1,45 @@
 package application.config;
 
 import application.entity.Product;
+import application.entity.Warehouse;
 import application.repository.ProductRepository;
+import application.repository.WarehouseRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 @Component
 public class DataInitializer implements CommandLineRunner {
 
     private final ProductRepository productRepository;
+    private final WarehouseRepository warehouseRepository;
 
     @Autowired
-    public DataInitializer(ProductRepository productRepository) {
+    public DataInitializer(ProductRepository productRepository, WarehouseRepository warehouseRepository) {
         this.productRepository = productRepository;
+        this.warehouseRepository = warehouseRepository;
     }
 
     @Override
     public void run(String... args) throws Exception {
 
+        if (warehouseRepository.count() == 0) {
+            warehouseRepository.saveAll(List.of(
+                    new Warehouse("CD-SP", "Centro de Distribuição Cajamar"),
+                    new Warehouse("CD-PE", "Centro de Distribuição Recife"),
+                    new Warehouse("CD-PR", "Centro de Distribuição Curitiba")));
+        }
+
         if (productRepository.count() == 0) {
-            productRepository.save(new Product("Café Torrado 500g", new BigDecimal("18.90"), 5));
-            productRepository.save(new Product("Filtro de Papel nº103", new BigDecimal("7.50"), 10));
-            productRepository.save(new Product("Garrafa Térmica 1L", new BigDecimal("79.90"), 2));
-            productRepository.save(new Product("Açúcar Mascavo 1kg", new BigDecimal("16.00"), 0));
-            productRepository.save(new Product("Caneca Inox 300ml", new BigDecimal("29.00"), 8));
+            productRepository.saveAll(List.of(
+                    new Product("Café Torrado 500g", new BigDecimal("18.90"), 5),
+                    new Product("Filtro de Papel nº103", new BigDecimal("7.50"), 10),
+                    new Product("Garrafa Térmica 1L", new BigDecimal("79.90"), 2),
+                    new Product("Açúcar Mascavo 1kg", new BigDecimal("16.00"), 0),
+                    new Product("Caneca Inox 300ml", new BigDecimal("29.00"), 8)));
             
             System.out.println("Base de dados populada com produtos iniciais.");
         }
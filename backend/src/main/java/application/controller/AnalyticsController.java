@@ -0,0 +1,41 @@
+package application.controller;
+
+import application.analytics.SalesAnalytics;
+import application.analytics.SalesWindow;
+import application.dto.BestSellerDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/analytics")
+@CrossOrigin(origins = "*")
+public class AnalyticsController {
+
+    private final SalesAnalytics salesAnalytics;
+
+    @Autowired
+    public AnalyticsController(SalesAnalytics salesAnalytics) {
+        this.salesAnalytics = salesAnalytics;
+    }
+
+    @GetMapping("/best-sellers")
+    public ResponseEntity<?> getBestSellers(
+            @RequestParam(value = "window", defaultValue = "all-time") String window,
+            @RequestParam(value = "k", defaultValue = "3") int k) {
+
+        var salesWindow = SalesWindow.fromParameter(window);
+        if (salesWindow.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("message", "Janela inválida: use hour, day ou all-time"));
+        }
+        if (k < 1 || k > salesAnalytics.getMaxK()) {
+            return ResponseEntity.badRequest().body(Map.of("message", "k deve estar entre 1 e " + salesAnalytics.getMaxK()));
+        }
+
+        List<BestSellerDTO> bestSellers = salesAnalytics.bestSellers(salesWindow.get(), k);
+        return ResponseEntity.ok(bestSellers);
+    }
+}
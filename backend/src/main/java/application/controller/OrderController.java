@@ -1,30 +1,89 @@
 package application.controller;
 
+import application.datasource.ReadYourWrites;
+import application.dto.OrderIntakeDTO;
 import application.dto.OrderRequestDTO;
 import application.dto.OrderResponseDTO;
+import application.idempotency.IdempotencyStore;
+import application.idempotency.IdempotentResult;
+import application.intake.GroupCommitOrderWriter;
+import application.intake.OrderIntake;
 import application.service.OrderService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
+import java.util.Optional;
+
 @RestController
 @RequestMapping("/api/v1/orders")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = ReadYourWrites.HEADER)
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderIntake orderIntake;
+    private final Optional<GroupCommitOrderWriter> groupCommit;
+    private final IdempotencyStore idempotencyStore;
 
     @Autowired
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, OrderIntake orderIntake,
+                           Optional<GroupCommitOrderWriter> groupCommit, IdempotencyStore idempotencyStore) {
         this.orderService = orderService;
+        this.orderIntake = orderIntake;
+        this.groupCommit = groupCommit;
+        this.idempotencyStore = idempotencyStore;
     }
 
     @PostMapping
-    public ResponseEntity<?> createOrder(@Valid @RequestBody OrderRequestDTO orderRequest) {
-        var response = orderService.createOrder(orderRequest);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    public ResponseEntity<?> createOrder(@Valid @RequestBody OrderRequestDTO orderRequest,
+                                         @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return ResponseEntity.status(HttpStatus.CREATED).body(placeOrder(orderRequest));
+        }
+
+        IdempotentResult result = idempotencyStore.execute(idempotencyKey, orderRequest, () -> placeOrder(orderRequest));
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header("Idempotent-Replayed", String.valueOf(result.replayed()))
+                .body(result.order());
+    }
+
+    private OrderResponseDTO placeOrder(OrderRequestDTO orderRequest) {
+        return groupCommit.isPresent()
+                ? groupCommit.get().createOrder(orderRequest)
+                : orderService.createOrder(orderRequest);
+    }
+
+    @GetMapping
+    public ResponseEntity<Page<OrderResponseDTO>> getOrders(
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+
+        return ResponseEntity.ok(orderService.findOrders(page, size));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<OrderResponseDTO> getOrder(@PathVariable Long id) {
+        return orderService.findOrder(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
-}
 
+    @PostMapping("/async")
+    public ResponseEntity<OrderIntakeDTO> submitOrder(@Valid @RequestBody OrderRequestDTO orderRequest) {
+        OrderIntakeDTO intake = orderIntake.submit(orderRequest);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/orders/async/" + intake.getToken()))
+                .body(intake);
+    }
+
+    @GetMapping("/async/{token}")
+    public ResponseEntity<OrderIntakeDTO> getOrderIntake(@PathVariable String token) {
+        return orderIntake.status(token)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,41 @@
+package application.controller;
+
+import application.dto.PriceRuleDTO;
+import application.pricing.PriceRuleService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/pricing/rules")
+@CrossOrigin(origins = "*")
+public class PricingController {
+
+    private final PriceRuleService priceRuleService;
+
+    @Autowired
+    public PricingController(PriceRuleService priceRuleService) {
+        this.priceRuleService = priceRuleService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<PriceRuleDTO>> getRules() {
+        return ResponseEntity.ok(priceRuleService.findRules());
+    }
+
+    @PostMapping
+    public ResponseEntity<PriceRuleDTO> createRule(@Valid @RequestBody PriceRuleDTO request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(priceRuleService.createRule(request));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteRule(@PathVariable Long id) {
+        return priceRuleService.deleteRule(id)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+}
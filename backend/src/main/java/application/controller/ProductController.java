@@ -1,11 +1,31 @@
 package application.controller;
 
+import application.dto.ImportReportDTO;
 import application.dto.ProductDTO;
+import application.dto.ProductScrollDTO;
+import application.exporter.ExportFormat;
+import application.exporter.ProductExportService;
+import application.importer.ImportFormat;
+import application.importer.ProductImportService;
 import application.service.ProductService;
+import application.stream.StockStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/v1/products")
@@ -13,10 +33,17 @@ import org.springframework.web.bind.annotation.*;
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductImportService productImportService;
+    private final ProductExportService productExportService;
+    private final StockStream stockStream;
 
     @Autowired
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, ProductImportService productImportService,
+                             ProductExportService productExportService, StockStream stockStream) {
         this.productService = productService;
+        this.productImportService = productImportService;
+        this.productExportService = productExportService;
+        this.stockStream = stockStream;
     }
 
     @GetMapping
@@ -28,5 +55,56 @@ public class ProductController {
         Page<ProductDTO> products = productService.findProducts(search, page, size);
         return ResponseEntity.ok(products);
     }
-}
 
+    @GetMapping("/scroll")
+    public ResponseEntity<ProductScrollDTO> scrollProducts(
+            @RequestParam(value = "search", required = false) String search,
+            @RequestParam(value = "after", defaultValue = "0") long after,
+            @RequestParam(value = "size", defaultValue = "100") int size,
+            @RequestParam(value = "count", defaultValue = "false") boolean count) {
+
+        return ResponseEntity.ok(productService.scrollProducts(search, after, size, count));
+    }
+
+    // Eventos "stock" com [{productId, stock, price}]: o primeiro traz os valores atuais, os seguintes só o que mudou
+    @GetMapping("/stream")
+    public SseEmitter streamStock(@RequestParam("ids") Set<Long> ids) {
+        return stockStream.subscribe(ids);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ProductDTO> getProduct(@PathVariable Long id) {
+        return productService.findProduct(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // O corpo é lido em streaming direto da requisição, sem multipart nem arquivo temporário.
+    // Os tipos aceitos são os mesmos reconhecidos por ImportFormat.fromContentType
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE, "application/jsonl"})
+    public ResponseEntity<ImportReportDTO> importProducts(HttpServletRequest request) throws IOException {
+        ImportFormat format = ImportFormat.fromContentType(request.getContentType()).orElseThrow();
+        try (Reader reader = new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8)) {
+            return ResponseEntity.ok(productImportService.importProducts(reader, format));
+        }
+    }
+
+    // Escreve direto no corpo da resposta enquanto lê o cursor; retorna null porque a resposta já foi escrita
+    @GetMapping("/export")
+    public ResponseEntity<?> exportProducts(
+            @RequestParam(value = "format", defaultValue = "ndjson") String format,
+            HttpServletResponse response) throws IOException {
+
+        Optional<ExportFormat> exportFormat = ExportFormat.fromParameter(format);
+        if (exportFormat.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("message", "Formato inválido: use csv ou ndjson"));
+        }
+
+        response.setContentType(exportFormat.get().getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"produtos." + exportFormat.get().getExtension() + "\"");
+        productExportService.exportProducts(exportFormat.get(), response.getOutputStream());
+        return null;
+    }
+}
@@ -0,0 +1,60 @@
+package application.controller;
+
+import application.dto.OrderRequestDTO;
+import application.dto.OrderResponseDTO;
+import application.dto.ReservationDTO;
+import application.reservation.ReservationService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+@RestController
+@RequestMapping("/api/v1/reservations")
+@CrossOrigin(origins = "*")
+public class ReservationController {
+
+    private final ReservationService reservationService;
+
+    @Autowired
+    public ReservationController(ReservationService reservationService) {
+        this.reservationService = reservationService;
+    }
+
+    @PostMapping
+    public ResponseEntity<ReservationDTO> reserve(@Valid @RequestBody OrderRequestDTO request) {
+        ReservationDTO reservation = reservationService.reserve(request);
+        return ResponseEntity.created(URI.create("/api/v1/reservations/" + reservation.id()))
+                .body(reservation);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ReservationDTO> getReservation(@PathVariable String id) {
+        return reservationService.findReservation(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/{id}/extend")
+    public ResponseEntity<ReservationDTO> extend(@PathVariable String id) {
+        return reservationService.extend(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/{id}/confirm")
+    public ResponseEntity<OrderResponseDTO> confirm(@PathVariable String id) {
+        return reservationService.confirm(id)
+                .map(order -> ResponseEntity.created(URI.create("/api/v1/orders/" + order.getId())).body(order))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> release(@PathVariable String id) {
+        return reservationService.release(id)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+}
@@ -0,0 +1,73 @@
+package application.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Read-your-writes com réplicas: toda requisição de escrita recebe o header Read-Your-Writes-Until
+ * (epoch em ms, agora + read-your-writes-ms). O cliente que reenviar esse header nas leituras seguintes
+ * é atendido pelo primário até esse instante, sem depender do atraso de replicação. Valores além da
+ * janela configurada são ignorados, para que um cliente não prenda as próprias leituras no primário.
+ */
+@Component
+@ConditionalOnProperty(name = "ecommerce.datasource.replicas.enabled", havingValue = "true")
+public class ReadYourWrites extends OncePerRequestFilter {
+
+    public static final String HEADER = "Read-Your-Writes-Until";
+
+    private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+    private static final ThreadLocal<Boolean> PRIMARY = new ThreadLocal<>();
+
+    private final long windowMillis;
+
+    public ReadYourWrites(@Value("${ecommerce.datasource.replicas.read-your-writes-ms:5000}") long windowMillis) {
+        this.windowMillis = windowMillis;
+    }
+
+    // Verdadeiro durante uma requisição que precisa enxergar as próprias escritas
+    public static boolean isActive() {
+        return PRIMARY.get() != null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+        if (WRITE_METHODS.contains(request.getMethod())) {
+            // Antes da cadeia: depois dela a resposta já pode ter sido enviada
+            response.setHeader(HEADER, String.valueOf(now + windowMillis));
+        }
+
+        if (!pinned(request.getHeader(HEADER), now)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        PRIMARY.set(Boolean.TRUE);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            PRIMARY.remove();
+        }
+    }
+
+    private boolean pinned(String until, long now) {
+        if (until == null) {
+            return false;
+        }
+        try {
+            long value = Long.parseLong(until.trim());
+            return value > now && value <= now + windowMillis;
+        } catch (NumberFormatException ex) {
+            return false;
+        }
+    }
+}
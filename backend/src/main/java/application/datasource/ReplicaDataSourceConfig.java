@@ -0,0 +1,75 @@
+package application.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Substitui o DataSource do Spring Boot quando há réplicas: o pool do primário continua configurado por
+ * spring.datasource.*, cada URL em ecommerce.datasource.replicas.urls ganha um pool próprio com as mesmas
+ * credenciais, e JPA/JdbcTemplate recebem o roteador atrás de um LazyConnectionDataSourceProxy.
+ */
+@Configuration
+@ConditionalOnProperty(name = "ecommerce.datasource.replicas.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            DataSourceProperties properties,
+            MeterRegistry meterRegistry,
+            @Value("${ecommerce.datasource.replicas.urls}") List<String> urls,
+            @Value("${ecommerce.datasource.replicas.pool-size:10}") int poolSize,
+            @Value("${ecommerce.datasource.replicas.connection-timeout-ms:1000}") long connectionTimeoutMillis,
+            @Value("${ecommerce.datasource.replicas.health-query}") String healthQuery,
+            @Value("${ecommerce.datasource.replicas.health-check-interval-ms:2000}") long healthCheckIntervalMillis) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (String url : urls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + (replicas.size() + 1));
+            replica.setJdbcUrl(url.trim());
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setUsername(properties.determineUsername());
+            replica.setPassword(properties.determinePassword());
+            replica.setMaximumPoolSize(poolSize);
+            replica.setReadOnly(true);
+            // Falha rápido para ejetar e seguir para outra réplica; não impede a subida se a réplica estiver fora
+            replica.setConnectionTimeout(connectionTimeoutMillis);
+            replica.setInitializationFailTimeout(-1);
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(replica);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, healthQuery,
+                healthCheckIntervalMillis, meterRegistry);
+    }
+
+    // O destino só é escolhido no primeiro comando, quando o readOnly da transação já está definido
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
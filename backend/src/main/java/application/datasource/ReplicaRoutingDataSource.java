@@ -0,0 +1,197 @@
+package application.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Primário para escrita, réplicas para transações readOnly. A escolha acontece quando a conexão real é
+ * pedida, atrás do LazyConnectionDataSourceProxy, já com o readOnly da transação definido. As réplicas
+ * são usadas em round-robin, pulando as ejetadas. Uma réplica que não entrega conexão é ejetada na hora
+ * e a leitura segue na próxima; uma thread de fundo roda o health-query em todas a cada intervalo,
+ * ejetando as que falham e readmitindo as que voltam. Sem réplica saudável, ou quando a requisição
+ * precisa ler as próprias escritas (ReadYourWrites), a leitura vai para o primário.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+    private static final int HEALTH_QUERY_TIMEOUT_SECONDS = 2;
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final String healthQuery;
+    private final long healthCheckIntervalMillis;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter primaryConnections;
+    private final Counter fallbacks;
+
+    private ScheduledExecutorService healthChecker;
+    private volatile boolean running;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, String healthQuery,
+                                    long healthCheckIntervalMillis, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.healthQuery = healthQuery;
+        this.healthCheckIntervalMillis = healthCheckIntervalMillis;
+
+        for (int i = 0; i < replicas.size(); i++) {
+            String name = "replica-" + (i + 1);
+            this.replicas.add(new Replica(name, replicas.get(i), Counter.builder("datasource.routing.connections")
+                    .description("Conexões entregues por destino")
+                    .tag("target", name)
+                    .register(meterRegistry)));
+        }
+        this.primaryConnections = Counter.builder("datasource.routing.connections")
+                .description("Conexões entregues por destino")
+                .tag("target", "primary")
+                .register(meterRegistry);
+        this.fallbacks = Counter.builder("datasource.routing.fallbacks")
+                .description("Leituras readOnly atendidas pelo primário por falta de réplica saudável")
+                .register(meterRegistry);
+        Gauge.builder("datasource.replicas.healthy", this.replicas,
+                        list -> list.stream().filter(replica -> replica.healthy).count())
+                .description("Réplicas recebendo leituras")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    // Mesmo roteamento; as credenciais vão para o pool escolhido
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection route(ConnectionOpener opener) throws SQLException {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !ReadYourWrites.isActive()) {
+            Connection connection = replicaConnection(opener);
+            if (connection != null) {
+                return connection;
+            }
+            fallbacks.increment();
+        }
+        primaryConnections.increment();
+        return opener.open(primary);
+    }
+
+    private Connection replicaConnection(ConnectionOpener opener) throws SQLException {
+        int size = replicas.size();
+        if (size == 0) {
+            return null;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                Connection connection = opener.open(replica.dataSource);
+                replica.connections.increment();
+                return connection;
+            } catch (SQLFeatureNotSupportedException ex) {
+                // O pool não aceita credenciais por chamada (o Hikari, por exemplo): não é falha da réplica
+                throw ex;
+            } catch (SQLException ex) {
+                eject(replica, ex);
+            }
+        }
+        return null;
+    }
+
+    void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout(HEALTH_QUERY_TIMEOUT_SECONDS);
+                statement.execute(healthQuery);
+                if (!replica.healthy) {
+                    replica.healthy = true;
+                    log.info("Réplica {} readmitida", replica.name);
+                }
+            } catch (SQLException | RuntimeException ex) {
+                eject(replica, ex);
+            }
+        }
+    }
+
+    private void eject(Replica replica, Exception cause) {
+        if (replica.healthy) {
+            replica.healthy = false;
+            log.warn("Réplica {} ejetada: {}", replica.name, cause.getMessage());
+        }
+    }
+
+    @Override
+    public void start() {
+        healthChecker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "replica-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        healthChecker.scheduleWithFixedDelay(this::checkHealth, 0, healthCheckIntervalMillis, TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (healthChecker != null) {
+            healthChecker.shutdownNow();
+        }
+        // Os pools das réplicas não são beans; o do primário o Spring fecha
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception ex) {
+                    log.warn("Falha ao fechar o pool da réplica {}", replica.name, ex);
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @FunctionalInterface
+    private interface ConnectionOpener {
+        Connection open(DataSource dataSource) throws SQLException;
+    }
+
+    private static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private final Counter connections;
+        private volatile boolean healthy = true;
+
+        private Replica(String name, DataSource dataSource, Counter connections) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.connections = connections;
+        }
+    }
+}
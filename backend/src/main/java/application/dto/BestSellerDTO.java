@@ -0,0 +1,39 @@
+package application.dto;
+
+public class BestSellerDTO {
+    private Long productId;
+    private String name;
+    private Long soldQuantity;
+
+    public BestSellerDTO() {}
+
+    public BestSellerDTO(Long productId, String name, Long soldQuantity) {
+        this.productId = productId;
+        this.name = name;
+        this.soldQuantity = soldQuantity;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Long getSoldQuantity() {
+        return soldQuantity;
+    }
+
+    public void setSoldQuantity(Long soldQuantity) {
+        this.soldQuantity = soldQuantity;
+    }
+}
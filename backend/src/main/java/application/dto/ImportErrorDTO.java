@@ -0,0 +1,29 @@
+package application.dto;
+
+public class ImportErrorDTO {
+    private Long line;
+    private String message;
+
+    public ImportErrorDTO() {}
+
+    public ImportErrorDTO(Long line, String message) {
+        this.line = line;
+        this.message = message;
+    }
+
+    public Long getLine() {
+        return line;
+    }
+
+    public void setLine(Long line) {
+        this.line = line;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,72 @@
+package application.dto;
+
+import java.util.List;
+
+public class ImportReportDTO {
+    private Long rows;
+    private Long imported;
+    private Long rejected;
+    private Long elapsedMs;
+    private Long rowsPerSecond;
+    private List<ImportErrorDTO> errors;
+
+    public ImportReportDTO() {}
+
+    public ImportReportDTO(Long rows, Long imported, Long rejected, Long elapsedMs, Long rowsPerSecond,
+                           List<ImportErrorDTO> errors) {
+        this.rows = rows;
+        this.imported = imported;
+        this.rejected = rejected;
+        this.elapsedMs = elapsedMs;
+        this.rowsPerSecond = rowsPerSecond;
+        this.errors = errors;
+    }
+
+    public Long getRows() {
+        return rows;
+    }
+
+    public void setRows(Long rows) {
+        this.rows = rows;
+    }
+
+    public Long getImported() {
+        return imported;
+    }
+
+    public void setImported(Long imported) {
+        this.imported = imported;
+    }
+
+    public Long getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(Long rejected) {
+        this.rejected = rejected;
+    }
+
+    public Long getElapsedMs() {
+        return elapsedMs;
+    }
+
+    public void setElapsedMs(Long elapsedMs) {
+        this.elapsedMs = elapsedMs;
+    }
+
+    public Long getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public void setRowsPerSecond(Long rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+
+    public List<ImportErrorDTO> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<ImportErrorDTO> errors) {
+        this.errors = errors;
+    }
+}
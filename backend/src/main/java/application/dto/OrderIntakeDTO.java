@@ -0,0 +1,85 @@
+package application.dto;
+
+import java.util.List;
+
+public class OrderIntakeDTO {
+
+    public enum Status {
+        PENDING,
+        COMPLETED,
+        REJECTED,
+        FAILED
+    }
+
+    private String token;
+    private Status status;
+    private OrderResponseDTO order;
+    private String message;
+    private List<StockErrorDTO> details;
+
+    public OrderIntakeDTO() {}
+
+    public OrderIntakeDTO(String token, Status status, OrderResponseDTO order, String message, List<StockErrorDTO> details) {
+        this.token = token;
+        this.status = status;
+        this.order = order;
+        this.message = message;
+        this.details = details;
+    }
+
+    public static OrderIntakeDTO pending(String token) {
+        return new OrderIntakeDTO(token, Status.PENDING, null, null, null);
+    }
+
+    public static OrderIntakeDTO completed(String token, OrderResponseDTO order) {
+        return new OrderIntakeDTO(token, Status.COMPLETED, order, null, null);
+    }
+
+    public static OrderIntakeDTO rejected(String token, String message, List<StockErrorDTO> details) {
+        return new OrderIntakeDTO(token, Status.REJECTED, null, message, details);
+    }
+
+    public static OrderIntakeDTO failed(String token, String message) {
+        return new OrderIntakeDTO(token, Status.FAILED, null, message, null);
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public void setToken(String token) {
+        this.token = token;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public OrderResponseDTO getOrder() {
+        return order;
+    }
+
+    public void setOrder(OrderResponseDTO order) {
+        this.order = order;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public List<StockErrorDTO> getDetails() {
+        return details;
+    }
+
+    public void setDetails(List<StockErrorDTO> details) {
+        this.details = details;
+    }
+}
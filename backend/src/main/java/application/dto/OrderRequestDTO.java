@@ -11,6 +11,9 @@ public class OrderRequestDTO {
     @Valid
     private List<OrderItemRequestDTO> items;
 
+    // Opcional: seleciona os preços negociados com o cliente (regras CUSTOMER_PRICE)
+    private Long customerId;
+
     public OrderRequestDTO() {}
 
     public OrderRequestDTO(List<OrderItemRequestDTO> items) {
@@ -25,10 +28,19 @@ public class OrderRequestDTO {
         this.items = items;
     }
 
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(Long customerId) {
+        this.customerId = customerId;
+    }
+
     @Override
     public String toString() {
         return "OrderRequestDTO{" +
                 "items=" + items +
+                ", customerId=" + customerId +
                 '}';
     }
 }
@@ -0,0 +1,20 @@
+package application.dto;
+
+import application.entity.PriceRuleType;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Os campos usados dependem do tipo: TIER (minQuantity, discountPercent), PROMOTION (discountPercent,
+// startsAt, endsAt) e CUSTOMER_PRICE (customerId, price)
+public record PriceRuleDTO(Long id,
+                           @NotNull(message = "Tipo da regra é obrigatório") PriceRuleType type,
+                           @NotNull(message = "Produto é obrigatório") Long productId,
+                           Integer minQuantity,
+                           BigDecimal discountPercent,
+                           LocalDateTime startsAt,
+                           LocalDateTime endsAt,
+                           Long customerId,
+                           BigDecimal price) {
+}
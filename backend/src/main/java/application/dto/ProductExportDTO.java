@@ -0,0 +1,6 @@
+package application.dto;
+
+import java.math.BigDecimal;
+
+public record ProductExportDTO(Long id, String sku, String name, BigDecimal price, Integer stock) {
+}
@@ -0,0 +1,51 @@
+package application.dto;
+
+import java.util.List;
+
+public class ProductScrollDTO {
+    private List<ProductDTO> content;
+    private Long nextCursor;
+    private boolean hasNext;
+    private Long totalElements;
+
+    public ProductScrollDTO() {}
+
+    public ProductScrollDTO(List<ProductDTO> content, Long nextCursor, boolean hasNext, Long totalElements) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.hasNext = hasNext;
+        this.totalElements = totalElements;
+    }
+
+    public List<ProductDTO> getContent() {
+        return content;
+    }
+
+    public void setContent(List<ProductDTO> content) {
+        this.content = content;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(Long nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+
+    public Long getTotalElements() {
+        return totalElements;
+    }
+
+    public void setTotalElements(Long totalElements) {
+        this.totalElements = totalElements;
+    }
+}
@@ -0,0 +1,7 @@
+package application.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record ReservationDTO(String id, Long customerId, LocalDateTime expiresAt, List<ReservationItemDTO> items) {
+}
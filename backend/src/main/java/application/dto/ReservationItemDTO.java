@@ -0,0 +1,4 @@
+package application.dto;
+
+public record ReservationItemDTO(Long productId, Integer quantity) {
+}
@@ -0,0 +1,6 @@
+package application.dto;
+
+import java.math.BigDecimal;
+
+public record StockUpdateDTO(Long productId, Integer stock, BigDecimal price) {
+}
@@ -0,0 +1,51 @@
+package application.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+// Gravada e lida pelo IdempotencyStore com JdbcTemplate; a entidade define a tabela
+@Entity
+@Table(name = "idempotency_keys", indexes = @Index(name = "idx_idempotency_keys_created_at", columnList = "created_at"))
+public class IdempotencyKey {
+
+    @Id
+    @Column(name = "idempotency_key", length = 128)
+    private String key;
+
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    // OrderResponseDTO serializado, devolvido tal qual nas repetições
+    @Lob
+    @Column(name = "response", nullable = false)
+    private String response;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public IdempotencyKey() {}
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getRequestHash() {
+        return requestHash;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public String getResponse() {
+        return response;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -10,11 +10,12 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = @Index(name = "idx_orders_created_at", columnList = "created_at"))
 public class Order {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "Data de criação é obrigatória")
@@ -26,9 +27,15 @@ public class Order {
     @Column(name = "total", nullable = false, precision = 12, scale = 2)
     private BigDecimal total;
 
+    @Column(name = "stock_synced", nullable = false)
+    private Boolean stockSynced = true;
+
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<OrderItem> items = new ArrayList<>();
 
+    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    private List<OrderAllocation> allocations = new ArrayList<>();
+
     public Order() {
         this.createdAt = LocalDateTime.now();
     }
@@ -62,6 +69,14 @@ public class Order {
         this.total = total;
     }
 
+    public Boolean getStockSynced() {
+        return stockSynced;
+    }
+
+    public void setStockSynced(Boolean stockSynced) {
+        this.stockSynced = stockSynced;
+    }
+
     public List<OrderItem> getItems() {
         return items;
     }
@@ -75,6 +90,15 @@ public class Order {
         item.setOrder(this);
     }
 
+    public List<OrderAllocation> getAllocations() {
+        return allocations;
+    }
+
+    public void addAllocation(OrderAllocation allocation) {
+        allocations.add(allocation);
+        allocation.setOrder(this);
+    }
+
     @Override
     public String toString() {
         return "Order{" +
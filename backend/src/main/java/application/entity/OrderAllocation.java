@@ -0,0 +1,59 @@
+package application.entity;
+
+import jakarta.persistence.*;
+
+// Quanto de cada produto do pedido sai de cada armazém (modo WAREHOUSE)
+@Entity
+@Table(name = "order_allocations")
+public class OrderAllocation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_allocations_seq")
+    @SequenceGenerator(name = "order_allocations_seq", sequenceName = "order_allocations_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "order_id", nullable = false)
+    private Order order;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "warehouse_id", nullable = false)
+    private Long warehouseId;
+
+    @Column(name = "quantity", nullable = false)
+    private Integer quantity;
+
+    public OrderAllocation() {}
+
+    public OrderAllocation(Long productId, Long warehouseId, Integer quantity) {
+        this.productId = productId;
+        this.warehouseId = warehouseId;
+        this.quantity = quantity;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Order getOrder() {
+        return order;
+    }
+
+    public void setOrder(Order order) {
+        this.order = order;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public Long getWarehouseId() {
+        return warehouseId;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+}
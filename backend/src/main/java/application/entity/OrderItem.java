@@ -1,5 +1,6 @@
 package application.entity;
 
+import application.pricing.Money;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Min;
@@ -12,7 +13,8 @@ import java.math.BigDecimal;
 public class OrderItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_items_seq")
+    @SequenceGenerator(name = "order_items_seq", sequenceName = "order_items_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -41,10 +43,14 @@ public class OrderItem {
     public OrderItem() {}
 
     public OrderItem(Product product, Integer quantity, BigDecimal unitPrice) {
+        this(product, quantity, unitPrice, Money.lineTotal(unitPrice, quantity));
+    }
+
+    public OrderItem(Product product, Integer quantity, BigDecimal unitPrice, long lineTotalCents) {
         this.product = product;
         this.quantity = quantity;
         this.unitPrice = unitPrice;
-        this.lineTotal = unitPrice.multiply(BigDecimal.valueOf(quantity));
+        this.lineTotal = Money.toBigDecimal(lineTotalCents);
     }
 
     public Long getId() {
@@ -96,7 +102,7 @@ public class OrderItem {
     }
 
     public void calculateLineTotal() {
-        this.lineTotal = this.unitPrice.multiply(BigDecimal.valueOf(this.quantity));
+        this.lineTotal = Money.toBigDecimal(Money.lineTotal(this.unitPrice, this.quantity));
     }
 
     @Override
@@ -0,0 +1,160 @@
+package application.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "price_rules", indexes = @Index(name = "idx_price_rules_product", columnList = "product_id"))
+public class PriceRule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "price_rules_seq")
+    @SequenceGenerator(name = "price_rules_seq", sequenceName = "price_rules_seq", allocationSize = 50)
+    private Long id;
+
+    @NotNull(message = "Tipo da regra é obrigatório")
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, length = 20)
+    private PriceRuleType type;
+
+    @NotNull(message = "Produto é obrigatório")
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    // TIER
+    @Column(name = "min_quantity")
+    private Integer minQuantity;
+
+    // TIER e PROMOTION
+    @Column(name = "discount_percent", precision = 5, scale = 2)
+    private BigDecimal discountPercent;
+
+    // PROMOTION
+    @Column(name = "starts_at")
+    private LocalDateTime startsAt;
+
+    @Column(name = "ends_at")
+    private LocalDateTime endsAt;
+
+    // CUSTOMER_PRICE
+    @Column(name = "customer_id")
+    private Long customerId;
+
+    @Column(name = "price", precision = 12, scale = 2)
+    private BigDecimal price;
+
+    public PriceRule() {}
+
+    public static PriceRule tier(Long productId, int minQuantity, BigDecimal discountPercent) {
+        PriceRule rule = new PriceRule();
+        rule.type = PriceRuleType.TIER;
+        rule.productId = productId;
+        rule.minQuantity = minQuantity;
+        rule.discountPercent = discountPercent;
+        return rule;
+    }
+
+    public static PriceRule promotion(Long productId, BigDecimal discountPercent,
+                                      LocalDateTime startsAt, LocalDateTime endsAt) {
+        PriceRule rule = new PriceRule();
+        rule.type = PriceRuleType.PROMOTION;
+        rule.productId = productId;
+        rule.discountPercent = discountPercent;
+        rule.startsAt = startsAt;
+        rule.endsAt = endsAt;
+        return rule;
+    }
+
+    public static PriceRule customerPrice(Long productId, Long customerId, BigDecimal price) {
+        PriceRule rule = new PriceRule();
+        rule.type = PriceRuleType.CUSTOMER_PRICE;
+        rule.productId = productId;
+        rule.customerId = customerId;
+        rule.price = price;
+        return rule;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public PriceRuleType getType() {
+        return type;
+    }
+
+    public void setType(PriceRuleType type) {
+        this.type = type;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public Integer getMinQuantity() {
+        return minQuantity;
+    }
+
+    public void setMinQuantity(Integer minQuantity) {
+        this.minQuantity = minQuantity;
+    }
+
+    public BigDecimal getDiscountPercent() {
+        return discountPercent;
+    }
+
+    public void setDiscountPercent(BigDecimal discountPercent) {
+        this.discountPercent = discountPercent;
+    }
+
+    public LocalDateTime getStartsAt() {
+        return startsAt;
+    }
+
+    public void setStartsAt(LocalDateTime startsAt) {
+        this.startsAt = startsAt;
+    }
+
+    public LocalDateTime getEndsAt() {
+        return endsAt;
+    }
+
+    public void setEndsAt(LocalDateTime endsAt) {
+        this.endsAt = endsAt;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(Long customerId) {
+        this.customerId = customerId;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+    }
+
+    @Override
+    public String toString() {
+        return "PriceRule{" +
+                "id=" + id +
+                ", type=" + type +
+                ", productId=" + productId +
+                '}';
+    }
+}
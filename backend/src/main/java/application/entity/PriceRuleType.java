@@ -0,0 +1,10 @@
+package application.entity;
+
+public enum PriceRuleType {
+    // Desconto percentual a partir de uma quantidade do produto no pedido
+    TIER,
+    // Desconto percentual dentro de uma janela de tempo
+    PROMOTION,
+    // Preço fixo negociado com um cliente
+    CUSTOMER_PRICE
+}
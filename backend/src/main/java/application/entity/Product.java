@@ -1,22 +1,35 @@
 package application.entity;
 
+import application.event.ProductChangeListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
+import java.util.Objects;
 
 @Entity
 @Table(name = "products")
+@EntityListeners(ProductChangeListener.class)
 public class Product {
 
+    // Também usado pela importação em massa, que reserva ids de products_seq por fora do Hibernate
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "products_seq")
+    @SequenceGenerator(name = "products_seq", sequenceName = "products_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
+    // Chave do fornecedor, usada no upsert da importação; opcional para produtos cadastrados à mão
+    @Size(max = 64, message = "SKU deve ter no máximo 64 caracteres")
+    @Column(name = "sku", length = 64, unique = true)
+    private String sku;
+
     @NotBlank(message = "Nome é obrigatório")
     @Size(max = 120, message = "Nome deve ter no máximo 120 caracteres")
     @Column(name = "name", nullable = false, length = 120)
@@ -35,10 +48,18 @@ public class Product {
     @Column(name = "active", nullable = false)
     private Boolean active = true;
 
+    // Muda junto com o estoque: no flush da entidade (OPTIMISTIC) ou nos UPDATEs em massa, que também sobem a versão
+    @ColumnDefault("0")
+    @Column(name = "sold_quantity", nullable = false)
+    private Long soldQuantity = 0L;
+
     @Version
     @Column(name = "version", nullable = false)
     private Integer version = 0;
 
+    @Transient
+    private int persistedListingHash;
+
     public Product() {}
 
     public Product(String name, BigDecimal price, Integer stock) {
@@ -56,6 +77,14 @@ public class Product {
         this.id = id;
     }
 
+    public String getSku() {
+        return sku;
+    }
+
+    public void setSku(String sku) {
+        this.sku = sku;
+    }
+
     public String getName() {
         return name;
     }
@@ -88,6 +117,14 @@ public class Product {
         this.active = active;
     }
 
+    public Long getSoldQuantity() {
+        return soldQuantity;
+    }
+
+    public void setSoldQuantity(Long soldQuantity) {
+        this.soldQuantity = soldQuantity;
+    }
+
     public Integer getVersion() {
         return version;
     }
@@ -96,10 +133,23 @@ public class Product {
         this.version = version;
     }
 
+    // Nome e ativo decidem em quais páginas do catálogo o produto aparece
+    public boolean isListingChanged() {
+        return persistedListingHash != Objects.hash(name, active);
+    }
+
+    @PostLoad
+    @PostPersist
+    @PostUpdate
+    void rememberListingState() {
+        this.persistedListingHash = Objects.hash(name, active);
+    }
+
     @Override
     public String toString() {
         return "Product{" +
                 "id=" + id +
+                ", sku='" + sku + '\'' +
                 ", name='" + name + '\'' +
                 ", price=" + price +
                 ", stock=" + stock +
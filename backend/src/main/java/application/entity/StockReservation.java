@@ -0,0 +1,76 @@
+package application.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Estoque separado para um carrinho até expiresAt. A linha existe enquanto a reserva está ativa:
+// confirmar, liberar ou expirar a remove, e o @Version decide quem chega primeiro
+@Entity
+@Table(name = "stock_reservations")
+public class StockReservation {
+
+    @Id
+    @Column(name = "id", length = 36)
+    private String id;
+
+    @Column(name = "customer_id")
+    private Long customerId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Version
+    @Column(name = "version")
+    private Long version;
+
+    @OneToMany(mappedBy = "reservation", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    private List<StockReservationItem> items = new ArrayList<>();
+
+    public StockReservation() {}
+
+    public StockReservation(String id, Long customerId, LocalDateTime createdAt, LocalDateTime expiresAt) {
+        this.id = id;
+        this.customerId = customerId;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public List<StockReservationItem> getItems() {
+        return items;
+    }
+
+    public void addItem(StockReservationItem item) {
+        items.add(item);
+        item.setReservation(this);
+    }
+}
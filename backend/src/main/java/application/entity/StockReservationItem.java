@@ -0,0 +1,59 @@
+package application.entity;
+
+import jakarta.persistence.*;
+
+// Quantidade separada de um produto; no modo WAREHOUSE, uma linha por armazém
+@Entity
+@Table(name = "stock_reservation_items")
+public class StockReservationItem {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_reservation_items_seq")
+    @SequenceGenerator(name = "stock_reservation_items_seq", sequenceName = "stock_reservation_items_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "reservation_id", nullable = false)
+    private StockReservation reservation;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "warehouse_id")
+    private Long warehouseId;
+
+    @Column(name = "quantity", nullable = false)
+    private Integer quantity;
+
+    public StockReservationItem() {}
+
+    public StockReservationItem(Long productId, Long warehouseId, Integer quantity) {
+        this.productId = productId;
+        this.warehouseId = warehouseId;
+        this.quantity = quantity;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public StockReservation getReservation() {
+        return reservation;
+    }
+
+    public void setReservation(StockReservation reservation) {
+        this.reservation = reservation;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public Long getWarehouseId() {
+        return warehouseId;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+}
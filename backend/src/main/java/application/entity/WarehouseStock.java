@@ -0,0 +1,64 @@
+package application.entity;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+// Estoque de um produto num armazém. Gravada e lida pelo WarehouseInventory com JdbcTemplate;
+// products.stock é a soma destas linhas, mantida de forma incremental
+@Entity
+@Table(name = "warehouse_stock")
+@IdClass(WarehouseStock.Key.class)
+public class WarehouseStock {
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Id
+    @Column(name = "warehouse_id")
+    private Long warehouseId;
+
+    @Column(name = "quantity", nullable = false)
+    private Integer quantity;
+
+    public WarehouseStock() {}
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public Long getWarehouseId() {
+        return warehouseId;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public static class Key implements Serializable {
+
+        private Long productId;
+        private Long warehouseId;
+
+        public Key() {}
+
+        public Key(Long productId, Long warehouseId) {
+            this.productId = productId;
+            this.warehouseId = warehouseId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key key
+                    && Objects.equals(productId, key.productId)
+                    && Objects.equals(warehouseId, key.warehouseId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(productId, warehouseId);
+        }
+    }
+}
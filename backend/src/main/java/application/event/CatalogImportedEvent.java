@@ -0,0 +1,5 @@
+package application.event;
+
+// Importação em massa concluída: alterações feitas por SQL direto, sem eventos por produto
+public record CatalogImportedEvent(long importedRows) {
+}
@@ -0,0 +1,5 @@
+package application.event;
+
+// Regras de preço criadas ou removidas; o snapshot do PricingEngine é recompilado após o commit
+public record PriceRulesChangedEvent() {
+}
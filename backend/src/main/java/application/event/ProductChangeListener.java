@@ -0,0 +1,34 @@
+package application.event;
+
+import application.entity.Product;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+// Alterações feitas via entidade; UPDATEs em massa publicam o evento explicitamente
+@Component
+public class ProductChangeListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public ProductChangeListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostRemove
+    public void onInsertOrDelete(Product product) {
+        eventPublisher.publishEvent(new ProductChangedEvent(Set.of(product.getId()), true));
+    }
+
+    @PostUpdate
+    public void onUpdate(Product product) {
+        eventPublisher.publishEvent(new ProductChangedEvent(Set.of(product.getId()), product.isListingChanged()));
+    }
+}
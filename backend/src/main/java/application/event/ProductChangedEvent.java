@@ -0,0 +1,17 @@
+package application.event;
+
+import java.util.Set;
+
+// listingChanged: o produto entrou, saiu ou mudou de nome/ativo, alterando quais páginas o contêm.
+// inventoryWrite: estoque alterado pelo próprio modo de estoque (checkout, reserva, gravação em lote); nas demais
+// alterações o StockLedger relê products.stock
+public record ProductChangedEvent(Set<Long> productIds, boolean listingChanged, boolean inventoryWrite) {
+
+    public ProductChangedEvent(Set<Long> productIds, boolean listingChanged) {
+        this(productIds, listingChanged, false);
+    }
+
+    public static ProductChangedEvent stockChanged(Set<Long> productIds) {
+        return new ProductChangedEvent(Set.copyOf(productIds), false, true);
+    }
+}
@@ -0,0 +1,11 @@
+package application.event;
+
+import java.util.Map;
+
+// Quantidade vendida por produto num checkout (ou lote do group commit) confirmado
+public record ProductsSoldEvent(Map<Long, Integer> quantities) {
+
+    public ProductsSoldEvent {
+        quantities = Map.copyOf(quantities);
+    }
+}
@@ -1,7 +1,10 @@
 package application.exception;
 
+import application.metrics.OrderMetrics;
 import jakarta.persistence.OptimisticLockException;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -14,6 +17,13 @@ import java.util.Map;
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    private final OrderMetrics orderMetrics;
+
+    @Autowired
+    public GlobalExceptionHandler(OrderMetrics orderMetrics) {
+        this.orderMetrics = orderMetrics;
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<?> handleValidationErrors(MethodArgumentNotValidException ex) {
         Map<String, Object> body = new HashMap<>();
@@ -27,6 +37,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(OptimisticLockException.class)
     public ResponseEntity<?> handleOptimisticLock(OptimisticLockException ex) {
+        orderMetrics.optimisticLockConflict();
         Map<String, Object> body = new HashMap<>();
         body.put("error", "Concurrency conflict");
         body.put("message", "O produto foi atualizado por outro pedido. Tente novamente.");
@@ -35,6 +46,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(OptimisticLockingFailureException.class)
     public ResponseEntity<?> handleSpringOptimisticLock(OptimisticLockingFailureException ex) {
+        orderMetrics.optimisticLockConflict();
         Map<String, Object> body = new HashMap<>();
         body.put("error", "Concurrency conflict");
         body.put("message", "O produto foi atualizado por outro pedido. Tente novamente.");
@@ -43,6 +55,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(InsufficientStockException.class)
     public ResponseEntity<?> handleInsufficientStock(InsufficientStockException ex) {
+        orderMetrics.insufficientStock();
         Map<String, Object> body = new HashMap<>();
         body.put("error", "Conflict");
         body.put("message", ex.getMessage());
@@ -50,6 +63,81 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
     }
 
+    @ExceptionHandler(ProductNotFoundException.class)
+    public ResponseEntity<?> handleProductNotFound(ProductNotFoundException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("error", "Not Found");
+        body.put("message", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(body);
+    }
+
+    @ExceptionHandler(IntakeQueueFullException.class)
+    public ResponseEntity<?> handleIntakeQueueFull(IntakeQueueFullException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("error", "Service Unavailable");
+        body.put("message", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(body);
+    }
+
+    // Desligando: sem Retry-After, o cliente (ou o balanceador) deve tentar outra instância
+    @ExceptionHandler(IntakeNotAcceptingException.class)
+    public ResponseEntity<?> handleIntakeNotAccepting(IntakeNotAcceptingException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("error", "Service Unavailable");
+        body.put("message", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(body);
+    }
+
+    @ExceptionHandler(InvalidImportException.class)
+    public ResponseEntity<?> handleInvalidImport(InvalidImportException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("error", "Bad Request");
+        body.put("message", ex.getMessage());
+        return ResponseEntity.badRequest().body(body);
+    }
+
+    @ExceptionHandler(InvalidPriceRuleException.class)
+    public ResponseEntity<?> handleInvalidPriceRule(InvalidPriceRuleException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("error", "Bad Request");
+        body.put("message", ex.getMessage());
+        return ResponseEntity.badRequest().body(body);
+    }
+
+    @ExceptionHandler(InvalidSubscriptionException.class)
+    public ResponseEntity<?> handleInvalidSubscription(InvalidSubscriptionException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("error", "Bad Request");
+        body.put("message", ex.getMessage());
+        return ResponseEntity.badRequest().body(body);
+    }
+
+    @ExceptionHandler(InvalidIdempotencyKeyException.class)
+    public ResponseEntity<?> handleInvalidIdempotencyKey(InvalidIdempotencyKeyException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("error", "Bad Request");
+        body.put("message", ex.getMessage());
+        return ResponseEntity.badRequest().body(body);
+    }
+
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<?> handleIdempotencyKeyReused(IdempotencyKeyReusedException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("error", "Unprocessable Entity");
+        body.put("message", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(body);
+    }
+
+    @ExceptionHandler(ImportInProgressException.class)
+    public ResponseEntity<?> handleImportInProgress(ImportInProgressException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("error", "Conflict");
+        body.put("message", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<?> handleGeneric(Exception ex) {
         Map<String, Object> body = new HashMap<>();
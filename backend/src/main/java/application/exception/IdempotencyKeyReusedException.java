@@ -0,0 +1,8 @@
+package application.exception;
+
+public class IdempotencyKeyReusedException extends RuntimeException {
+
+    public IdempotencyKeyReusedException() {
+        super("Idempotency-Key já usada com outro pedido");
+    }
+}
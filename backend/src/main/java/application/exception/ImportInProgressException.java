@@ -0,0 +1,8 @@
+package application.exception;
+
+public class ImportInProgressException extends RuntimeException {
+
+    public ImportInProgressException() {
+        super("Já existe uma importação de produtos em andamento.");
+    }
+}
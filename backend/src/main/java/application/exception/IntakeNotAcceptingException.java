@@ -0,0 +1,8 @@
+package application.exception;
+
+public class IntakeNotAcceptingException extends RuntimeException {
+
+    public IntakeNotAcceptingException() {
+        super("Recebimento de pedidos encerrado. Tente novamente em outra instância.");
+    }
+}
@@ -0,0 +1,8 @@
+package application.exception;
+
+public class IntakeQueueFullException extends RuntimeException {
+
+    public IntakeQueueFullException() {
+        super("Fila de pedidos cheia. Tente novamente em instantes.");
+    }
+}
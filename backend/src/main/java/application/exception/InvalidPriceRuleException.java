@@ -0,0 +1,8 @@
+package application.exception;
+
+public class InvalidPriceRuleException extends RuntimeException {
+
+    public InvalidPriceRuleException(String message) {
+        super(message);
+    }
+}
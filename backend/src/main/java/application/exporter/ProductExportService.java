@@ -0,0 +1,132 @@
+package application.exporter;
+
+import application.dto.ProductExportDTO;
+import application.repository.ProductRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Exportação completa dos produtos ativos em CSV ou JSON lines, escrita direto na saída enquanto
+ * o cursor é lido. A memória fica limitada ao buffer de escrita e ao fetch size da consulta: as
+ * linhas são projeções (nada entra no contexto de persistência) e cada uma é descartada assim que
+ * escrita. O CSV usa o mesmo cabeçalho aceito pela importação.
+ */
+@Service
+public class ProductExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductExportService.class);
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ProductRepository productRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnly;
+
+    @Autowired
+    public ProductExportService(ProductRepository productRepository, ObjectMapper objectMapper,
+                                PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.objectMapper = objectMapper;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+    }
+
+    public long exportProducts(ExportFormat format, OutputStream output) throws IOException {
+        long start = System.nanoTime();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), BUFFER_SIZE);
+        long exported;
+        try {
+            exported = readOnly.execute(status -> {
+                try (Stream<ProductExportDTO> products = productRepository.streamActiveProducts()) {
+                    return format == ExportFormat.CSV
+                            ? writeCsv(products.iterator(), writer)
+                            : writeNdjson(products.iterator(), writer);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        writer.flush();
+
+        log.info("Exportação de produtos concluída: {} produtos em {} ms",
+                exported, (System.nanoTime() - start) / 1_000_000);
+        return exported;
+    }
+
+    private long writeCsv(Iterator<ProductExportDTO> products, Writer writer) throws IOException {
+        writer.write("id,sku,name,price,stock\n");
+        long count = 0;
+        while (products.hasNext()) {
+            ProductExportDTO product = products.next();
+            writer.write(Long.toString(product.id()));
+            writer.write(',');
+            writeCsvField(product.sku(), writer);
+            writer.write(',');
+            writeCsvField(product.name(), writer);
+            writer.write(',');
+            writer.write(product.price().toPlainString());
+            writer.write(',');
+            writer.write(Integer.toString(product.stock()));
+            writer.write('\n');
+            count++;
+        }
+        return count;
+    }
+
+    private static void writeCsvField(String value, Writer writer) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private long writeNdjson(Iterator<ProductExportDTO> products, Writer writer) throws IOException {
+        long count = 0;
+        // Fechar o gerador não pode fechar o writer: a saída é da resposta HTTP
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(writer)) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.setRootValueSeparator(null);
+            while (products.hasNext()) {
+                ProductExportDTO product = products.next();
+                json.writeStartObject();
+                json.writeNumberField("id", product.id());
+                json.writeStringField("sku", product.sku());
+                json.writeStringField("name", product.name());
+                json.writeNumberField("price", product.price());
+                json.writeNumberField("stock", product.stock());
+                json.writeEndObject();
+                json.writeRaw('\n');
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,211 @@
+package application.idempotency;
+
+import application.dto.OrderItemRequestDTO;
+import application.dto.OrderRequestDTO;
+import application.dto.OrderResponseDTO;
+import application.exception.IdempotencyKeyReusedException;
+import application.exception.InvalidIdempotencyKeyException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key do checkout. A resposta de cada pedido criado fica em memória (limitada e
+ * com expiração) e na tabela idempotency_keys. Repetições da mesma chave recebem a resposta
+ * guardada sem passar pelo OrderService; duplicatas que chegam enquanto o original ainda está em
+ * andamento esperam a mesma execução. Falhas (estoque, validação) não ficam registradas: a próxima
+ * tentativa executa de novo.
+ */
+@Component
+public class IdempotencyStore {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyStore.class);
+    private static final int MAX_KEY_LENGTH = 128;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, Execution> executions;
+    private final Duration ttl;
+    private final boolean groupCommit;
+    private final Counter replays;
+    private volatile long nextPurge;
+
+    @Autowired
+    public IdempotencyStore(JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${ecommerce.orders.idempotency.max-size:100000}") long maxSize,
+                            @Value("${ecommerce.orders.idempotency.ttl-hours:24}") long ttlHours,
+                            @Value("${ecommerce.orders.group-commit.enabled:false}") boolean groupCommit) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.groupCommit = groupCommit;
+        this.executions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+        this.replays = Counter.builder("orders.idempotency.replays")
+                .description("Pedidos repetidos com a mesma Idempotency-Key respondidos sem nova execução")
+                .register(meterRegistry);
+    }
+
+    public IdempotentResult execute(String key, OrderRequestDTO request, Supplier<OrderResponseDTO> creation) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new InvalidIdempotencyKeyException(
+                    "Idempotency-Key deve ter entre 1 e " + MAX_KEY_LENGTH + " caracteres");
+        }
+
+        String fingerprint = fingerprint(request);
+        Execution execution = new Execution(fingerprint, new CompletableFuture<>());
+        Execution current = executions.asMap().putIfAbsent(key, execution);
+        if (current != null) {
+            if (!current.fingerprint().equals(fingerprint)) {
+                throw new IdempotencyKeyReusedException();
+            }
+            replays.increment();
+            return new IdempotentResult(join(current.response()), true);
+        }
+
+        try {
+            IdempotentResult result = findStored(key, fingerprint);
+            if (result == null) {
+                result = create(key, fingerprint, creation);
+            }
+            execution.response().complete(result.order());
+            return result;
+        } catch (RuntimeException ex) {
+            executions.asMap().remove(key, execution);
+            execution.response().completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    // Sem group commit a chave é gravada na transação do próprio pedido: ou os dois ficam, ou nenhum.
+    // Com group commit o pedido é gravado pela thread do writer, e a chave logo depois do commit
+    private IdempotentResult create(String key, String fingerprint, Supplier<OrderResponseDTO> creation) {
+        try {
+            if (groupCommit) {
+                OrderResponseDTO order = creation.get();
+                transactionTemplate.executeWithoutResult(status -> insert(key, fingerprint, order));
+                return new IdempotentResult(order, false);
+            }
+            return transactionTemplate.execute(status -> {
+                OrderResponseDTO order = creation.get();
+                insert(key, fingerprint, order);
+                return new IdempotentResult(order, false);
+            });
+        } catch (DuplicateKeyException ex) {
+            // Outra instância gravou a mesma chave primeiro; sem group commit, o nosso pedido foi desfeito
+            if (groupCommit) {
+                log.warn("Idempotency-Key {} gravada por outra instância depois do pedido criado aqui", key);
+            }
+            IdempotentResult stored = findStored(key, fingerprint);
+            if (stored == null) {
+                throw ex;
+            }
+            return stored;
+        }
+    }
+
+    private IdempotentResult findStored(String key, String fingerprint) {
+        List<String[]> rows = jdbcTemplate.query(
+                "SELECT request_hash, response FROM idempotency_keys WHERE idempotency_key = ? AND created_at > ?",
+                (rs, rowNum) -> new String[]{rs.getString(1), rs.getString(2)},
+                key, Timestamp.valueOf(LocalDateTime.now().minus(ttl)));
+        if (rows.isEmpty()) {
+            return null;
+        }
+        if (!rows.get(0)[0].equals(fingerprint)) {
+            throw new IdempotencyKeyReusedException();
+        }
+        replays.increment();
+        try {
+            return new IdempotentResult(objectMapper.readValue(rows.get(0)[1], OrderResponseDTO.class), true);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Resposta guardada para a Idempotency-Key " + key + " é inválida", ex);
+        }
+    }
+
+    private void insert(String key, String fingerprint, OrderResponseDTO order) {
+        purgeExpired();
+        try {
+            jdbcTemplate.update("INSERT INTO idempotency_keys (idempotency_key, request_hash, order_id, response, created_at) " +
+                            "VALUES (?, ?, ?, ?, ?)",
+                    key, fingerprint, order.getId(), objectMapper.writeValueAsString(order),
+                    Timestamp.valueOf(LocalDateTime.now()));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    // Sem agendador: as chaves vencidas são apagadas no máximo uma vez por hora, por quem grava
+    private void purgeExpired() {
+        long now = System.currentTimeMillis();
+        if (now < nextPurge) {
+            return;
+        }
+        nextPurge = now + Duration.ofHours(1).toMillis();
+        int purged = jdbcTemplate.update("DELETE FROM idempotency_keys WHERE created_at <= ?",
+                Timestamp.valueOf(LocalDateTime.now().minus(ttl)));
+        if (purged > 0) {
+            log.info("{} Idempotency-Keys vencidas removidas", purged);
+        }
+    }
+
+    // Mesma chave com outro pedido é erro do cliente; a comparação ignora a formatação do JSON
+    static String fingerprint(OrderRequestDTO request) {
+        StringBuilder canonical = new StringBuilder();
+        canonical.append(request.getCustomerId());
+        for (OrderItemRequestDTO item : request.getItems()) {
+            canonical.append('|').append(item.getProductId()).append(':').append(item.getQuantity());
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static OrderResponseDTO join(CompletableFuture<OrderResponseDTO> response) {
+        try {
+            return response.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record Execution(String fingerprint, CompletableFuture<OrderResponseDTO> response) {
+    }
+}
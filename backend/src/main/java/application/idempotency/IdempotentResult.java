@@ -0,0 +1,7 @@
+package application.idempotency;
+
+import application.dto.OrderResponseDTO;
+
+// replayed: resposta de uma execução anterior (ou em andamento) com a mesma chave
+public record IdempotentResult(OrderResponseDTO order, boolean replayed) {
+}
@@ -0,0 +1,127 @@
+package application.importer;
+
+import application.exception.InvalidImportException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Leitor de CSV (RFC 4180) em streaming: campos entre aspas podem conter vírgulas, quebras de
+ * linha e aspas escapadas (""). A primeira linha é o cabeçalho, com as colunas sku, name,
+ * price, stock e, opcionalmente, active, em qualquer ordem.
+ */
+final class CsvRowReader implements ImportRowReader {
+
+    private static final List<String> COLUMNS = List.of("sku", "name", "price", "stock", "active");
+
+    private final Reader reader;
+    private final char[] buffer = new char[64 * 1024];
+    private final int[] columns = new int[COLUMNS.size()];
+    private final List<String> fields = new ArrayList<>();
+    private final StringBuilder field = new StringBuilder();
+    private int position;
+    private int limit;
+    private long line = 1;
+
+    CsvRowReader(Reader reader) throws IOException {
+        this.reader = reader;
+
+        List<String> header = readRecord();
+        if (header == null) {
+            throw new InvalidImportException("Arquivo CSV vazio");
+        }
+        List<String> names = new ArrayList<>(header.size());
+        for (String name : header) {
+            names.add(name.replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT));
+        }
+        for (int i = 0; i < COLUMNS.size(); i++) {
+            columns[i] = names.indexOf(COLUMNS.get(i));
+            if (columns[i] < 0 && !COLUMNS.get(i).equals("active")) {
+                throw new InvalidImportException("Coluna obrigatória ausente no cabeçalho do CSV: " + COLUMNS.get(i));
+            }
+        }
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        while (true) {
+            long start = line;
+            List<String> record = readRecord();
+            if (record == null) {
+                return null;
+            }
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            return new ImportRow(start, column(record, 0), column(record, 1), column(record, 2),
+                    column(record, 3), column(record, 4));
+        }
+    }
+
+    private String column(List<String> record, int column) {
+        int index = columns[column];
+        return index >= 0 && index < record.size() ? record.get(index) : null;
+    }
+
+    private List<String> readRecord() throws IOException {
+        int c = read();
+        if (c < 0) {
+            return null;
+        }
+
+        long start = line;
+        fields.clear();
+        field.setLength(0);
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c < 0) {
+                    throw new InvalidImportException("Aspas não fechadas no CSV a partir da linha " + start);
+                }
+                if (c == '"') {
+                    int next = read();
+                    if (next != '"') {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                    field.append('"');
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c < 0) {
+                fields.add(field.toString());
+                if (c == '\n') {
+                    line++;
+                }
+                return fields;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private int read() throws IOException {
+        if (position == limit) {
+            limit = reader.read(buffer);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position++];
+    }
+}
@@ -0,0 +1,34 @@
+package application.importer;
+
+import java.util.Locale;
+import java.util.Optional;
+
+public enum ImportFormat {
+    CSV,
+    NDJSON;
+
+    public static Optional<ImportFormat> fromContentType(String contentType) {
+        if (contentType == null) {
+            return Optional.empty();
+        }
+        String type = contentType.toLowerCase(Locale.ROOT);
+        if (type.startsWith("text/csv")) {
+            return Optional.of(CSV);
+        }
+        if (type.startsWith("application/x-ndjson") || type.startsWith("application/jsonl")) {
+            return Optional.of(NDJSON);
+        }
+        return Optional.empty();
+    }
+
+    public static Optional<ImportFormat> fromFileName(String fileName) {
+        String name = fileName.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return Optional.of(CSV);
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+            return Optional.of(NDJSON);
+        }
+        return Optional.empty();
+    }
+}
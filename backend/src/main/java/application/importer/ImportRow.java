@@ -0,0 +1,5 @@
+package application.importer;
+
+// Campos crus de uma linha do arquivo; a conversão e a validação ficam no ProductImportService
+record ImportRow(long line, String sku, String name, String price, String stock, String active) {
+}
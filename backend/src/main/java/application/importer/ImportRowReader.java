@@ -0,0 +1,9 @@
+package application.importer;
+
+import java.io.IOException;
+
+interface ImportRowReader {
+
+    // null no fim do arquivo; RejectedRowException para uma linha ilegível (as seguintes continuam legíveis)
+    ImportRow next() throws IOException;
+}
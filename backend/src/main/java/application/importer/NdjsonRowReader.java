@@ -0,0 +1,45 @@
+package application.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+
+// Um objeto JSON por linha: {"sku": "...", "name": "...", "price": 18.90, "stock": 5, "active": true}
+final class NdjsonRowReader implements ImportRowReader {
+
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private long line;
+
+    NdjsonRowReader(Reader reader, ObjectMapper objectMapper) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader, 64 * 1024);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            line++;
+            if (text == null) {
+                return null;
+            }
+        } while (text.isBlank());
+
+        JsonRow row;
+        try {
+            row = objectMapper.readValue(text, JsonRow.class);
+        } catch (JsonProcessingException ex) {
+            throw new RejectedRowException(line, "JSON inválido: " + ex.getOriginalMessage());
+        }
+        return new ImportRow(line, row.sku(), row.name(), row.price(), row.stock(), row.active());
+    }
+
+    // Números e booleanos chegam como texto e são convertidos junto com os do CSV
+    private record JsonRow(String sku, String name, String price, String stock, String active) {
+    }
+}
@@ -0,0 +1,67 @@
+package application.importer;
+
+import application.dto.ImportReportDTO;
+import application.exception.InvalidImportException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Modo linha de comando: --ecommerce.import.file=catalogo.csv importa o arquivo e encerra a aplicação
+@Component
+@ConditionalOnProperty(name = "ecommerce.import.file")
+public class ProductImportRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductImportRunner.class);
+
+    private final ProductImportService importService;
+    private final ConfigurableApplicationContext context;
+    private final Path file;
+    private final String format;
+    private final boolean exit;
+
+    @Autowired
+    public ProductImportRunner(ProductImportService importService,
+                               ConfigurableApplicationContext context,
+                               @Value("${ecommerce.import.file}") Path file,
+                               @Value("${ecommerce.import.format:}") String format,
+                               @Value("${ecommerce.import.exit:true}") boolean exit) {
+        this.importService = importService;
+        this.context = context;
+        this.file = file;
+        this.format = format;
+        this.exit = exit;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        ImportFormat importFormat = format.isBlank()
+                ? ImportFormat.fromFileName(file.getFileName().toString())
+                    .orElseThrow(() -> new InvalidImportException(
+                            "Formato não reconhecido pela extensão; use ecommerce.import.format=CSV ou NDJSON"))
+                : ImportFormat.valueOf(format.trim().toUpperCase());
+
+        ImportReportDTO report;
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            report = importService.importProducts(reader, importFormat);
+        }
+        for (var error : report.getErrors()) {
+            log.warn("Linha {}: {}", error.getLine(), error.getMessage());
+        }
+
+        if (exit) {
+            System.exit(SpringApplication.exit(context, () -> 0));
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package application.importer;
+
+import application.dto.ImportErrorDTO;
+import application.dto.ImportReportDTO;
+import application.entity.Product;
+import application.event.CatalogImportedEvent;
+import application.exception.ImportInProgressException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Importação em massa de produtos a partir de CSV ou JSON lines, lida em streaming. Cada linha é
+ * validada com as mesmas constraints da entidade Product e gravada por upsert (MERGE pelo sku)
+ * em lotes JDBC, cada lote na sua transação. Linhas inválidas são contadas e reportadas sem
+ * interromper o arquivo. Uma importação por vez.
+ */
+@Service
+public class ProductImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductImportService.class);
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    // O id só é usado quando o sku ainda não existe; para updates ele é descartado
+    private static final String UPSERT =
+            "MERGE INTO products p USING (VALUES (CAST(? AS BIGINT), CAST(? AS VARCHAR(64)), CAST(? AS VARCHAR(120)), " +
+            "CAST(? AS NUMERIC(12,2)), CAST(? AS INTEGER), CAST(? AS BOOLEAN))) AS s(id, sku, name, price, stock, active) " +
+            "ON p.sku = s.sku " +
+            "WHEN MATCHED THEN UPDATE SET name = s.name, price = s.price, stock = s.stock, active = s.active, " +
+            "version = p.version + 1 " +
+            "WHEN NOT MATCHED THEN INSERT (id, sku, name, price, stock, active, version, sold_quantity) " +
+            "VALUES (s.id, s.sku, s.name, s.price, s.stock, s.active, 0, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Counter importedRows;
+    private final Counter rejectedRows;
+    private final int batchSize;
+    private final long progressInterval;
+    private final ReentrantLock running = new ReentrantLock();
+
+    // Bloco de ids reservado de products_seq, como o pooled-lo do Hibernate; protegido por running
+    private long nextId;
+    private int remainingIds;
+
+    @Autowired
+    public ProductImportService(JdbcTemplate jdbcTemplate,
+                                TransactionTemplate transactionTemplate,
+                                Validator validator,
+                                ObjectMapper objectMapper,
+                                ApplicationEventPublisher eventPublisher,
+                                MeterRegistry meterRegistry,
+                                @Value("${ecommerce.import.batch-size:1000}") int batchSize,
+                                @Value("${ecommerce.import.progress-interval:100000}") long progressInterval) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.progressInterval = progressInterval;
+        this.importedRows = Counter.builder("catalog.import.rows")
+                .description("Linhas processadas pela importação de produtos")
+                .tag("outcome", "imported")
+                .register(meterRegistry);
+        this.rejectedRows = Counter.builder("catalog.import.rows")
+                .description("Linhas processadas pela importação de produtos")
+                .tag("outcome", "rejected")
+                .register(meterRegistry);
+    }
+
+    public ImportReportDTO importProducts(Reader reader, ImportFormat format) {
+        if (!running.tryLock()) {
+            throw new ImportInProgressException();
+        }
+        try {
+            return run(format == ImportFormat.CSV ? new CsvRowReader(reader) : new NdjsonRowReader(reader, objectMapper));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            remainingIds = 0;
+            running.unlock();
+        }
+    }
+
+    private ImportReportDTO run(ImportRowReader rows) throws IOException {
+        long start = System.nanoTime();
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        List<ImportErrorDTO> errors = new ArrayList<>();
+        long total = 0;
+        long imported = 0;
+        long rejected = 0;
+
+        try {
+            while (true) {
+                try {
+                    ImportRow row = rows.next();
+                    if (row == null) {
+                        break;
+                    }
+                    batch.add(toParameters(row));
+                } catch (RejectedRowException ex) {
+                    rejected++;
+                    rejectedRows.increment();
+                    if (errors.size() < MAX_REPORTED_ERRORS) {
+                        errors.add(new ImportErrorDTO(ex.getLine(), ex.getMessage()));
+                    }
+                }
+                total++;
+
+                if (batch.size() == batchSize) {
+                    imported += write(batch);
+                }
+                if (total % progressInterval == 0) {
+                    log.info("Importação de produtos: {} linhas ({} rejeitadas), {} linhas/s",
+                            total, rejected, rate(total, start));
+                }
+            }
+            imported += write(batch);
+        } finally {
+            // Mesmo interrompida, o que já foi gravado precisa chegar ao índice e ao cache
+            if (imported > 0) {
+                eventPublisher.publishEvent(new CatalogImportedEvent(imported));
+            }
+        }
+
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        log.info("Importação de produtos concluída: {} linhas, {} gravadas, {} rejeitadas em {} ms ({} linhas/s)",
+                total, imported, rejected, elapsedMs, rate(total, start));
+        return new ImportReportDTO(total, imported, rejected, elapsedMs, rate(total, start), errors);
+    }
+
+    private int write(List<Object[]> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPSERT, batch));
+        int written = batch.size();
+        importedRows.increment(written);
+        batch.clear();
+        return written;
+    }
+
+    private Object[] toParameters(ImportRow row) {
+        String sku = row.sku() == null ? "" : row.sku().trim();
+        if (sku.isEmpty()) {
+            throw new RejectedRowException(row.line(), "SKU é obrigatório");
+        }
+
+        Product product = new Product(row.name() == null ? null : row.name().trim(),
+                parsePrice(row), parseStock(row));
+        product.setSku(sku);
+        product.setActive(parseActive(row));
+
+        Set<ConstraintViolation<Product>> violations = validator.validate(product);
+        if (!violations.isEmpty()) {
+            throw new RejectedRowException(row.line(), violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .reduce((a, b) -> a + "; " + b)
+                    .orElseThrow());
+        }
+
+        return new Object[]{nextId(), product.getSku(), product.getName(), product.getPrice(),
+                product.getStock(), product.getActive()};
+    }
+
+    private long nextId() {
+        if (remainingIds == 0) {
+            nextId = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR products_seq", Long.class);
+            remainingIds = Product.ID_ALLOCATION_SIZE;
+        }
+        remainingIds--;
+        return nextId++;
+    }
+
+    private static BigDecimal parsePrice(ImportRow row) {
+        if (row.price() == null || row.price().isBlank()) {
+            return null;
+        }
+        try {
+            return new BigDecimal(row.price().trim()).setScale(2, RoundingMode.HALF_EVEN);
+        } catch (NumberFormatException ex) {
+            throw new RejectedRowException(row.line(), "Preço inválido: " + row.price());
+        }
+    }
+
+    private static Integer parseStock(ImportRow row) {
+        if (row.stock() == null || row.stock().isBlank()) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(row.stock().trim());
+        } catch (NumberFormatException ex) {
+            throw new RejectedRowException(row.line(), "Estoque inválido: " + row.stock());
+        }
+    }
+
+    private static boolean parseActive(ImportRow row) {
+        if (row.active() == null || row.active().isBlank()) {
+            return true;
+        }
+        return switch (row.active().trim().toLowerCase(Locale.ROOT)) {
+            case "true", "1" -> true;
+            case "false", "0" -> false;
+            default -> throw new RejectedRowException(row.line(), "Valor inválido para active: " + row.active());
+        };
+    }
+
+    private static long rate(long rows, long startNanos) {
+        long elapsedNanos = Math.max(1, System.nanoTime() - startNanos);
+        return rows * 1_000_000_000L / elapsedNanos;
+    }
+}
@@ -0,0 +1,16 @@
+package application.importer;
+
+// Sem stack trace: num arquivo ruim pode haver milhões destas
+class RejectedRowException extends RuntimeException {
+
+    private final long line;
+
+    RejectedRowException(long line, String message) {
+        super(message, null, false, false);
+        this.line = line;
+    }
+
+    long getLine() {
+        return line;
+    }
+}
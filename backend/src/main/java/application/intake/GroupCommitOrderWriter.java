@@ -0,0 +1,179 @@
+package application.intake;
+
+import application.dto.OrderRequestDTO;
+import application.dto.OrderResponseDTO;
+import application.metrics.OrderMetrics;
+import application.service.OrderOutcome;
+import application.service.OrderService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Group commit de pedidos: junta os pedidos que chegam dentro de uma janela curta (ou até
+ * max-batch-size) e grava todos numa única transação via OrderService.createOrders. Cada
+ * chamador recebe o seu próprio resultado. Se o lote inteiro falhar, os pedidos são refeitos
+ * um a um. Uma única thread grava, então lotes não disputam os mesmos produtos entre si.
+ */
+@Component
+@ConditionalOnProperty(name = "ecommerce.orders.group-commit.enabled", havingValue = "true")
+public class GroupCommitOrderWriter implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(GroupCommitOrderWriter.class);
+
+    private final OrderService orderService;
+    private final OrderMetrics metrics;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final BlockingQueue<PendingOrder> queue = new LinkedBlockingQueue<>();
+
+    private Thread writer;
+    private volatile boolean running;
+
+    @Autowired
+    public GroupCommitOrderWriter(OrderService orderService,
+                                  OrderMetrics metrics,
+                                  @Value("${ecommerce.orders.group-commit.max-batch-size:64}") int maxBatchSize,
+                                  @Value("${ecommerce.orders.group-commit.max-wait-ms:5}") long maxWaitMs) {
+        this.orderService = orderService;
+        this.metrics = metrics;
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+    }
+
+    public CompletableFuture<OrderResponseDTO> submit(OrderRequestDTO orderRequest) {
+        PendingOrder pending = new PendingOrder(orderRequest, new CompletableFuture<>());
+        if (!running) {
+            pending.result().completeExceptionally(new IllegalStateException("Gravação de pedidos encerrada"));
+            return pending.result();
+        }
+        queue.add(pending);
+        return pending.result();
+    }
+
+    // Versão bloqueante para o checkout síncrono: propaga a mesma exceção do OrderService.createOrder
+    public OrderResponseDTO createOrder(OrderRequestDTO orderRequest) {
+        try {
+            return submit(orderRequest).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private void run() {
+        List<PendingOrder> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingOrder first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // A janela começa no primeiro pedido; o que já estiver na fila entra sem esperar
+                long deadline = System.nanoTime() + maxWaitNanos;
+                while (batch.size() < maxBatchSize) {
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= maxBatchSize || remaining <= 0) {
+                        break;
+                    }
+                    PendingOrder next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next != null) {
+                        batch.add(next);
+                    }
+                }
+
+                write(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<PendingOrder> batch) {
+        metrics.batchSize(batch.size());
+        List<OrderOutcome> outcomes;
+        try {
+            outcomes = orderService.createOrders(batch.stream().map(PendingOrder::orderRequest).toList());
+        } catch (RuntimeException ex) {
+            log.debug("Lote de {} pedidos desfeito; reprocessando individualmente", batch.size(), ex);
+            writeIndividually(batch);
+            return;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            OrderOutcome outcome = outcomes.get(i);
+            if (outcome.error() != null) {
+                batch.get(i).result().completeExceptionally(outcome.error());
+            } else {
+                batch.get(i).result().complete(outcome.order());
+            }
+        }
+    }
+
+    private void writeIndividually(List<PendingOrder> batch) {
+        for (PendingOrder pending : batch) {
+            try {
+                pending.result().complete(orderService.createOrder(pending.orderRequest()));
+            } catch (RuntimeException ex) {
+                pending.result().completeExceptionally(ex);
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writer = new Thread(this::run, "order-group-commit");
+        writer.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (writer != null) {
+            try {
+                writer.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        PendingOrder pending;
+        while ((pending = queue.poll()) != null) {
+            pending.result().completeExceptionally(new IllegalStateException("Gravação de pedidos encerrada"));
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Para depois do recebimento assíncrono (que submete pedidos aqui) e antes do ledger de estoque
+    @Override
+    public int getPhase() {
+        return 1;
+    }
+
+    private record PendingOrder(OrderRequestDTO orderRequest, CompletableFuture<OrderResponseDTO> result) {
+    }
+}
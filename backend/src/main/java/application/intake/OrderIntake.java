@@ -0,0 +1,240 @@
+package application.intake;
+
+import application.dto.OrderIntakeDTO;
+import application.dto.OrderRequestDTO;
+import application.dto.OrderResponseDTO;
+import application.exception.InsufficientStockException;
+import application.exception.IntakeNotAcceptingException;
+import application.exception.IntakeQueueFullException;
+import application.service.OrderService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recebimento assíncrono de pedidos: o pedido entra numa fila limitada e recebe um token;
+ * workers drenam a fila em micro-lotes e processam cada pedido pelo OrderService, na sua
+ * própria transação, ou pelo group commit quando habilitado. Com a fila cheia, a submissão
+ * é recusada em vez de esperar.
+ */
+@Component
+public class OrderIntake implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderIntake.class);
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final OrderService orderService;
+    private final Optional<GroupCommitOrderWriter> groupCommit;
+    private final BlockingQueue<Submission> queue;
+    private final Cache<String, OrderIntakeDTO> results;
+    // Tokens na fila ou em processamento; limitado pela capacidade da fila mais os lotes dos workers
+    private final ConcurrentHashMap<String, OrderIntakeDTO> pending = new ConcurrentHashMap<>();
+    private final int workerCount;
+    private final int batchSize;
+    private final Timer queueWait;
+    private final Counter rejected;
+
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    @Autowired
+    public OrderIntake(OrderService orderService,
+                       Optional<GroupCommitOrderWriter> groupCommit,
+                       MeterRegistry meterRegistry,
+                       @Value("${ecommerce.orders.intake.capacity:10000}") int capacity,
+                       @Value("${ecommerce.orders.intake.workers:4}") int workerCount,
+                       @Value("${ecommerce.orders.intake.batch-size:32}") int batchSize,
+                       @Value("${ecommerce.orders.intake.result-ttl-seconds:600}") long resultTtlSeconds) {
+        this.orderService = orderService;
+        this.groupCommit = groupCommit;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.workerCount = workerCount;
+        this.batchSize = batchSize;
+        // Só resultados finais: um token pendente nunca é descartado por tamanho ou TTL
+        this.results = Caffeine.newBuilder()
+                .maximumSize(capacity * 10L)
+                .expireAfterWrite(Duration.ofSeconds(resultTtlSeconds))
+                .build();
+
+        Gauge.builder("orders.intake.queue.size", queue, BlockingQueue::size)
+                .description("Pedidos aguardando processamento")
+                .register(meterRegistry);
+        this.queueWait = Timer.builder("orders.intake.queue.wait")
+                .description("Tempo entre a submissão e o início do processamento")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejected = Counter.builder("orders.intake.rejected")
+                .description("Submissões recusadas com a fila cheia")
+                .register(meterRegistry);
+    }
+
+    public OrderIntakeDTO submit(OrderRequestDTO orderRequest) {
+        if (!running) {
+            throw new IntakeNotAcceptingException();
+        }
+
+        String token = UUID.randomUUID().toString();
+        OrderIntakeDTO accepted = OrderIntakeDTO.pending(token);
+        pending.put(token, accepted);
+        if (!queue.offer(new Submission(token, orderRequest, System.nanoTime()))) {
+            pending.remove(token);
+            rejected.increment();
+            throw new IntakeQueueFullException();
+        }
+        return accepted;
+    }
+
+    public Optional<OrderIntakeDTO> status(String token) {
+        OrderIntakeDTO accepted = pending.get(token);
+        if (accepted != null) {
+            return Optional.of(accepted);
+        }
+        return Optional.ofNullable(results.getIfPresent(token));
+    }
+
+    // Grava o resultado antes de tirar o pendente, para que status() nunca veja o token sumir
+    private void complete(String token, OrderIntakeDTO result) {
+        results.put(token, result);
+        pending.remove(token);
+    }
+
+    private void drain() {
+        List<Submission> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Submission first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+
+                for (Submission submission : batch) {
+                    queueWait.record(System.nanoTime() - submission.submittedAtNanos(), TimeUnit.NANOSECONDS);
+                }
+                processBatch(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void processBatch(List<Submission> batch) {
+        if (groupCommit.isEmpty()) {
+            for (Submission submission : batch) {
+                complete(submission.token(), process(submission));
+            }
+            return;
+        }
+
+        // Submete o micro-lote inteiro antes de esperar, para que caia na mesma transação
+        List<CompletableFuture<OrderResponseDTO>> futures = new ArrayList<>(batch.size());
+        for (Submission submission : batch) {
+            futures.add(groupCommit.get().submit(submission.orderRequest()));
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            complete(batch.get(i).token(), outcome(batch.get(i), futures.get(i)));
+        }
+    }
+
+    private OrderIntakeDTO outcome(Submission submission, CompletableFuture<OrderResponseDTO> future) {
+        try {
+            return OrderIntakeDTO.completed(submission.token(), future.join());
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof InsufficientStockException stockException) {
+                return OrderIntakeDTO.rejected(submission.token(), stockException.getMessage(),
+                        stockException.getStockErrors());
+            }
+            if (ex.getCause() instanceof OptimisticLockingFailureException) {
+                return process(submission);
+            }
+            return OrderIntakeDTO.failed(submission.token(), ex.getCause().getMessage());
+        }
+    }
+
+    private OrderIntakeDTO process(Submission submission) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                OrderResponseDTO order = orderService.createOrder(submission.orderRequest());
+                return OrderIntakeDTO.completed(submission.token(), order);
+            } catch (InsufficientStockException ex) {
+                return OrderIntakeDTO.rejected(submission.token(), ex.getMessage(), ex.getStockErrors());
+            } catch (OptimisticLockingFailureException ex) {
+                // Ninguém está esperando a resposta: vale tentar de novo antes de desistir
+                if (attempt == MAX_ATTEMPTS) {
+                    return OrderIntakeDTO.failed(submission.token(),
+                            "O produto foi atualizado por outro pedido. Tente novamente.");
+                }
+            } catch (RuntimeException ex) {
+                log.debug("Pedido {} falhou", submission.token(), ex);
+                return OrderIntakeDTO.failed(submission.token(), ex.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = new Thread(this::drain, "order-intake-" + i);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    // Para de aceitar e termina o que já está na fila
+    @Override
+    public void stop() {
+        running = false;
+        for (Thread worker : workers) {
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        workers.clear();
+        if (!queue.isEmpty()) {
+            log.warn("Recebimento encerrado com {} pedidos não processados", queue.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Depois do servidor web (não chegam novas submissões) e antes do group commit e do ledger de estoque
+    @Override
+    public int getPhase() {
+        return 2;
+    }
+
+    private record Submission(String token, OrderRequestDTO orderRequest, long submittedAtNanos) {
+    }
+}
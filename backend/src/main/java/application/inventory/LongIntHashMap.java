@@ -0,0 +1,141 @@
+package application.inventory;
+
+import java.util.Arrays;
+
+// Mapa long -> int com endereçamento aberto, sem boxing. Não é thread-safe.
+final class LongIntHashMap {
+
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] keys;
+    private int[] values;
+    private boolean[] used;
+    private int size;
+    private int mask;
+    private int resizeAt;
+
+    LongIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean containsKey(long key) {
+        return used[indexOf(key)];
+    }
+
+    int get(long key, int defaultValue) {
+        int index = indexOf(key);
+        return used[index] ? values[index] : defaultValue;
+    }
+
+    void put(long key, int value) {
+        int index = indexOf(key);
+        if (used[index]) {
+            values[index] = value;
+            return;
+        }
+        insertAt(index, key, value);
+    }
+
+    int addTo(long key, int delta) {
+        int index = indexOf(key);
+        if (used[index]) {
+            values[index] += delta;
+            return values[index];
+        }
+        insertAt(index, key, delta);
+        return delta;
+    }
+
+    void remove(long key) {
+        int index = indexOf(key);
+        if (!used[index]) {
+            return;
+        }
+        used[index] = false;
+        size--;
+
+        // Reposiciona o restante do cluster para não quebrar a sondagem linear
+        int next = (index + 1) & mask;
+        while (used[next]) {
+            long movedKey = keys[next];
+            int movedValue = values[next];
+            used[next] = false;
+            int target = indexOf(movedKey);
+            keys[target] = movedKey;
+            values[target] = movedValue;
+            used[target] = true;
+            next = (next + 1) & mask;
+        }
+    }
+
+    void clear() {
+        Arrays.fill(used, false);
+        size = 0;
+    }
+
+    void forEach(Entry consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (used[i]) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    private void insertAt(int index, long key, int value) {
+        keys[index] = key;
+        values[index] = value;
+        used[index] = true;
+        if (++size > resizeAt) {
+            rehash();
+        }
+    }
+
+    private int indexOf(long key) {
+        int index = mix(key) & mask;
+        while (used[index] && keys[index] != key) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    private void rehash() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        boolean[] oldUsed = used;
+
+        allocate(oldKeys.length << 1);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                int index = indexOf(oldKeys[i]);
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+                used[index] = true;
+                size++;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+        size = 0;
+    }
+
+    static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    @FunctionalInterface
+    interface Entry {
+        void accept(long key, int value);
+    }
+}
@@ -0,0 +1,617 @@
+package application.inventory;
+
+import application.dto.StockErrorDTO;
+import application.event.CatalogImportedEvent;
+import application.event.ProductChangedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Estoque disponível mantido em memória, particionado em stripes com lock próprio.
+ * Os decrementos de pedidos confirmados são acumulados e gravados em lote nas colunas
+ * products.stock e products.sold_quantity por uma thread de fundo; pedidos ainda não gravados
+ * ficam com orders.stock_synced = false e são reaplicados na inicialização. Reservas de carrinho
+ * só separam estoque em memória e são recarregadas de stock_reservation_items.
+ * Cada stripe guarda, por produto, o último products.stock conhecido e o que foi separado em memória
+ * e ainda não chegou a ele; o disponível é a diferença. Quando products.stock muda por fora do
+ * ledger (edição do produto, importação), só o primeiro é descartado e relido do banco.
+ */
+@Component
+@ConditionalOnProperty(name = "ecommerce.orders.stock-mode", havingValue = "LEDGER")
+public class StockLedger implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(StockLedger.class);
+    private static final int MAX_LOAD_ATTEMPTS = 3;
+    private static final String SYNC_STOCK =
+            "UPDATE products SET stock = stock - ?, sold_quantity = sold_quantity + ?, version = version + 1 WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Stripe[] stripes;
+    private final long flushIntervalMs;
+    private final int flushBatchSize;
+
+    private final ConcurrentLinkedQueue<PendingOrder> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingOrders = new AtomicInteger();
+    private final List<PendingOrder> inflight = new ArrayList<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private volatile long inflightSinceNanos;
+
+    private ScheduledExecutorService flusher;
+    private volatile boolean running;
+
+    @Autowired
+    public StockLedger(JdbcTemplate jdbcTemplate,
+                       TransactionTemplate transactionTemplate,
+                       ApplicationEventPublisher eventPublisher,
+                       MeterRegistry meterRegistry,
+                       @Value("${ecommerce.inventory.ledger.stripes:64}") int stripeCount,
+                       @Value("${ecommerce.inventory.ledger.flush-interval-ms:200}") long flushIntervalMs,
+                       @Value("${ecommerce.inventory.ledger.flush-batch-size:1000}") int flushBatchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.flushIntervalMs = flushIntervalMs;
+        this.flushBatchSize = flushBatchSize;
+
+        int size = Integer.highestOneBit(Math.max(1, stripeCount) - 1) << 1;
+        this.stripes = new Stripe[Math.max(1, size)];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe();
+        }
+
+        TimeGauge.builder("inventory.ledger.flush.lag", this, TimeUnit.MILLISECONDS, StockLedger::flushLagMillis)
+                .description("Idade do decremento mais antigo ainda não gravado em products.stock")
+                .register(meterRegistry);
+        Gauge.builder("inventory.ledger.pending.orders", pendingOrders, AtomicInteger::get)
+                .description("Pedidos confirmados cujo estoque ainda não foi gravado")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reserva as quantidades (tudo ou nada) dentro da transação corrente. Se a transação
+     * confirmar, o decremento entra na fila de gravação; se fizer rollback, o estoque volta.
+     */
+    public List<StockErrorDTO> reserve(Map<Long, Integer> quantities, Supplier<Long> orderId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Reserva no ledger de estoque exige uma transação ativa");
+        }
+
+        long[] productIds = productIds(quantities);
+        int[] amounts = amounts(quantities);
+        List<StockErrorDTO> errors = take(productIds, amounts);
+        if (!errors.isEmpty()) {
+            return errors;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    enqueue(orderId.get(), productIds, amounts);
+                } else {
+                    giveBack(productIds, amounts);
+                }
+            }
+        });
+
+        return List.of();
+    }
+
+    /**
+     * Separa as quantidades de uma reserva de carrinho (tudo ou nada) dentro da transação corrente.
+     * Nada é gravado em products.stock: o que está separado por reservas vem de stock_reservation_items,
+     * gravada na mesma transação, e é recarregado de lá na inicialização.
+     */
+    public List<StockErrorDTO> hold(Map<Long, Integer> quantities) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Reserva no ledger de estoque exige uma transação ativa");
+        }
+
+        long[] productIds = productIds(quantities);
+        int[] amounts = amounts(quantities);
+        List<StockErrorDTO> errors = take(productIds, amounts);
+        if (!errors.isEmpty()) {
+            return errors;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    giveBack(productIds, amounts);
+                }
+            }
+        });
+
+        return List.of();
+    }
+
+    // Reserva de carrinho liberada ou expirada: depois do commit o estoque volta a ficar disponível
+    public void release(Map<Long, Integer> quantities) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Devolução ao ledger de estoque exige uma transação ativa");
+        }
+
+        long[] productIds = productIds(quantities);
+        int[] amounts = amounts(quantities);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    giveBack(productIds, amounts);
+                }
+            }
+        });
+    }
+
+    /**
+     * Reserva de carrinho confirmada no pedido orderId: o que já estava separado entra na fila de
+     * gravação como a venda de um checkout (estoque e vendido, stock_synced = false até lá).
+     */
+    public void confirm(Map<Long, Integer> quantities, Supplier<Long> orderId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Confirmação no ledger de estoque exige uma transação ativa");
+        }
+
+        long[] productIds = productIds(quantities);
+        int[] amounts = amounts(quantities);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    enqueue(orderId.get(), productIds, amounts);
+                }
+            }
+        });
+    }
+
+    private List<StockErrorDTO> take(long[] productIds, int[] amounts) {
+        int[] stripeIndexes = stripesOf(productIds);
+        for (int attempt = 1; ; attempt++) {
+            loadMissing(productIds);
+            lock(stripeIndexes);
+            try {
+                // Descartado de novo entre a leitura e o lock: relê
+                if (attempt < MAX_LOAD_ATTEMPTS && !loaded(productIds)) {
+                    continue;
+                }
+
+                List<StockErrorDTO> errors = new ArrayList<>();
+                for (int i = 0; i < productIds.length; i++) {
+                    int available = stripeOf(productIds[i]).available(productIds[i]);
+                    if (available < amounts[i]) {
+                        errors.add(new StockErrorDTO(productIds[i], available));
+                    }
+                }
+                if (!errors.isEmpty()) {
+                    return errors;
+                }
+
+                for (int i = 0; i < productIds.length; i++) {
+                    stripeOf(productIds[i]).reserve(productIds[i], amounts[i]);
+                }
+                return errors;
+            } finally {
+                unlock(stripeIndexes);
+            }
+        }
+    }
+
+    private void enqueue(Long orderId, long[] productIds, int[] amounts) {
+        pending.add(new PendingOrder(orderId, productIds, amounts, System.nanoTime()));
+        pendingOrders.incrementAndGet();
+    }
+
+    private static long[] productIds(Map<Long, Integer> quantities) {
+        return quantities.keySet().stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static int[] amounts(Map<Long, Integer> quantities) {
+        return quantities.values().stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Disponível agora: o products.stock conhecido (ou stockInDatabase, se o ledger ainda não carregou
+     * o produto) menos o que está separado em memória e ainda não foi gravado.
+     */
+    public int available(long productId, int stockInDatabase) {
+        Stripe stripe = stripeOf(productId);
+        stripe.lock.lock();
+        try {
+            return stripe.stock.get(productId, stockInDatabase) - stripe.reserved.get(productId, 0);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    public OptionalInt available(long productId) {
+        Stripe stripe = stripeOf(productId);
+        stripe.lock.lock();
+        try {
+            return stripe.stock.containsKey(productId)
+                    ? OptionalInt.of(stripe.available(productId))
+                    : OptionalInt.empty();
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    public long flushLagMillis() {
+        long since = inflightSinceNanos;
+        if (since == 0) {
+            PendingOrder head = pending.peek();
+            if (head == null) {
+                return 0;
+            }
+            since = head.committedAtNanos();
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - since);
+    }
+
+    public int pendingOrders() {
+        return pendingOrders.get();
+    }
+
+    public void flush() {
+        flushLock.lock();
+        try {
+            boolean fullBatch;
+            do {
+                PendingOrder next;
+                while (inflight.size() < flushBatchSize && (next = pending.poll()) != null) {
+                    inflight.add(next);
+                }
+                if (inflight.isEmpty()) {
+                    return;
+                }
+                inflightSinceNanos = inflight.get(0).committedAtNanos();
+                fullBatch = inflight.size() == flushBatchSize;
+
+                Set<Long> productIds = writeBatch(inflight);
+
+                // Já gravado: sai da nova tentativa antes de avisar os ouvintes, senão uma falha
+                // deles faria o próximo flush aplicar o mesmo decremento de novo
+                pendingOrders.addAndGet(-inflight.size());
+                inflight.clear();
+                inflightSinceNanos = 0;
+                publishStockChanged(productIds);
+            } while (fullBatch);
+        } catch (RuntimeException ex) {
+            log.warn("Falha ao gravar estoque do ledger ({} pedidos); nova tentativa em {} ms",
+                    inflight.size(), flushIntervalMs, ex);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private Set<Long> writeBatch(List<PendingOrder> orders) {
+        LongIntHashMap deltas = new LongIntHashMap(orders.size() * 2);
+        List<Object[]> orderArgs = new ArrayList<>(orders.size());
+        for (PendingOrder order : orders) {
+            for (int i = 0; i < order.productIds().length; i++) {
+                deltas.addTo(order.productIds()[i], order.quantities()[i]);
+            }
+            orderArgs.add(new Object[]{order.orderId()});
+        }
+
+        List<Object[]> stockArgs = new ArrayList<>(deltas.size());
+        Set<Long> productIds = new HashSet<>(deltas.size() * 2);
+        deltas.forEach((productId, quantity) -> {
+            stockArgs.add(new Object[]{quantity, quantity, productId});
+            productIds.add(productId);
+        });
+        stockArgs.sort((a, b) -> Long.compare((Long) a[2], (Long) b[2]));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(SYNC_STOCK, stockArgs);
+            jdbcTemplate.batchUpdate("UPDATE orders SET stock_synced = TRUE WHERE id = ?", orderArgs);
+        });
+
+        // Gravado: sai do separado e entra no products.stock conhecido, sem mudar o disponível
+        deltas.forEach((productId, quantity) -> {
+            Stripe stripe = stripeOf(productId);
+            stripe.lock.lock();
+            try {
+                stripe.synced(productId, quantity);
+            } finally {
+                stripe.lock.unlock();
+            }
+        });
+
+        log.debug("Ledger gravou {} produtos de {} pedidos", stockArgs.size(), orders.size());
+        return productIds;
+    }
+
+    private void publishStockChanged(Set<Long> productIds) {
+        try {
+            eventPublisher.publishEvent(ProductChangedEvent.stockChanged(productIds));
+        } catch (RuntimeException ex) {
+            log.warn("Falha ao publicar a alteração de estoque de {} produtos já gravados", productIds.size(), ex);
+        }
+    }
+
+    // Reaplica pedidos confirmados cujo decremento não chegou a ser gravado antes de uma parada
+    private void recover() {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Object[]> stockArgs = jdbcTemplate.query(
+                    "SELECT oi.product_id, SUM(oi.quantity) FROM order_items oi " +
+                    "JOIN orders o ON o.id = oi.order_id " +
+                    "WHERE o.stock_synced = FALSE " +
+                    "GROUP BY oi.product_id ORDER BY oi.product_id",
+                    (rs, rowNum) -> new Object[]{rs.getInt(2), rs.getInt(2), rs.getLong(1)});
+            if (stockArgs.isEmpty()) {
+                return;
+            }
+
+            jdbcTemplate.batchUpdate(SYNC_STOCK, stockArgs);
+            int orders = jdbcTemplate.update("UPDATE orders SET stock_synced = TRUE WHERE stock_synced = FALSE");
+            log.info("Ledger recuperou o estoque de {} pedidos não gravados ({} produtos)", orders, stockArgs.size());
+        });
+    }
+
+    // O estoque das reservas de carrinho ativas nunca sai de products.stock, só do disponível em memória
+    private void loadHolds() {
+        int[] holds = new int[1];
+        jdbcTemplate.query("SELECT product_id, SUM(quantity) FROM stock_reservation_items GROUP BY product_id", rs -> {
+            long productId = rs.getLong(1);
+            Stripe stripe = stripeOf(productId);
+            stripe.lock.lock();
+            try {
+                stripe.reserve(productId, rs.getInt(2));
+            } finally {
+                stripe.lock.unlock();
+            }
+            holds[0]++;
+        });
+        if (holds[0] > 0) {
+            log.info("Ledger recarregou as reservas de carrinho ativas de {} produtos", holds[0]);
+        }
+    }
+
+    /**
+     * Lê products.stock dos produtos ainda sem valor conhecido. Sob o flushLock: uma gravação em lote
+     * não pode confirmar entre a leitura e o registro do valor, senão o decremento contaria duas vezes
+     * (no valor lido e no separado) ou nenhuma.
+     */
+    private void loadMissing(long[] productIds) {
+        if (missing(productIds).isEmpty()) {
+            return;
+        }
+
+        flushLock.lock();
+        try {
+            List<Long> missing = missing(productIds);
+            if (missing.isEmpty()) {
+                return;
+            }
+
+            String placeholders = String.join(",", Collections.nCopies(missing.size(), "?"));
+            jdbcTemplate.query("SELECT id, stock FROM products WHERE id IN (" + placeholders + ")", rs -> {
+                long productId = rs.getLong(1);
+                Stripe stripe = stripeOf(productId);
+                stripe.lock.lock();
+                try {
+                    stripe.stock.put(productId, rs.getInt(2));
+                } finally {
+                    stripe.lock.unlock();
+                }
+            }, missing.toArray());
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private List<Long> missing(long[] productIds) {
+        List<Long> missing = new ArrayList<>();
+        for (long productId : productIds) {
+            Stripe stripe = stripeOf(productId);
+            stripe.lock.lock();
+            try {
+                if (!stripe.stock.containsKey(productId)) {
+                    missing.add(productId);
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return missing;
+    }
+
+    // Chamado com os locks das stripes
+    private boolean loaded(long[] productIds) {
+        for (long productId : productIds) {
+            if (!stripeOf(productId).stock.containsKey(productId)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Estoque devolvido depois da transação (rollback ou reserva liberada): sem transação ativa, os ouvintes
+    // rodam na hora, já vendo o disponível atualizado
+    private void giveBack(long[] productIds, int[] amounts) {
+        unreserve(productIds, amounts);
+        eventPublisher.publishEvent(ProductChangedEvent.stockChanged(
+                Arrays.stream(productIds).boxed().collect(Collectors.toSet())));
+    }
+
+    private void unreserve(long[] productIds, int[] amounts) {
+        for (int i = 0; i < productIds.length; i++) {
+            Stripe stripe = stripeOf(productIds[i]);
+            stripe.lock.lock();
+            try {
+                stripe.reserve(productIds[i], -amounts[i]);
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+    }
+
+    // products.stock alterado por fora do ledger: o valor conhecido é descartado e relido no próximo uso
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.inventoryWrite()) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            for (Long productId : event.productIds()) {
+                Stripe stripe = stripeOf(productId);
+                stripe.lock.lock();
+                try {
+                    stripe.stock.remove(productId);
+                } finally {
+                    stripe.lock.unlock();
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogImported(CatalogImportedEvent event) {
+        flushLock.lock();
+        try {
+            for (Stripe stripe : stripes) {
+                stripe.lock.lock();
+                try {
+                    stripe.stock.clear();
+                } finally {
+                    stripe.lock.unlock();
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+        log.info("Ledger descartou o estoque conhecido após importação de {} linhas", event.importedRows());
+    }
+
+    private Stripe stripeOf(long productId) {
+        return stripes[LongIntHashMap.mix(productId) & (stripes.length - 1)];
+    }
+
+    // Índices distintos e ordenados: os locks são sempre adquiridos na mesma ordem
+    private int[] stripesOf(long[] productIds) {
+        int[] indexes = new int[productIds.length];
+        for (int i = 0; i < productIds.length; i++) {
+            indexes[i] = LongIntHashMap.mix(productIds[i]) & (stripes.length - 1);
+        }
+        return Arrays.stream(indexes).sorted().distinct().toArray();
+    }
+
+    private void lock(int[] stripeIndexes) {
+        for (int index : stripeIndexes) {
+            stripes[index].lock.lock();
+        }
+    }
+
+    private void unlock(int[] stripeIndexes) {
+        for (int i = stripeIndexes.length - 1; i >= 0; i--) {
+            stripes[stripeIndexes[i]].lock.unlock();
+        }
+    }
+
+    @Override
+    public void start() {
+        recover();
+        loadHolds();
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "stock-ledger-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (flusher != null) {
+            flusher.shutdown();
+            try {
+                flusher.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+        if (pendingOrders.get() > 0) {
+            log.warn("Ledger encerrado com {} pedidos não gravados; serão recuperados na próxima inicialização",
+                    pendingOrders.get());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Inicia antes e para depois do servidor web
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        // Último products.stock conhecido; ausente até a primeira leitura ou depois de descartado
+        private final LongIntHashMap stock = new LongIntHashMap(64);
+        // Separado em memória e ainda não gravado em products.stock (transações abertas, reservas de carrinho e fila de gravação)
+        private final LongIntHashMap reserved = new LongIntHashMap(64);
+
+        private int available(long productId) {
+            return stock.get(productId, 0) - reserved.get(productId, 0);
+        }
+
+        private void reserve(long productId, int quantity) {
+            if (reserved.addTo(productId, quantity) == 0) {
+                reserved.remove(productId);
+            }
+        }
+
+        private void synced(long productId, int quantity) {
+            if (stock.containsKey(productId)) {
+                stock.addTo(productId, -quantity);
+            }
+            reserve(productId, -quantity);
+        }
+    }
+
+    record PendingOrder(Long orderId, long[] productIds, int[] quantities, long committedAtNanos) {
+    }
+}
@@ -0,0 +1,142 @@
+package application.inventory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Divide as quantidades de um pedido entre os armazéns. Cada candidato é uma ordem de preferência
+ * dos armazéns (todas as permutações até MAX_PERMUTED armazéns, senão as rotações); cada linha é
+ * atendida pelo primeiro armazém da ordem que tiver saldo, completando com os seguintes. Vence o
+ * candidato com menos armazéns envolvidos (remessas) e, no empate, com menos linhas divididas;
+ * persistindo o empate, o de menor índice, então o resultado não depende da avaliação ser paralela.
+ * Imutável e sem estado por pedido: uma instância atende todas as threads.
+ */
+public final class WarehouseAllocator {
+
+    static final int MAX_PERMUTED = 5;
+
+    private final int warehouses;
+    private final int parallelThreshold;
+    private final int[][] candidates;
+
+    public WarehouseAllocator(int warehouses, int parallelThreshold) {
+        if (warehouses < 1) {
+            throw new IllegalArgumentException("Nenhum armazém cadastrado");
+        }
+        this.warehouses = warehouses;
+        this.parallelThreshold = parallelThreshold;
+        this.candidates = candidateOrders(warehouses);
+    }
+
+    public int getWarehouses() {
+        return warehouses;
+    }
+
+    public int getCandidates() {
+        return candidates.length;
+    }
+
+    /**
+     * available e o retorno têm uma posição por linha e armazém: [linha * warehouses + armazém].
+     * Cada quantidade precisa caber na soma dos armazéns da sua linha.
+     */
+    public int[] allocate(int[] quantities, int[] available) {
+        long[] scores = new long[candidates.length];
+        // Com uma thread só no pool comum a avaliação paralela seria a sequencial mais o custo do fork/join
+        if (quantities.length >= parallelThreshold && candidates.length > 1
+                && ForkJoinPool.getCommonPoolParallelism() > 1) {
+            IntStream.range(0, candidates.length).parallel()
+                    .forEach(i -> scores[i] = score(candidates[i], quantities, available));
+        } else {
+            for (int i = 0; i < candidates.length; i++) {
+                scores[i] = score(candidates[i], quantities, available);
+            }
+        }
+
+        int best = 0;
+        for (int i = 1; i < scores.length; i++) {
+            if (scores[i] < scores[best]) {
+                best = i;
+            }
+        }
+        return fill(candidates[best], quantities, available);
+    }
+
+    // Remessas nos 32 bits altos, linhas divididas nos baixos: a comparação de long ordena pelos dois
+    private long score(int[] order, int[] quantities, int[] available) {
+        boolean[] used = new boolean[warehouses];
+        int shipments = 0;
+        int parts = 0;
+        for (int line = 0; line < quantities.length; line++) {
+            int remaining = quantities[line];
+            int base = line * warehouses;
+            for (int k = 0; k < order.length && remaining > 0; k++) {
+                int warehouse = order[k];
+                int take = Math.min(remaining, available[base + warehouse]);
+                if (take <= 0) {
+                    continue;
+                }
+                remaining -= take;
+                parts++;
+                if (!used[warehouse]) {
+                    used[warehouse] = true;
+                    shipments++;
+                }
+            }
+        }
+        return (long) shipments << 32 | (parts - quantities.length);
+    }
+
+    private int[] fill(int[] order, int[] quantities, int[] available) {
+        int[] taken = new int[available.length];
+        for (int line = 0; line < quantities.length; line++) {
+            int remaining = quantities[line];
+            int base = line * warehouses;
+            for (int k = 0; k < order.length && remaining > 0; k++) {
+                int take = Math.min(remaining, available[base + order[k]]);
+                if (take > 0) {
+                    taken[base + order[k]] = take;
+                    remaining -= take;
+                }
+            }
+            if (remaining > 0) {
+                throw new IllegalArgumentException("Quantidade da linha " + line + " excede o estoque dos armazéns");
+            }
+        }
+        return taken;
+    }
+
+    static int[][] candidateOrders(int warehouses) {
+        List<int[]> orders = new ArrayList<>();
+        int[] identity = IntStream.range(0, warehouses).toArray();
+        if (warehouses <= MAX_PERMUTED) {
+            permute(identity, 0, orders);
+        } else {
+            for (int first = 0; first < warehouses; first++) {
+                int[] rotation = new int[warehouses];
+                for (int k = 0; k < warehouses; k++) {
+                    rotation[k] = (first + k) % warehouses;
+                }
+                orders.add(rotation);
+            }
+        }
+        return orders.toArray(int[][]::new);
+    }
+
+    // Ordem lexicográfica: o primeiro candidato é a ordem dos ids, que desempata os demais
+    private static void permute(int[] prefix, int position, List<int[]> orders) {
+        if (position == prefix.length) {
+            orders.add(prefix.clone());
+            return;
+        }
+        for (int i = position; i < prefix.length; i++) {
+            int[] next = prefix.clone();
+            int chosen = next[i];
+            System.arraycopy(next, position, next, position + 1, i - position);
+            next[position] = chosen;
+            permute(next, position + 1, orders);
+        }
+    }
+}
@@ -0,0 +1,606 @@
+package application.inventory;
+
+import application.dto.StockErrorDTO;
+import application.entity.OrderAllocation;
+import application.event.CatalogImportedEvent;
+import application.event.ProductChangedEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Estoque por armazém (modo WAREHOUSE). O WarehouseAllocator divide cada pedido entre os armazéns
+ * e cada parte é decrementada com UPDATE condicional na sua linha de warehouse_stock, então pedidos
+ * do mesmo produto só disputam a mesma linha quando saem do mesmo armazém. products.stock passa a ser
+ * um total mantido de forma incremental: os decrementos confirmados (e o vendido dos pedidos) são
+ * somados por produto e gravados em lote por uma thread de fundo; pedidos ainda não gravados ficam com
+ * orders.stock_synced = false. Na inicialização a soma dos armazéns prevalece e o vendido desses pedidos
+ * é reaplicado; depois de uma importação, os armazéns são ajustados ao estoque importado.
+ */
+@Component
+@ConditionalOnProperty(name = "ecommerce.orders.stock-mode", havingValue = "WAREHOUSE")
+public class WarehouseInventory implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(WarehouseInventory.class);
+    private static final int MAX_ATTEMPTS = 3;
+    private static final int RECONCILE_BATCH_SIZE = 1000;
+
+    private static final String DECREMENT =
+            "UPDATE warehouse_stock SET quantity = quantity - ? WHERE product_id = ? AND warehouse_id = ? AND quantity >= ?";
+    private static final String INCREMENT =
+            "UPDATE warehouse_stock SET quantity = quantity + ? WHERE product_id = ? AND warehouse_id = ?";
+    // MERGE do SQL padrão, como o upsert da importação. Grava a diferença, não o valor lido: um pedido
+    // que decrementa o armazém entre a leitura do reconcile e o MERGE não tem o decremento sobrescrito
+    private static final String UPSERT =
+            "MERGE INTO warehouse_stock w USING (VALUES (CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS INTEGER))) " +
+            "AS s(product_id, warehouse_id, quantity) " +
+            "ON w.product_id = s.product_id AND w.warehouse_id = s.warehouse_id " +
+            "WHEN MATCHED THEN UPDATE SET quantity = GREATEST(w.quantity + s.quantity, 0) " +
+            "WHEN NOT MATCHED THEN INSERT (product_id, warehouse_id, quantity) " +
+            "VALUES (s.product_id, s.warehouse_id, s.quantity)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DistributionSummary shipments;
+    private final int parallelThreshold;
+    private final long flushIntervalMs;
+
+    private final ReentrantLock pendingLock = new ReentrantLock();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private LongIntHashMap pendingTotals = new LongIntHashMap(64);
+    private LongIntHashMap pendingSold = new LongIntHashMap(64);
+    private List<Long> pendingOrderIds = new ArrayList<>();
+
+    private volatile long[] warehouseIds = new long[0];
+    private volatile WarehouseAllocator allocator;
+    private ScheduledExecutorService flusher;
+    private volatile boolean running;
+
+    @Autowired
+    public WarehouseInventory(JdbcTemplate jdbcTemplate,
+                              TransactionTemplate transactionTemplate,
+                              ApplicationEventPublisher eventPublisher,
+                              MeterRegistry meterRegistry,
+                              @Value("${ecommerce.inventory.warehouses.parallel-threshold:1000}") int parallelThreshold,
+                              @Value("${ecommerce.inventory.warehouses.flush-interval-ms:200}") long flushIntervalMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.parallelThreshold = parallelThreshold;
+        this.flushIntervalMs = flushIntervalMs;
+
+        this.shipments = DistributionSummary.builder("inventory.warehouse.shipments")
+                .description("Armazéns envolvidos em cada pedido")
+                .register(meterRegistry);
+        Gauge.builder("inventory.warehouse.totals.pending", this, WarehouseInventory::pendingProducts)
+                .description("Produtos cujo total em products.stock ainda não recebeu os últimos decrementos")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reserva as quantidades (tudo ou nada) dentro da transação corrente e informa de qual
+     * armazém sai cada parte. Se um UPDATE perder a disputa pela linha, o que faltou é
+     * realocado com o saldo relido; se ainda assim não houver estoque, o que já foi decrementado é
+     * devolvido e os erros retornam, sem depender de rollback (o group commit segue com o lote).
+     * Com orderId (checkout), as quantidades também entram no vendido; reservas de carrinho passam null.
+     */
+    public List<StockErrorDTO> reserve(Map<Long, Integer> quantities, Consumer<OrderAllocation> allocations,
+                                       Supplier<Long> orderId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Reserva nos armazéns exige uma transação ativa");
+        }
+        long[] warehouses = warehouseIds;
+        WarehouseAllocator allocator = this.allocator;
+        if (allocator == null) {
+            List<StockErrorDTO> errors = new ArrayList<>();
+            quantities.forEach((productId, quantity) -> errors.add(new StockErrorDTO(productId, 0)));
+            return errors;
+        }
+
+        Map<Long, Integer> remaining = new TreeMap<>(quantities);
+        List<Object[]> taken = new ArrayList<>();
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            long[] productIds = remaining.keySet().stream().mapToLong(Long::longValue).toArray();
+            int[] amounts = remaining.values().stream().mapToInt(Integer::intValue).toArray();
+            int[] available = loadAvailable(productIds, warehouses);
+
+            List<StockErrorDTO> errors = new ArrayList<>();
+            for (int line = 0; line < productIds.length; line++) {
+                int total = 0;
+                for (int w = 0; w < warehouses.length; w++) {
+                    total += available[line * warehouses.length + w];
+                }
+                if (total < amounts[line]) {
+                    errors.add(new StockErrorDTO(productIds[line], total + quantities.get(productIds[line]) - amounts[line]));
+                }
+            }
+            if (!errors.isEmpty()) {
+                giveBack(taken);
+                return errors;
+            }
+
+            // Linhas em ordem de produto e armazém: pedidos concorrentes travam as linhas na mesma ordem
+            int[] plan = allocator.allocate(amounts, available);
+            List<Object[]> args = new ArrayList<>();
+            for (int line = 0; line < productIds.length; line++) {
+                for (int w = 0; w < warehouses.length; w++) {
+                    int quantity = plan[line * warehouses.length + w];
+                    if (quantity > 0) {
+                        args.add(new Object[]{quantity, productIds[line], warehouses[w], quantity});
+                    }
+                }
+            }
+
+            int[] counts = jdbcTemplate.batchUpdate(DECREMENT, args);
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] == 1) {
+                    Object[] part = args.get(i);
+                    taken.add(part);
+                    remaining.merge((Long) part[1], -(Integer) part[0], Integer::sum);
+                }
+            }
+            remaining.values().removeIf(quantity -> quantity == 0);
+            if (remaining.isEmpty()) {
+                confirm(quantities, taken, allocations, orderId);
+                return List.of();
+            }
+        }
+
+        giveBack(taken);
+        throw new OptimisticLockingFailureException("Estoque dos armazéns disputado por pedidos concorrentes");
+    }
+
+    private void confirm(Map<Long, Integer> quantities, List<Object[]> taken, Consumer<OrderAllocation> allocations,
+                         Supplier<Long> orderId) {
+        Set<Long> warehouses = new HashSet<>();
+        for (Object[] part : taken) {
+            allocations.accept(new OrderAllocation((Long) part[1], (Long) part[2], (Integer) part[0]));
+            warehouses.add((Long) part[2]);
+        }
+        shipments.record(warehouses.size());
+
+        long[] productIds = new long[quantities.size()];
+        int[] amounts = new int[quantities.size()];
+        int n = 0;
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            productIds[n] = entry.getKey();
+            amounts[n] = entry.getValue();
+            n++;
+        }
+        addPendingAfterCommit(productIds, amounts, orderId);
+    }
+
+    /**
+     * Reserva de carrinho confirmada no pedido orderId: o estoque já saiu dos armazéns e entrou no total
+     * na reserva; depois do commit só o vendido entra na gravação em lote.
+     */
+    public void confirm(Map<Long, Integer> quantities, Supplier<Long> orderId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Confirmação nos armazéns exige uma transação ativa");
+        }
+        long[] productIds = quantities.keySet().stream().mapToLong(Long::longValue).toArray();
+        int[] sold = quantities.values().stream().mapToInt(Integer::intValue).toArray();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    addPending(productIds, new int[productIds.length], sold, orderId.get());
+                }
+            }
+        });
+    }
+
+    /**
+     * Devolve aos armazéns partes reservadas antes (reserva de carrinho liberada ou expirada),
+     * dentro da transação corrente.
+     */
+    public void release(List<OrderAllocation> allocations) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Devolução aos armazéns exige uma transação ativa");
+        }
+        List<Object[]> parts = new ArrayList<>(allocations.size());
+        long[] productIds = new long[allocations.size()];
+        int[] amounts = new int[allocations.size()];
+        for (int i = 0; i < allocations.size(); i++) {
+            OrderAllocation allocation = allocations.get(i);
+            parts.add(new Object[]{allocation.getQuantity(), allocation.getProductId(), allocation.getWarehouseId()});
+            productIds[i] = allocation.getProductId();
+            amounts[i] = -allocation.getQuantity();
+        }
+        parts.sort((a, b) -> {
+            int byProduct = Long.compare((Long) a[1], (Long) b[1]);
+            return byProduct != 0 ? byProduct : Long.compare((Long) a[2], (Long) b[2]);
+        });
+        giveBack(parts);
+        addPendingAfterCommit(productIds, amounts, () -> null);
+    }
+
+    // Em rollback os armazéns voltam com a transação; o total só anda com transações confirmadas
+    private void addPendingAfterCommit(long[] productIds, int[] amounts, Supplier<Long> orderId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    Long id = orderId.get();
+                    addPending(productIds, amounts, id != null ? amounts : null, id);
+                }
+            }
+        });
+    }
+
+    private void giveBack(List<Object[]> taken) {
+        if (!taken.isEmpty()) {
+            jdbcTemplate.batchUpdate(INCREMENT, taken.stream()
+                    .map(part -> new Object[]{part[0], part[1], part[2]})
+                    .toList());
+        }
+    }
+
+    private int[] loadAvailable(long[] productIds, long[] warehouses) {
+        int[] available = new int[productIds.length * warehouses.length];
+        String placeholders = String.join(",", Collections.nCopies(productIds.length, "?"));
+        jdbcTemplate.query("SELECT product_id, warehouse_id, quantity FROM warehouse_stock WHERE product_id IN (" + placeholders + ")",
+                rs -> {
+                    int line = Arrays.binarySearch(productIds, rs.getLong(1));
+                    int w = Arrays.binarySearch(warehouses, rs.getLong(2));
+                    if (w >= 0) {
+                        available[line * warehouses.length + w] = rs.getInt(3);
+                    }
+                },
+                Arrays.stream(productIds).boxed().toArray());
+        return available;
+    }
+
+    // sold é null para reservas de carrinho; amounts zerado entra assim mesmo, para o produto ir na gravação
+    private void addPending(long[] productIds, int[] amounts, int[] sold, Long orderId) {
+        pendingLock.lock();
+        try {
+            for (int i = 0; i < productIds.length; i++) {
+                pendingTotals.addTo(productIds[i], amounts[i]);
+                if (sold != null) {
+                    pendingSold.addTo(productIds[i], sold[i]);
+                }
+            }
+            if (orderId != null) {
+                pendingOrderIds.add(orderId);
+            }
+        } finally {
+            pendingLock.unlock();
+        }
+    }
+
+    public int pendingProducts() {
+        pendingLock.lock();
+        try {
+            return pendingTotals.size();
+        } finally {
+            pendingLock.unlock();
+        }
+    }
+
+    public void flush() {
+        flushLock.lock();
+        try {
+            LongIntHashMap batch;
+            LongIntHashMap sold;
+            List<Long> orderIds;
+            pendingLock.lock();
+            try {
+                if (pendingTotals.size() == 0) {
+                    return;
+                }
+                batch = pendingTotals;
+                sold = pendingSold;
+                orderIds = pendingOrderIds;
+                pendingTotals = new LongIntHashMap(64);
+                pendingSold = new LongIntHashMap(64);
+                pendingOrderIds = new ArrayList<>();
+            } finally {
+                pendingLock.unlock();
+            }
+
+            Set<Long> productIds;
+            try {
+                productIds = writeTotals(batch, sold, orderIds);
+            } catch (RuntimeException ex) {
+                log.warn("Falha ao gravar o total de estoque de {} produtos; nova tentativa em {} ms",
+                        batch.size(), flushIntervalMs, ex);
+                pendingLock.lock();
+                try {
+                    batch.forEach(pendingTotals::addTo);
+                    sold.forEach(pendingSold::addTo);
+                    pendingOrderIds.addAll(orderIds);
+                } finally {
+                    pendingLock.unlock();
+                }
+                return;
+            }
+            // Fora da nova tentativa: o lote já foi gravado, e uma falha dos ouvintes não pode reaplicá-lo
+            publishStockChanged(productIds);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private Set<Long> writeTotals(LongIntHashMap totals, LongIntHashMap sold, List<Long> orderIds) {
+        List<Object[]> args = new ArrayList<>(totals.size());
+        Set<Long> productIds = new HashSet<>(totals.size() * 2);
+        totals.forEach((productId, quantity) -> {
+            args.add(new Object[]{quantity, sold.get(productId, 0), productId});
+            productIds.add(productId);
+        });
+        args.sort((a, b) -> Long.compare((Long) a[2], (Long) b[2]));
+        List<Object[]> orderArgs = orderIds.stream().map(id -> new Object[]{id}).toList();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate("UPDATE products SET stock = stock - ?, sold_quantity = sold_quantity + ?, " +
+                    "version = version + 1 WHERE id = ?", args);
+            jdbcTemplate.batchUpdate("UPDATE orders SET stock_synced = TRUE WHERE id = ?", orderArgs);
+        });
+        return productIds;
+    }
+
+    private void publishStockChanged(Set<Long> productIds) {
+        try {
+            eventPublisher.publishEvent(ProductChangedEvent.stockChanged(productIds));
+        } catch (RuntimeException ex) {
+            log.warn("Falha ao publicar a alteração de estoque de {} produtos já gravados", productIds.size(), ex);
+        }
+    }
+
+    // Depois dos CommandLineRunners, que cadastram os armazéns e os produtos iniciais
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reconcile(true);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogImported(CatalogImportedEvent event) {
+        reconcile(false);
+    }
+
+    /**
+     * Alinha os armazéns a products.stock. Na inicialização, produtos que já têm linhas nos
+     * armazéns voltam a ter como total a soma delas (decrementos não gravados antes de uma parada).
+     * O que sobra de diferença (produtos novos ou importados) é acrescentado em partes iguais entre
+     * os armazéns ou retirado dos que têm mais saldo.
+     */
+    public void reconcile(boolean recoverTotals) {
+        flushLock.lock();
+        try {
+            flush();
+            if (!loadWarehouses()) {
+                log.warn("Nenhum armazém cadastrado; pedidos no modo WAREHOUSE serão recusados por falta de estoque");
+                return;
+            }
+
+            int[] adjusted = new int[1];
+            transactionTemplate.executeWithoutResult(status -> {
+                if (recoverTotals) {
+                    int recovered = jdbcTemplate.update(
+                            "UPDATE products p SET stock = (SELECT SUM(w.quantity) FROM warehouse_stock w WHERE w.product_id = p.id), " +
+                            "version = version + 1 " +
+                            "WHERE EXISTS (SELECT 1 FROM warehouse_stock w WHERE w.product_id = p.id) " +
+                            "AND stock <> (SELECT SUM(w.quantity) FROM warehouse_stock w WHERE w.product_id = p.id)");
+                    if (recovered > 0) {
+                        log.info("Total de estoque de {} produtos recalculado a partir dos armazéns", recovered);
+                    }
+                    recoverSold();
+                }
+                adjusted[0] = adjustWarehouses();
+            });
+            log.info("{} armazéns; estoque de {} produtos distribuído ou ajustado", warehouseIds.length, adjusted[0]);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private boolean loadWarehouses() {
+        long[] ids = jdbcTemplate.queryForList("SELECT id FROM warehouses ORDER BY id", Long.class).stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+        warehouseIds = ids;
+        allocator = ids.length == 0 ? null : new WarehouseAllocator(ids.length, parallelThreshold);
+        return ids.length > 0;
+    }
+
+    // O estoque desses pedidos já está nos armazéns; só o vendido não chegou a ser gravado antes de uma parada
+    private void recoverSold() {
+        List<Object[]> soldArgs = jdbcTemplate.query(
+                "SELECT oi.product_id, SUM(oi.quantity) FROM order_items oi " +
+                "JOIN orders o ON o.id = oi.order_id " +
+                "WHERE o.stock_synced = FALSE " +
+                "GROUP BY oi.product_id ORDER BY oi.product_id",
+                (rs, rowNum) -> new Object[]{rs.getInt(2), rs.getLong(1)});
+        if (soldArgs.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("UPDATE products SET sold_quantity = sold_quantity + ?, version = version + 1 WHERE id = ?", soldArgs);
+        int orders = jdbcTemplate.update("UPDATE orders SET stock_synced = TRUE WHERE stock_synced = FALSE");
+        log.info("Vendido de {} pedidos não gravados recuperado ({} produtos)", orders, soldArgs.size());
+    }
+
+    private int adjustWarehouses() {
+        long[] warehouses = warehouseIds;
+        Map<Long, Integer> pending = new TreeMap<>();
+        pendingLock.lock();
+        try {
+            pendingTotals.forEach((productId, quantity) -> pending.put(productId, quantity));
+        } finally {
+            pendingLock.unlock();
+        }
+
+        List<Object[]> batch = new ArrayList<>();
+        int[] adjusted = new int[1];
+        ProductRows current = new ProductRows(warehouses.length);
+        jdbcTemplate.query("SELECT p.id, p.stock, w.warehouse_id, w.quantity FROM products p " +
+                        "LEFT JOIN warehouse_stock w ON w.product_id = p.id ORDER BY p.id",
+                (ResultSet rs) -> {
+                    long productId = rs.getLong(1);
+                    if (productId != current.productId) {
+                        adjusted[0] += current.adjust(warehouses, pending, batch);
+                        current.reset(productId, rs.getInt(2));
+                        if (batch.size() >= RECONCILE_BATCH_SIZE) {
+                            writeWarehouseRows(batch);
+                        }
+                    }
+                    current.add(warehouses, rs);
+                });
+        adjusted[0] += current.adjust(warehouses, pending, batch);
+        writeWarehouseRows(batch);
+        return adjusted[0];
+    }
+
+    private void writeWarehouseRows(List<Object[]> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT, batch);
+        batch.clear();
+    }
+
+    // Linhas de um produto no resultado ordenado do reconcile
+    private static final class ProductRows {
+
+        private final int[] quantities;
+        private long productId = -1;
+        private int stock;
+
+        private ProductRows(int warehouses) {
+            this.quantities = new int[warehouses];
+        }
+
+        private void reset(long productId, int stock) {
+            this.productId = productId;
+            this.stock = stock;
+            Arrays.fill(quantities, 0);
+        }
+
+        private void add(long[] warehouses, ResultSet rs) throws SQLException {
+            long warehouseId = rs.getLong(3);
+            if (!rs.wasNull()) {
+                int w = Arrays.binarySearch(warehouses, warehouseId);
+                if (w >= 0) {
+                    quantities[w] = rs.getInt(4);
+                }
+            }
+        }
+
+        // Decrementos ainda não gravados já saíram dos armazéns, mas não de products.stock
+        private int adjust(long[] warehouses, Map<Long, Integer> pending, List<Object[]> batch) {
+            if (productId < 0) {
+                return 0;
+            }
+            int sum = 0;
+            for (int quantity : quantities) {
+                sum += quantity;
+            }
+            int target = Math.max(0, stock - pending.getOrDefault(productId, 0));
+            int diff = target - sum;
+            if (diff == 0) {
+                return 0;
+            }
+
+            int[] updated = quantities.clone();
+            if (diff > 0) {
+                for (int w = 0; w < updated.length; w++) {
+                    updated[w] += diff / updated.length + (w < diff % updated.length ? 1 : 0);
+                }
+            } else {
+                for (int remove = -diff; remove > 0; ) {
+                    int largest = 0;
+                    for (int w = 1; w < updated.length; w++) {
+                        if (updated[w] > updated[largest]) {
+                            largest = w;
+                        }
+                    }
+                    int take = Math.min(remove, updated[largest]);
+                    updated[largest] -= take;
+                    remove -= take;
+                }
+            }
+
+            for (int w = 0; w < updated.length; w++) {
+                if (updated[w] != quantities[w]) {
+                    batch.add(new Object[]{productId, warehouses[w], updated[w] - quantities[w]});
+                }
+            }
+            return 1;
+        }
+    }
+
+    // Os armazéns já cadastrados valem desde já: o servidor web aceita pedidos antes do
+    // ApplicationReadyEvent. O reconcile de lá ainda relê a lista (a carga inicial os cadastra num runner).
+    @Override
+    public void start() {
+        if (loadWarehouses()) {
+            log.info("{} armazéns carregados", warehouseIds.length);
+        }
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "warehouse-totals-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (flusher != null) {
+            flusher.shutdown();
+            try {
+                flusher.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Inicia antes e para depois do servidor web
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+}
@@ -0,0 +1,105 @@
+package application.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Métricas do checkout: um timer por fase do OrderService.createOrder (orders.create.phase, tag phase),
+ * contadores de pedidos recusados (orders.rejected, tag reason) e o tamanho dos lotes do group commit.
+ */
+@Component
+public class OrderMetrics {
+
+    public enum Phase {
+        LOAD_PRODUCTS,
+        VALIDATE_STOCK,
+        DECREMENT_STOCK,
+        PERSIST,
+        TO_DTO,
+        // Flush do Hibernate + commit, que acontecem depois que o createOrder retorna
+        COMMIT
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Phase, Timer> phases = new EnumMap<>(Phase.class);
+    private final Counter insufficientStock;
+    private final Counter optimisticLock;
+    private final DistributionSummary batchSize;
+
+    @Autowired
+    public OrderMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        for (Phase phase : Phase.values()) {
+            phases.put(phase, Timer.builder("orders.create.phase")
+                    .description("Duração de cada fase do checkout")
+                    .tag("phase", phase.name().toLowerCase(Locale.ROOT))
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+        this.insufficientStock = rejected("insufficient_stock");
+        this.optimisticLock = rejected("optimistic_lock");
+        this.batchSize = DistributionSummary.builder("orders.group.commit.batch.size")
+                .description("Pedidos gravados por transação no group commit")
+                .register(meterRegistry);
+    }
+
+    public <T> T time(Phase phase, Supplier<T> step) {
+        return phases.get(phase).record(step);
+    }
+
+    public void time(Phase phase, Runnable step) {
+        phases.get(phase).record(step);
+    }
+
+    // Mede do beforeCommit ao fim da transação corrente; sem transação (testes unitários) não mede nada
+    public void timeCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private Timer.Sample sample;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                sample = Timer.start(meterRegistry);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (sample != null) {
+                    sample.stop(phases.get(Phase.COMMIT));
+                }
+            }
+        });
+    }
+
+    public void batchSize(int orders) {
+        batchSize.record(orders);
+    }
+
+    public void insufficientStock() {
+        insufficientStock.increment();
+    }
+
+    public void optimisticLockConflict() {
+        optimisticLock.increment();
+    }
+
+    private Counter rejected(String reason) {
+        return Counter.builder("orders.rejected")
+                .description("Pedidos recusados com 409")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
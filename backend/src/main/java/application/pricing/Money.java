@@ -0,0 +1,67 @@
+package application.pricing;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Aritmética de dinheiro em ponto fixo: valores em centavos num long, sem alocação. Conversão
+ * para BigDecimal só na fronteira (entidades e JSON), com duas casas decimais. Arredondamento
+ * sempre HALF_EVEN, o mesmo que o cálculo com BigDecimal usava. Estouro de long lança
+ * ArithmeticException em vez de dar a volta.
+ */
+public final class Money {
+
+    public static final int SCALE = 2;
+
+    // Descontos em pontos-base: 1250 = 12,50%
+    public static final int BASIS_POINTS = 10_000;
+
+    private static final long[] CENTS_PER_UNIT_OF_SCALE = {100, 10, 1};
+
+    private Money() {
+    }
+
+    public static long toCents(BigDecimal amount) {
+        if (isExactInCents(amount)) {
+            return Math.multiplyExact(amount.unscaledValue().longValue(), CENTS_PER_UNIT_OF_SCALE[amount.scale()]);
+        }
+        return amount.setScale(SCALE, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toBigDecimal(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    public static long multiply(long cents, int quantity) {
+        return Math.multiplyExact(cents, quantity);
+    }
+
+    public static long add(long cents, long otherCents) {
+        return Math.addExact(cents, otherCents);
+    }
+
+    // Preço vezes quantidade, arredondado uma única vez no total da linha (e não no preço unitário)
+    public static long lineTotal(BigDecimal unitPrice, int quantity) {
+        if (isExactInCents(unitPrice)) {
+            return multiply(toCents(unitPrice), quantity);
+        }
+        return toCents(unitPrice.multiply(BigDecimal.valueOf(quantity)));
+    }
+
+    // Valor com desconto, arredondado HALF_EVEN; só para valores não negativos
+    public static long percentOff(long cents, int basisPoints) {
+        long scaled = multiply(cents, BASIS_POINTS - basisPoints);
+        long quotient = scaled / BASIS_POINTS;
+        long twiceRemainder = (scaled % BASIS_POINTS) * 2;
+        if (twiceRemainder > BASIS_POINTS || (twiceRemainder == BASIS_POINTS && (quotient & 1) == 1)) {
+            quotient++;
+        }
+        return quotient;
+    }
+
+    // Até duas casas (o caso dos preços lidos do banco, NUMERIC(12,2)) o valor é exato em centavos
+    private static boolean isExactInCents(BigDecimal amount) {
+        int scale = amount.scale();
+        return scale >= 0 && scale <= SCALE && amount.precision() <= 16;
+    }
+}
@@ -0,0 +1,99 @@
+package application.pricing;
+
+import application.dto.PriceRuleDTO;
+import application.entity.PriceRule;
+import application.event.PriceRulesChangedEvent;
+import application.exception.InvalidPriceRuleException;
+import application.repository.PriceRuleRepository;
+import application.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Service
+public class PriceRuleService {
+
+    private static final BigDecimal MAX_DISCOUNT_PERCENT = new BigDecimal("100");
+
+    private final PriceRuleRepository priceRuleRepository;
+    private final ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public PriceRuleService(PriceRuleRepository priceRuleRepository, ProductRepository productRepository,
+                            ApplicationEventPublisher eventPublisher) {
+        this.priceRuleRepository = priceRuleRepository;
+        this.productRepository = productRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional(readOnly = true)
+    public List<PriceRuleDTO> findRules() {
+        return priceRuleRepository.findAllByOrderByIdAsc().stream()
+                .map(this::convertToDTO)
+                .toList();
+    }
+
+    @Transactional
+    public PriceRuleDTO createRule(PriceRuleDTO request) {
+        if (!productRepository.existsById(request.productId())) {
+            throw new InvalidPriceRuleException("Produto não encontrado: " + request.productId());
+        }
+
+        PriceRule rule = switch (request.type()) {
+            case TIER -> {
+                if (request.minQuantity() == null || request.minQuantity() < 2) {
+                    throw new InvalidPriceRuleException("Faixa de quantidade deve começar em 2 ou mais unidades");
+                }
+                yield PriceRule.tier(request.productId(), request.minQuantity(), validDiscount(request.discountPercent()));
+            }
+            case PROMOTION -> {
+                if (request.startsAt() == null || request.endsAt() == null || !request.endsAt().isAfter(request.startsAt())) {
+                    throw new InvalidPriceRuleException("Promoção precisa de início e fim, com o fim depois do início");
+                }
+                yield PriceRule.promotion(request.productId(), validDiscount(request.discountPercent()),
+                        request.startsAt(), request.endsAt());
+            }
+            case CUSTOMER_PRICE -> {
+                if (request.customerId() == null) {
+                    throw new InvalidPriceRuleException("Cliente é obrigatório para preço por cliente");
+                }
+                if (request.price() == null || request.price().signum() <= 0 || request.price().scale() > Money.SCALE) {
+                    throw new InvalidPriceRuleException("Preço deve ser maior que zero, com até duas casas decimais");
+                }
+                yield PriceRule.customerPrice(request.productId(), request.customerId(), request.price());
+            }
+        };
+
+        PriceRule saved = priceRuleRepository.save(rule);
+        eventPublisher.publishEvent(new PriceRulesChangedEvent());
+        return convertToDTO(saved);
+    }
+
+    @Transactional
+    public boolean deleteRule(Long id) {
+        if (!priceRuleRepository.existsById(id)) {
+            return false;
+        }
+        priceRuleRepository.deleteById(id);
+        eventPublisher.publishEvent(new PriceRulesChangedEvent());
+        return true;
+    }
+
+    private static BigDecimal validDiscount(BigDecimal percent) {
+        if (percent == null || percent.signum() <= 0 || percent.compareTo(MAX_DISCOUNT_PERCENT) >= 0
+                || percent.stripTrailingZeros().scale() > 2) {
+            throw new InvalidPriceRuleException("Desconto deve estar entre 0 e 100%, com até duas casas decimais");
+        }
+        return percent;
+    }
+
+    private PriceRuleDTO convertToDTO(PriceRule rule) {
+        return new PriceRuleDTO(rule.getId(), rule.getType(), rule.getProductId(), rule.getMinQuantity(),
+                rule.getDiscountPercent(), rule.getStartsAt(), rule.getEndsAt(), rule.getCustomerId(), rule.getPrice());
+    }
+}
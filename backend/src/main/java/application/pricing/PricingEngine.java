@@ -0,0 +1,71 @@
+package application.pricing;
+
+import application.event.PriceRulesChangedEvent;
+import application.repository.PriceRuleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Mantém o PricingSnapshot vigente. As regras são lidas do banco e compiladas na inicialização
+ * e a cada alteração (após o commit); o checkout só lê o snapshot atual, numa leitura volátil,
+ * e nunca consulta o banco por preço.
+ */
+@Component
+public class PricingEngine implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(PricingEngine.class);
+
+    private final PriceRuleRepository priceRuleRepository;
+    private final Clock clock = Clock.systemDefaultZone();
+    private final AtomicLong generations = new AtomicLong();
+    private final AtomicReference<Published> published = new AtomicReference<>(new Published(0, PricingSnapshot.EMPTY));
+
+    @Autowired
+    public PricingEngine(PriceRuleRepository priceRuleRepository) {
+        this.priceRuleRepository = priceRuleRepository;
+    }
+
+    public PricingSnapshot snapshot() {
+        return published.get().snapshot();
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        reload();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPriceRulesChanged(PriceRulesChangedEvent event) {
+        reload();
+    }
+
+    // Sem monitor em volta da consulta JPA (prenderia a carrier thread com virtual threads): recompilações
+    // podem correr em paralelo, e a geração, tirada antes da leitura, impede que uma mais antiga sobrescreva a mais nova
+    public void reload() {
+        long generation = generations.incrementAndGet();
+        long start = System.nanoTime();
+        PricingSnapshot compiled = PricingSnapshot.compile(
+                priceRuleRepository.findNotExpired(LocalDateTime.now(clock)), clock.getZone());
+        Published current = published.accumulateAndGet(new Published(generation, compiled),
+                (previous, candidate) -> previous.generation() > candidate.generation() ? previous : candidate);
+        if (current.generation() != generation) {
+            log.debug("Regras de preço da geração {} descartadas: a geração {} já foi publicada",
+                    generation, current.generation());
+            return;
+        }
+        log.info("Regras de preço compiladas: {} regras para {} produtos em {} ms",
+                compiled.getRuleCount(), compiled.getProductCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private record Published(long generation, PricingSnapshot snapshot) {
+    }
+}
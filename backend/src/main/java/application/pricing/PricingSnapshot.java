@@ -0,0 +1,150 @@
+package application.pricing;
+
+import application.entity.PriceRule;
+
+import java.math.BigDecimal;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Regras de preço compiladas para consulta em memória, sem acesso ao banco: por produto,
+ * as faixas de quantidade ordenadas, as promoções com a janela em epoch millis e os preços por
+ * cliente. Imutável: o PricingEngine troca a instância inteira quando as regras mudam, então quem
+ * leu um snapshot nunca vê metade de uma alteração.
+ */
+public final class PricingSnapshot {
+
+    // Nenhuma regra se aplica: vale o preço de tabela do produto
+    public static final long LIST_PRICE = -1;
+
+    public static final PricingSnapshot EMPTY = new PricingSnapshot(Map.of(), 0);
+
+    private final Map<Long, ProductRules> rulesByProduct;
+    private final int ruleCount;
+
+    private PricingSnapshot(Map<Long, ProductRules> rulesByProduct, int ruleCount) {
+        this.rulesByProduct = rulesByProduct;
+        this.ruleCount = ruleCount;
+    }
+
+    public static PricingSnapshot compile(Collection<PriceRule> rules, ZoneId zone) {
+        List<PriceRule> ordered = new ArrayList<>(rules);
+        ordered.sort(Comparator.comparing(PriceRule::getId, Comparator.nullsLast(Comparator.naturalOrder())));
+
+        Map<Long, List<PriceRule>> byProduct = new HashMap<>();
+        for (PriceRule rule : ordered) {
+            byProduct.computeIfAbsent(rule.getProductId(), id -> new ArrayList<>()).add(rule);
+        }
+
+        Map<Long, ProductRules> compiled = new HashMap<>(byProduct.size() * 2);
+        byProduct.forEach((productId, productRules) -> compiled.put(productId, ProductRules.compile(productRules, zone)));
+        return new PricingSnapshot(compiled, ordered.size());
+    }
+
+    public int getRuleCount() {
+        return ruleCount;
+    }
+
+    public int getProductCount() {
+        return rulesByProduct.size();
+    }
+
+    /**
+     * Preço unitário em centavos para a quantidade total do produto no pedido, ou LIST_PRICE.
+     * Descontos não acumulam: vale o maior entre faixa e promoção, aplicado sobre o preço do
+     * cliente, se houver, ou sobre o de tabela.
+     */
+    public long unitPriceCents(Long productId, BigDecimal listPrice, int quantity, Long customerId, long nowMillis) {
+        ProductRules rules = rulesByProduct.get(productId);
+        if (rules == null) {
+            return LIST_PRICE;
+        }
+
+        int discount = rules.discount(quantity, nowMillis);
+        Long customerPrice = customerId == null ? null : rules.customerPrices.get(customerId);
+        if (discount == 0 && customerPrice == null) {
+            return LIST_PRICE;
+        }
+
+        long base = customerPrice != null ? customerPrice : Money.toCents(listPrice);
+        return discount == 0 ? base : Money.percentOff(base, discount);
+    }
+
+    private static final class ProductRules {
+
+        private final int[] tierQuantities;
+        private final int[] tierDiscounts;
+        private final long[] promotionStarts;
+        private final long[] promotionEnds;
+        private final int[] promotionDiscounts;
+        private final Map<Long, Long> customerPrices;
+
+        private ProductRules(int[] tierQuantities, int[] tierDiscounts, long[] promotionStarts, long[] promotionEnds,
+                             int[] promotionDiscounts, Map<Long, Long> customerPrices) {
+            this.tierQuantities = tierQuantities;
+            this.tierDiscounts = tierDiscounts;
+            this.promotionStarts = promotionStarts;
+            this.promotionEnds = promotionEnds;
+            this.promotionDiscounts = promotionDiscounts;
+            this.customerPrices = customerPrices;
+        }
+
+        private static ProductRules compile(List<PriceRule> rules, ZoneId zone) {
+            List<PriceRule> tiers = new ArrayList<>();
+            List<PriceRule> promotions = new ArrayList<>();
+            Map<Long, Long> customerPrices = new HashMap<>();
+            for (PriceRule rule : rules) {
+                switch (rule.getType()) {
+                    case TIER -> tiers.add(rule);
+                    case PROMOTION -> promotions.add(rule);
+                    // A regra mais recente (maior id) para o mesmo cliente prevalece
+                    case CUSTOMER_PRICE -> customerPrices.put(rule.getCustomerId(), Money.toCents(rule.getPrice()));
+                }
+            }
+            tiers.sort(Comparator.comparing(PriceRule::getMinQuantity));
+
+            int[] tierQuantities = new int[tiers.size()];
+            int[] tierDiscounts = new int[tiers.size()];
+            for (int i = 0; i < tiers.size(); i++) {
+                tierQuantities[i] = tiers.get(i).getMinQuantity();
+                tierDiscounts[i] = basisPoints(tiers.get(i).getDiscountPercent());
+            }
+
+            long[] promotionStarts = new long[promotions.size()];
+            long[] promotionEnds = new long[promotions.size()];
+            int[] promotionDiscounts = new int[promotions.size()];
+            for (int i = 0; i < promotions.size(); i++) {
+                PriceRule promotion = promotions.get(i);
+                promotionStarts[i] = promotion.getStartsAt().atZone(zone).toInstant().toEpochMilli();
+                promotionEnds[i] = promotion.getEndsAt().atZone(zone).toInstant().toEpochMilli();
+                promotionDiscounts[i] = basisPoints(promotion.getDiscountPercent());
+            }
+
+            return new ProductRules(tierQuantities, tierDiscounts, promotionStarts, promotionEnds,
+                    promotionDiscounts, Map.copyOf(customerPrices));
+        }
+
+        private static int basisPoints(BigDecimal percent) {
+            return percent.movePointRight(2).intValueExact();
+        }
+
+        // Maior desconto aplicável, em pontos-base
+        private int discount(int quantity, long nowMillis) {
+            int best = 0;
+            for (int i = 0; i < tierQuantities.length && tierQuantities[i] <= quantity; i++) {
+                best = Math.max(best, tierDiscounts[i]);
+            }
+            for (int i = 0; i < promotionDiscounts.length; i++) {
+                if (promotionStarts[i] <= nowMillis && nowMillis < promotionEnds[i]) {
+                    best = Math.max(best, promotionDiscounts[i]);
+                }
+            }
+            return best;
+        }
+    }
+}
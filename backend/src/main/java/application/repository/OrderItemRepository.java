@@ -10,10 +10,10 @@ import java.util.List;
 @Repository
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
 
-    @Query(value = "SELECT p.name, SUM(oi.quantity) as total_sold " +
-                   "FROM order_items oi " +
-                   "JOIN products p ON oi.product_id = p.id " +
-                   "GROUP BY p.id, p.name " +
+    // products.sold_quantity é mantido no checkout; não varre order_items
+    @Query(value = "SELECT p.name, p.sold_quantity as total_sold " +
+                   "FROM products p " +
+                   "WHERE p.sold_quantity > 0 " +
                    "ORDER BY total_sold DESC " +
                    "LIMIT 3", nativeQuery = true)
     List<Object[]> findTop3MostSoldProducts();
@@ -1,10 +1,30 @@
 package application.repository;
 
 import application.entity.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
-}
 
+    @Query("SELECT o FROM Order o LEFT JOIN FETCH o.items i LEFT JOIN FETCH i.product " +
+           "WHERE o.id = :id ORDER BY i.id")
+    Optional<Order> findWithItemsById(@Param("id") Long id);
+
+    // Pagina só os ids: com fetch join de coleção o Hibernate aplicaria o LIMIT em memória
+    @Query(value = "SELECT o.id FROM Order o ORDER BY o.id DESC",
+           countQuery = "SELECT COUNT(o) FROM Order o")
+    Page<Long> findOrderIds(Pageable pageable);
+
+    @Query("SELECT o FROM Order o LEFT JOIN FETCH o.items i LEFT JOIN FETCH i.product " +
+           "WHERE o.id IN :ids ORDER BY o.id DESC, i.id")
+    List<Order> findWithItemsByIdIn(@Param("ids") Collection<Long> ids);
+}
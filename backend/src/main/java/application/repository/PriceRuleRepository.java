@@ -0,0 +1,20 @@
+package application.repository;
+
+import application.entity.PriceRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface PriceRuleRepository extends JpaRepository<PriceRule, Long> {
+
+    // Promoções já encerradas não entram no snapshot
+    @Query("SELECT r FROM PriceRule r WHERE r.endsAt IS NULL OR r.endsAt > :now")
+    List<PriceRule> findNotExpired(@Param("now") LocalDateTime now);
+
+    List<PriceRule> findAllByOrderByIdAsc();
+}
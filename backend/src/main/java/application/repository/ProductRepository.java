@@ -1,21 +1,93 @@
 package application.repository;
 
+import application.dto.ProductDTO;
+import application.dto.ProductExportDTO;
 import application.entity.Product;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
 
-    @Query("SELECT p FROM Product p WHERE p.active = true AND " +
+    // Leituras do catálogo projetam direto no DTO: nada entra no contexto de persistência
+    String PRODUCT_DTO = "SELECT new application.dto.ProductDTO(p.id, p.name, p.price, p.stock, p.active) FROM Product p ";
+
+    @Query(value = PRODUCT_DTO + "WHERE p.active = true AND " +
+           "(:search IS NULL OR :search = '' OR LOWER(p.name) LIKE LOWER(CONCAT('%', :search, '%')))",
+           countQuery = "SELECT COUNT(p) FROM Product p WHERE p.active = true AND " +
            "(:search IS NULL OR :search = '' OR LOWER(p.name) LIKE LOWER(CONCAT('%', :search, '%')))")
-    Page<Product> findActiveProductsByNameContaining(@Param("search") String search, Pageable pageable);
+    Page<ProductDTO> findActiveProductsByNameContaining(@Param("search") String search, Pageable pageable);
 
-    @Query("SELECT p FROM Product p WHERE p.active = true")
-    Page<Product> findAllActiveProducts(Pageable pageable);
-}
+    @Query(value = PRODUCT_DTO + "WHERE p.active = true",
+           countQuery = "SELECT COUNT(p) FROM Product p WHERE p.active = true")
+    Page<ProductDTO> findAllActiveProducts(Pageable pageable);
+
+    @Query(PRODUCT_DTO + "WHERE p.active = true AND p.id = :id")
+    Optional<ProductDTO> findActiveProductById(@Param("id") Long id);
+
+    @Query(PRODUCT_DTO + "WHERE p.id IN :ids ORDER BY p.id")
+    List<ProductDTO> findProductsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Paginação por cursor: busca pela PK a partir do último id, sem OFFSET nem COUNT
+    @Query(PRODUCT_DTO + "WHERE p.active = true AND p.id > :after ORDER BY p.id")
+    List<ProductDTO> findActiveProductsAfter(@Param("after") Long after, Limit limit);
+
+    @Query(PRODUCT_DTO + "WHERE p.active = true AND p.id > :after AND " +
+           "LOWER(p.name) LIKE LOWER(CONCAT('%', :search, '%')) ORDER BY p.id")
+    List<ProductDTO> findActiveProductsByNameContainingAfter(@Param("search") String search,
+                                                             @Param("after") Long after, Limit limit);
 
+    // Exportação completa por cursor: sem OFFSET nem COUNT, lida em blocos de fetch size.
+    // Precisa de uma transação aberta enquanto o Stream é consumido
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new application.dto.ProductExportDTO(p.id, p.sku, p.name, p.price, p.stock) FROM Product p " +
+           "WHERE p.active = true ORDER BY p.id")
+    Stream<ProductExportDTO> streamActiveProducts();
+
+    @Query("SELECT COUNT(p) FROM Product p WHERE p.active = true")
+    long countActiveProducts();
+
+    @Query("SELECT COUNT(p) FROM Product p WHERE p.active = true AND " +
+           "LOWER(p.name) LIKE LOWER(CONCAT('%', :search, '%'))")
+    long countActiveProductsByNameContaining(@Param("search") String search);
+
+    // Limpa o contexto: os produtos já carregados na transação não ficam com o estoque antigo
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.stock = p.stock - :quantity, p.version = p.version + 1 " +
+           "WHERE p.id = :id AND p.stock >= :quantity")
+    int decrementStockIfAvailable(@Param("id") Long id, @Param("quantity") int quantity);
+
+    @Modifying
+    @Query("UPDATE Product p SET p.stock = p.stock + :quantity, p.version = p.version + 1 WHERE p.id = :id")
+    int incrementStock(@Param("id") Long id, @Param("quantity") int quantity);
+
+    // Checkout no modo ATOMIC: baixa o estoque e soma o vendido no mesmo UPDATE condicional
+    // SQL nativo: no JPQL o mesmo parâmetro não pode ser Integer (stock) e Long (soldQuantity) ao mesmo tempo
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE products SET stock = stock - :quantity, sold_quantity = sold_quantity + :quantity, " +
+           "version = version + 1 WHERE id = :id AND stock >= :quantity", nativeQuery = true)
+    int sellIfAvailable(@Param("id") Long id, @Param("quantity") int quantity);
+
+    // Reserva de carrinho confirmada no modo ATOMIC: o estoque já saiu na reserva, só o vendido sobe
+    @Modifying
+    @Query(value = "UPDATE products SET sold_quantity = sold_quantity + :quantity WHERE id = :id", nativeQuery = true)
+    int addSoldQuantity(@Param("id") Long id, @Param("quantity") int quantity);
+
+    @Query("SELECT p.stock FROM Product p WHERE p.id = :id")
+    Integer findStockById(@Param("id") Long id);
+}
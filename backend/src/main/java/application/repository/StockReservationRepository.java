@@ -0,0 +1,16 @@
+package application.repository;
+
+import application.entity.StockReservation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface StockReservationRepository extends JpaRepository<StockReservation, String> {
+
+    @Query("SELECT DISTINCT r FROM StockReservation r JOIN FETCH r.items WHERE r.id = :id")
+    Optional<StockReservation> findWithItemsById(@Param("id") String id);
+}
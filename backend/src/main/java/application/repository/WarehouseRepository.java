@@ -0,0 +1,9 @@
+package application.repository;
+
+import application.entity.Warehouse;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface WarehouseRepository extends JpaRepository<Warehouse, Long> {
+}
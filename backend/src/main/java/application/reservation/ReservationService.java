@@ -0,0 +1,323 @@
+package application.reservation;
+
+import application.dto.OrderItemRequestDTO;
+import application.dto.OrderRequestDTO;
+import application.dto.OrderResponseDTO;
+import application.dto.ReservationDTO;
+import application.dto.ReservationItemDTO;
+import application.dto.StockErrorDTO;
+import application.entity.OrderAllocation;
+import application.entity.StockReservation;
+import application.entity.StockReservationItem;
+import application.exception.InsufficientStockException;
+import application.repository.StockReservationRepository;
+import application.service.OrderService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reservas de carrinho: o estoque sai na reserva (o catálogo já mostra o disponível, descontado o
+ * que está reservado) e a confirmação só cria o pedido. Cada reserva ativa tem uma entrada num
+ * TimingWheel em memória; uma única thread avança a roda e devolve o estoque das que vencem, sem
+ * tarefa agendada por reserva nem varredura do banco. As reservas ficam em stock_reservations e
+ * voltam para a roda na inicialização.
+ */
+@Service
+public class ReservationService implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ReservationService.class);
+    private static final int EXPIRY_BATCH_SIZE = 100;
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(1);
+
+    private final StockReservationRepository reservationRepository;
+    private final OrderService orderService;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration ttl;
+    private final Duration maxHold;
+    private final TimingWheel<String> wheel;
+    private final Map<String, TimingWheel.Timeout<String>> timeouts = new ConcurrentHashMap<>();
+    private final Counter expired;
+
+    private ScheduledExecutorService ticker;
+    private volatile boolean running;
+
+    @Autowired
+    public ReservationService(StockReservationRepository reservationRepository,
+                              OrderService orderService,
+                              TransactionTemplate transactionTemplate,
+                              JdbcTemplate jdbcTemplate,
+                              MeterRegistry meterRegistry,
+                              @Value("${ecommerce.reservations.ttl-seconds:900}") long ttlSeconds,
+                              @Value("${ecommerce.reservations.max-hold-seconds:3600}") long maxHoldSeconds,
+                              @Value("${ecommerce.reservations.tick-ms:100}") long tickMs) {
+        this.reservationRepository = reservationRepository;
+        this.orderService = orderService;
+        this.transactionTemplate = transactionTemplate;
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.maxHold = Duration.ofSeconds(Math.max(ttlSeconds, maxHoldSeconds));
+        this.wheel = new TimingWheel<>(tickMs, System.currentTimeMillis());
+
+        this.expired = Counter.builder("reservations.expired")
+                .description("Reservas de carrinho vencidas com o estoque devolvido")
+                .register(meterRegistry);
+        Gauge.builder("reservations.active", wheel, TimingWheel::size)
+                .description("Reservas de carrinho aguardando confirmação")
+                .register(meterRegistry);
+    }
+
+    public ReservationDTO reserve(OrderRequestDTO request) {
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (OrderItemRequestDTO item : request.getItems()) {
+            quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+        }
+
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        StockReservation reservation = new StockReservation(UUID.randomUUID().toString(), request.getCustomerId(),
+                now, now.plus(ttl));
+        transactionTemplate.executeWithoutResult(status -> {
+            List<OrderAllocation> allocations = new ArrayList<>();
+            List<StockErrorDTO> errors = orderService.holdStock(quantities, allocations::add);
+            if (!errors.isEmpty()) {
+                throw new InsufficientStockException(errors);
+            }
+
+            if (allocations.isEmpty()) {
+                quantities.forEach((productId, quantity) ->
+                        reservation.addItem(new StockReservationItem(productId, null, quantity)));
+            } else {
+                for (OrderAllocation allocation : allocations) {
+                    reservation.addItem(new StockReservationItem(allocation.getProductId(),
+                            allocation.getWarehouseId(), allocation.getQuantity()));
+                }
+            }
+            reservationRepository.save(reservation);
+        });
+
+        schedule(reservation.getId(), reservation.getExpiresAt());
+        return toDTO(reservation);
+    }
+
+    public Optional<ReservationDTO> findReservation(String id) {
+        return reservationRepository.findWithItemsById(id)
+                .filter(ReservationService::isActive)
+                .map(this::toDTO);
+    }
+
+    // Novo prazo de ttl a partir de agora, sem passar de max-hold desde a criação
+    public Optional<ReservationDTO> extend(String id) {
+        Optional<StockReservation> extended = transactionTemplate.execute(status ->
+                reservationRepository.findWithItemsById(id)
+                        .filter(ReservationService::isActive)
+                        .map(reservation -> {
+                            LocalDateTime limit = reservation.getCreatedAt().plus(maxHold);
+                            LocalDateTime next = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS).plus(ttl);
+                            next = next.isAfter(limit) ? limit : next;
+                            if (next.isAfter(reservation.getExpiresAt())) {
+                                reservation.setExpiresAt(next);
+                            }
+                            return reservation;
+                        }));
+
+        extended.ifPresent(reservation -> reschedule(reservation.getId(), reservation.getExpiresAt()));
+        return extended.map(this::toDTO);
+    }
+
+    // O estoque já foi separado; se a reserva vencer, for liberada ou confirmada ao mesmo tempo, o @Version decide
+    public Optional<OrderResponseDTO> confirm(String id) {
+        Optional<OrderResponseDTO> order = transactionTemplate.execute(status ->
+                reservationRepository.findWithItemsById(id)
+                        .filter(ReservationService::isActive)
+                        .map(reservation -> {
+                            OrderResponseDTO created = orderService.createReservedOrder(
+                                    orderRequest(reservation), allocations(reservation));
+                            reservationRepository.delete(reservation);
+                            return created;
+                        }));
+
+        order.ifPresent(created -> cancel(id));
+        return order;
+    }
+
+    public boolean release(String id) {
+        boolean released = Boolean.TRUE.equals(transactionTemplate.execute(status ->
+                reservationRepository.findWithItemsById(id)
+                        .filter(ReservationService::isActive)
+                        .map(reservation -> {
+                            orderService.releaseStock(quantities(reservation), allocations(reservation));
+                            reservationRepository.delete(reservation);
+                            return true;
+                        })
+                        .orElse(false)));
+
+        if (released) {
+            cancel(id);
+        }
+        return released;
+    }
+
+    void tick() {
+        try {
+            List<String> due = wheel.advance(System.currentTimeMillis());
+            for (int from = 0; from < due.size(); from += EXPIRY_BATCH_SIZE) {
+                expire(due.subList(from, Math.min(due.size(), from + EXPIRY_BATCH_SIZE)));
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Falha ao processar reservas vencidas", ex);
+        }
+    }
+
+    // Um lote por transação; se o lote falhar (ex.: reserva confirmada ao mesmo tempo), uma a uma
+    private void expire(List<String> ids) {
+        for (String id : ids) {
+            timeouts.computeIfPresent(id, (key, timeout) -> wheel.isPending(timeout) ? timeout : null);
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> ids.forEach(this::expireOne));
+        } catch (RuntimeException batchFailure) {
+            for (String id : ids) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> expireOne(id));
+                } catch (RuntimeException ex) {
+                    log.warn("Falha ao expirar a reserva {}; nova tentativa em {} ms", id, RETRY_DELAY.toMillis(), ex);
+                    schedule(id, LocalDateTime.now().plus(RETRY_DELAY));
+                }
+            }
+        }
+    }
+
+    // Ainda ativa (prorrogada depois de sair da roda): volta para a roda com o prazo do banco
+    private void expireOne(String id) {
+        reservationRepository.findWithItemsById(id).ifPresent(reservation -> {
+            if (isActive(reservation)) {
+                timeouts.computeIfAbsent(id, key -> wheel.schedule(key, epochMillis(reservation.getExpiresAt())));
+                return;
+            }
+            orderService.releaseStock(quantities(reservation), allocations(reservation));
+            reservationRepository.delete(reservation);
+            expired.increment();
+        });
+    }
+
+    private void schedule(String id, LocalDateTime expiresAt) {
+        timeouts.put(id, wheel.schedule(id, epochMillis(expiresAt)));
+    }
+
+    private void reschedule(String id, LocalDateTime expiresAt) {
+        TimingWheel.Timeout<String> timeout = timeouts.get(id);
+        if (timeout == null || !wheel.reschedule(timeout, epochMillis(expiresAt))) {
+            schedule(id, expiresAt);
+        }
+    }
+
+    private void cancel(String id) {
+        TimingWheel.Timeout<String> timeout = timeouts.remove(id);
+        if (timeout != null) {
+            wheel.cancel(timeout);
+        }
+    }
+
+    private static boolean isActive(StockReservation reservation) {
+        return reservation.getExpiresAt().isAfter(LocalDateTime.now());
+    }
+
+    private static long epochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static Map<Long, Integer> quantities(StockReservation reservation) {
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (StockReservationItem item : reservation.getItems()) {
+            quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+        }
+        return quantities;
+    }
+
+    private static List<OrderAllocation> allocations(StockReservation reservation) {
+        List<OrderAllocation> allocations = new ArrayList<>();
+        for (StockReservationItem item : reservation.getItems()) {
+            if (item.getWarehouseId() != null) {
+                allocations.add(new OrderAllocation(item.getProductId(), item.getWarehouseId(), item.getQuantity()));
+            }
+        }
+        return allocations;
+    }
+
+    private static OrderRequestDTO orderRequest(StockReservation reservation) {
+        List<OrderItemRequestDTO> items = new ArrayList<>();
+        quantities(reservation).forEach((productId, quantity) -> items.add(new OrderItemRequestDTO(productId, quantity)));
+        OrderRequestDTO request = new OrderRequestDTO(items);
+        request.setCustomerId(reservation.getCustomerId());
+        return request;
+    }
+
+    private ReservationDTO toDTO(StockReservation reservation) {
+        List<ReservationItemDTO> items = new ArrayList<>();
+        quantities(reservation).forEach((productId, quantity) -> items.add(new ReservationItemDTO(productId, quantity)));
+        return new ReservationDTO(reservation.getId(), reservation.getCustomerId(), reservation.getExpiresAt(), items);
+    }
+
+    // Reservas de antes de uma parada voltam para a roda; as vencidas expiram no primeiro tick
+    @Override
+    public void start() {
+        jdbcTemplate.query("SELECT id, expires_at FROM stock_reservations",
+                (ResultSet rs) -> {
+                    schedule(rs.getString(1), rs.getTimestamp(2).toLocalDateTime());
+                });
+        if (!timeouts.isEmpty()) {
+            log.info("{} reservas de carrinho recarregadas", timeouts.size());
+        }
+
+        ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "reservation-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleWithFixedDelay(this::tick, wheel.getTickMillis(), wheel.getTickMillis(), TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (ticker != null) {
+            ticker.shutdown();
+            try {
+                ticker.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
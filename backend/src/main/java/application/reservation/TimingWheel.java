@@ -0,0 +1,210 @@
+package application.reservation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Timing wheel hierárquico: LEVELS rodas de WHEEL_SIZE posições, cada uma com listas duplamente
+ * encadeadas. A roda 0 avança um tick por posição; a roda n cobre WHEEL_SIZE^n ticks por posição e,
+ * quando a de baixo completa a volta, a posição corrente é redistribuída para as rodas inferiores.
+ * Agendar e cancelar são O(1) (inserir e desligar um nó); cada entrada desce no máximo LEVELS vezes.
+ * Não tem thread própria: quem usa chama advance com o relógio. Os métodos são sincronizados por um lock.
+ */
+public final class TimingWheel<T> {
+
+    static final int WHEEL_BITS = 6;
+    static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    static final int LEVELS = 4;
+    private static final long WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final long MAX_DELTA = (1L << (WHEEL_BITS * LEVELS)) - 1;
+
+    private final long tickMillis;
+    private final Timeout<T>[][] wheels;
+    private final ReentrantLock lock = new ReentrantLock();
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public TimingWheel(long tickMillis, long startMillis) {
+        if (tickMillis < 1) {
+            throw new IllegalArgumentException("tickMillis deve ser positivo");
+        }
+        this.tickMillis = tickMillis;
+        this.currentTick = Math.floorDiv(startMillis, tickMillis);
+        this.wheels = new Timeout[LEVELS][WHEEL_SIZE];
+        for (Timeout<T>[] wheel : wheels) {
+            for (int i = 0; i < WHEEL_SIZE; i++) {
+                wheel[i] = Timeout.sentinel();
+            }
+        }
+    }
+
+    public long getTickMillis() {
+        return tickMillis;
+    }
+
+    // Nunca expira antes do prazo: o prazo é arredondado para o tick seguinte
+    public Timeout<T> schedule(T value, long deadlineMillis) {
+        Timeout<T> timeout = new Timeout<>(value, Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis));
+        lock.lock();
+        try {
+            place(timeout);
+            size++;
+        } finally {
+            lock.unlock();
+        }
+        return timeout;
+    }
+
+    public boolean cancel(Timeout<T> timeout) {
+        lock.lock();
+        try {
+            if (timeout.prev == null) {
+                return false;
+            }
+            timeout.unlink();
+            size--;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Falso depois de expirar ou ser cancelada
+    public boolean isPending(Timeout<T> timeout) {
+        lock.lock();
+        try {
+            return timeout.prev != null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Remarca uma entrada ainda agendada; falso se ela já expirou ou foi cancelada
+    public boolean reschedule(Timeout<T> timeout, long deadlineMillis) {
+        lock.lock();
+        try {
+            if (timeout.prev == null) {
+                return false;
+            }
+            timeout.unlink();
+            timeout.deadlineTick = Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis);
+            place(timeout);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Processa os ticks até nowMillis e devolve os valores expirados, na ordem dos prazos
+     * (por tick). Vários ticks atrasados (pausa de GC, carga) são processados de uma vez.
+     */
+    public List<T> advance(long nowMillis) {
+        long targetTick = Math.floorDiv(nowMillis, tickMillis);
+        List<T> expired = new ArrayList<>();
+        lock.lock();
+        try {
+            while (currentTick < targetTick) {
+                currentTick++;
+                cascade();
+                Timeout<T> head = wheels[0][(int) (currentTick & WHEEL_MASK)];
+                for (Timeout<T> timeout = head.next; timeout != head; ) {
+                    Timeout<T> next = timeout.next;
+                    timeout.unlink();
+                    if (timeout.deadlineTick <= currentTick) {
+                        expired.add(timeout.value);
+                        size--;
+                    } else {
+                        place(timeout);
+                    }
+                    timeout = next;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        return expired;
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Quando a roda n completa a volta, a posição corrente da roda n + 1 desce
+    private void cascade() {
+        for (int level = 1; level < LEVELS; level++) {
+            if ((currentTick & ((1L << (WHEEL_BITS * level)) - 1)) != 0) {
+                return;
+            }
+            Timeout<T> head = wheels[level][(int) ((currentTick >>> (WHEEL_BITS * level)) & WHEEL_MASK)];
+            for (Timeout<T> timeout = head.next; timeout != head; ) {
+                Timeout<T> next = timeout.next;
+                timeout.unlink();
+                place(timeout, 0);
+                timeout = next;
+            }
+        }
+    }
+
+    private void place(Timeout<T> timeout) {
+        place(timeout, 1);
+    }
+
+    // Roda n guarda prazos a menos de WHEEL_SIZE^(n + 1) ticks; além disso, a última posição possível
+    // da roda mais alta, de onde a entrada volta a ser redistribuída. No cascade o tick corrente ainda
+    // vai ser processado (minDelta 0); fora dele, o que já venceu fica para o próximo tick
+    private void place(Timeout<T> timeout, long minDelta) {
+        long delta = Math.max(minDelta, Math.min(timeout.deadlineTick - currentTick, MAX_DELTA));
+        long expires = currentTick + delta;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (WHEEL_BITS * (level + 1))) {
+            level++;
+        }
+        wheels[level][(int) ((expires >>> (WHEEL_BITS * level)) & WHEEL_MASK)].append(timeout);
+    }
+
+    public static final class Timeout<T> {
+
+        private final T value;
+        private long deadlineTick;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+
+        private Timeout(T value, long deadlineTick) {
+            this.value = value;
+            this.deadlineTick = deadlineTick;
+        }
+
+        private static <T> Timeout<T> sentinel() {
+            Timeout<T> head = new Timeout<>(null, 0);
+            head.prev = head;
+            head.next = head;
+            return head;
+        }
+
+        public T getValue() {
+            return value;
+        }
+
+        private void append(Timeout<T> timeout) {
+            timeout.prev = prev;
+            timeout.next = this;
+            prev.next = timeout;
+            prev = timeout;
+        }
+
+        private void unlink() {
+            prev.next = next;
+            next.prev = prev;
+            prev = null;
+            next = null;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package application.search;
+
+import java.util.Arrays;
+
+// Lista ordenada de ids de produto; os ids chegam quase sempre em ordem crescente (append)
+final class PostingList {
+
+    private long[] ids = new long[4];
+    private int size;
+
+    void add(long id) {
+        if (size == 0 || id > ids[size - 1]) {
+            ensureCapacity();
+            ids[size++] = id;
+            return;
+        }
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        if (index >= 0) {
+            return;
+        }
+        index = -index - 1;
+        ensureCapacity();
+        System.arraycopy(ids, index, ids, index + 1, size - index);
+        ids[index] = id;
+        size++;
+    }
+
+    void remove(long id) {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        if (index < 0) {
+            return;
+        }
+        System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+        size--;
+    }
+
+    // Primeira posição >= from com valor >= id (busca galopante, para interseção de listas ordenadas)
+    int seek(int from, long id) {
+        int low = from;
+        int step = 1;
+        while (low + step < size && ids[low + step] < id) {
+            low += step;
+            step <<= 1;
+        }
+        int index = Arrays.binarySearch(ids, low, Math.min(size, low + step + 1), id);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    long get(int index) {
+        return ids[index];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    private void ensureCapacity() {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package application.search;
+
+import application.event.CatalogImportedEvent;
+import application.event.ProductChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido de trigramas sobre o nome dos produtos ativos. O nome e a busca são
+ * normalizados (minúsculas, sem acentos), então "acucar" encontra "Açúcar Mascavo 1kg".
+ * Mantém a semântica de substring do antigo LIKE '%termo%'.
+ */
+@Component
+@ConditionalOnProperty(name = "ecommerce.search.index.enabled", havingValue = "true", matchIfMissing = true)
+public class ProductSearchIndex implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductSearchIndex.class);
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final int GRAM = 3;
+    private static final int RELOAD_CHUNK = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock rebuilding = new ReentrantLock();
+    private volatile Index index = new Index();
+    private volatile boolean ready;
+
+    // Nomes relidos por reload() durante um rebuild(), reaplicados no índice novo após a troca; protegido por lock
+    private Map<Long, String> changedDuringRebuild;
+
+    @Autowired
+    public ProductSearchIndex(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.foldedNames.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Antes do servidor web subir, para que nenhuma busca caia no fallback e vá para o cache
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    // A varredura da tabela roda fora do lock, num índice novo; as buscas continuam no atual
+    // e só esperam a troca da referência
+    public void rebuild() {
+        rebuilding.lock();
+        try {
+            long start = System.nanoTime();
+            lock.writeLock().lock();
+            try {
+                changedDuringRebuild = new HashMap<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            Index built = new Index();
+            try {
+                jdbcTemplate.query("SELECT id, name FROM products WHERE active = TRUE ORDER BY id",
+                        rs -> {
+                            built.put(rs.getLong(1), rs.getString(2));
+                        });
+            } catch (RuntimeException ex) {
+                lock.writeLock().lock();
+                try {
+                    changedDuringRebuild = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                throw ex;
+            }
+
+            lock.writeLock().lock();
+            try {
+                changedDuringRebuild.forEach(built::replace);
+                changedDuringRebuild = null;
+                index = built;
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Índice de busca construído com {} produtos em {} ms",
+                    built.foldedNames.size(), (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            rebuilding.unlock();
+        }
+    }
+
+    // Ids (em ordem crescente) dos produtos ativos cujo nome contém o termo
+    public long[] search(String term) {
+        String query = fold(term);
+        lock.readLock().lock();
+        try {
+            Index index = this.index;
+            if (query.length() < GRAM) {
+                return index.scan(query);
+            }
+
+            List<PostingList> lists = new ArrayList<>();
+            for (long gram : grams(query)) {
+                PostingList list = index.postings.get(gram);
+                if (list == null) {
+                    return new long[0];
+                }
+                lists.add(list);
+            }
+            lists.sort((a, b) -> Integer.compare(a.size(), b.size()));
+
+            PostingList smallest = lists.get(0);
+            int[] cursors = new int[lists.size()];
+            long[] matches = new long[smallest.size()];
+            int count = 0;
+            candidates:
+            for (int i = 0; i < smallest.size(); i++) {
+                long id = smallest.get(i);
+                for (int j = 1; j < lists.size(); j++) {
+                    PostingList list = lists.get(j);
+                    cursors[j] = list.seek(cursors[j], id);
+                    if (cursors[j] == list.size()) {
+                        break candidates;
+                    }
+                    if (list.get(cursors[j]) != id) {
+                        continue candidates;
+                    }
+                }
+                // Os trigramas podem estar fora de ordem no nome; a substring confirma
+                if (index.foldedNames.get(id).contains(query)) {
+                    matches[count++] = id;
+                }
+            }
+            return Arrays.copyOf(matches, count);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (!event.listingChanged()) {
+            return;
+        }
+
+        List<Long> ids = new ArrayList<>(event.productIds());
+        for (int from = 0; from < ids.size(); from += RELOAD_CHUNK) {
+            reload(ids.subList(from, Math.min(ids.size(), from + RELOAD_CHUNK)));
+        }
+    }
+
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogImported(CatalogImportedEvent event) {
+        rebuild();
+    }
+
+    private void reload(List<Long> ids) {
+        String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+        Map<Long, String> activeNames = new HashMap<>();
+        jdbcTemplate.query("SELECT id, name FROM products WHERE active = TRUE AND id IN (" + placeholders + ")",
+                rs -> {
+                    activeNames.put(rs.getLong(1), rs.getString(2));
+                }, ids.toArray());
+
+        lock.writeLock().lock();
+        try {
+            for (Long id : ids) {
+                String name = activeNames.get(id);
+                index.replace(id, name);
+                if (changedDuringRebuild != null) {
+                    changedDuringRebuild.put(id, name);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static Set<Long> grams(String folded) {
+        Set<Long> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= folded.length(); i++) {
+            grams.add(((long) folded.charAt(i) << 32) | ((long) folded.charAt(i + 1) << 16) | folded.charAt(i + 2));
+        }
+        return grams;
+    }
+
+    public static String fold(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text.trim(), Normalizer.Form.NFKD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    // Nomes e listas de postagem de uma geração do índice. Um rebuild() monta uma instância
+    // nova sem lock; depois de publicada, só é alterada sob o write lock.
+    private static final class Index {
+        private final Map<Long, String> foldedNames = new HashMap<>();
+        private final Map<Long, PostingList> postings = new HashMap<>();
+
+        // name nulo: produto inativo ou removido
+        void replace(long id, String name) {
+            remove(id);
+            if (name != null) {
+                put(id, name);
+            }
+        }
+
+        void put(long id, String name) {
+            String folded = fold(name);
+            foldedNames.put(id, folded);
+            for (long gram : grams(folded)) {
+                postings.computeIfAbsent(gram, g -> new PostingList()).add(id);
+            }
+        }
+
+        void remove(long id) {
+            String folded = foldedNames.remove(id);
+            if (folded == null) {
+                return;
+            }
+            for (long gram : grams(folded)) {
+                PostingList list = postings.get(gram);
+                if (list != null) {
+                    list.remove(id);
+                    if (list.isEmpty()) {
+                        postings.remove(gram);
+                    }
+                }
+            }
+        }
+
+        long[] scan(String query) {
+            long[] matches = new long[foldedNames.size()];
+            int count = 0;
+            for (Map.Entry<Long, String> entry : foldedNames.entrySet()) {
+                if (entry.getValue().contains(query)) {
+                    matches[count++] = entry.getKey();
+                }
+            }
+            long[] result = Arrays.copyOf(matches, count);
+            Arrays.sort(result);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package application.service;
+
+import application.dto.OrderResponseDTO;
+
+// Resultado de um pedido dentro de um lote: o pedido criado ou o erro que o recusou
+public record OrderOutcome(OrderResponseDTO order, RuntimeException error) {
+
+    public static OrderOutcome created(OrderResponseDTO order) {
+        return new OrderOutcome(order, null);
+    }
+
+    public static OrderOutcome failed(RuntimeException error) {
+        return new OrderOutcome(null, error);
+    }
+}
@@ -2,95 +2,449 @@ package application.service;
 
 import application.dto.*;
 import application.entity.Order;
+import application.entity.OrderAllocation;
 import application.entity.OrderItem;
 import application.entity.Product;
+import application.event.ProductChangedEvent;
+import application.event.ProductsSoldEvent;
 import application.repository.OrderRepository;
 import application.repository.ProductRepository;
 import application.exception.InsufficientStockException;
+import application.exception.ProductNotFoundException;
+import application.inventory.StockLedger;
+import application.inventory.WarehouseInventory;
+import application.metrics.OrderMetrics;
+import application.metrics.OrderMetrics.Phase;
+import application.pricing.Money;
+import application.pricing.PricingEngine;
+import application.pricing.PricingSnapshot;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Consumer;
 
 @Service
 public class OrderService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final OrderRepository orderRepository;
     private final ProductRepository productRepository;
+    private final StockReservationMode stockMode;
+    private final Optional<StockLedger> stockLedger;
+    private final Optional<WarehouseInventory> warehouseInventory;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OrderMetrics metrics;
+    private final PricingEngine pricingEngine;
 
     @Autowired
-    public OrderService(OrderRepository orderRepository, ProductRepository productRepository) {
+    public OrderService(OrderRepository orderRepository, ProductRepository productRepository,
+                        @Value("${ecommerce.orders.stock-mode:OPTIMISTIC}") StockReservationMode stockMode,
+                        Optional<StockLedger> stockLedger, Optional<WarehouseInventory> warehouseInventory,
+                        ApplicationEventPublisher eventPublisher, OrderMetrics metrics, PricingEngine pricingEngine) {
         this.orderRepository = orderRepository;
         this.productRepository = productRepository;
+        this.stockMode = stockMode;
+        this.stockLedger = stockLedger;
+        this.warehouseInventory = warehouseInventory;
+        this.eventPublisher = eventPublisher;
+        this.metrics = metrics;
+        this.pricingEngine = pricingEngine;
     }
 
     @Transactional
     public OrderResponseDTO createOrder(OrderRequestDTO orderRequest) {
-        List<StockErrorDTO> stockErrors = validateStock(orderRequest.getItems());
+        Map<Long, Integer> quantities = aggregateQuantities(orderRequest.getItems());
+        Map<Long, Product> products = metrics.time(Phase.LOAD_PRODUCTS, () -> loadProducts(quantities.keySet()));
+        Order order = new Order();
+
+        List<StockErrorDTO> stockErrors = reserveStock(quantities, products, order);
         if (!stockErrors.isEmpty()) {
             throw new InsufficientStockException(stockErrors);
         }
 
-        Order order = new Order();
-        BigDecimal total = BigDecimal.ZERO;
+        addItems(order, orderRequest, quantities, products);
+        Order savedOrder = metrics.time(Phase.PERSIST, () -> orderRepository.save(order));
+        publishSales(quantities);
+        metrics.timeCommit();
 
-        for (OrderItemRequestDTO itemRequest : orderRequest.getItems()) {
-            Optional<Product> productOpt = productRepository.findById(itemRequest.getProductId());
-            if (productOpt.isEmpty()) {
-                throw new RuntimeException("Produto não encontrado: " + itemRequest.getProductId());
+        return metrics.time(Phase.TO_DTO, () -> convertToResponseDTO(savedOrder));
+    }
+
+    /**
+     * Group commit: vários pedidos numa única transação. Cada pedido é validado contra o estoque
+     * que sobrou dos anteriores do lote; os que falham (estoque, produto inexistente) voltam como
+     * erro no seu OrderOutcome sem afetar os demais. Uma exceção aqui (conflito com escrita fora
+     * do lote) desfaz o lote inteiro, e quem chamou deve reprocessar os pedidos um a um.
+     */
+    @Transactional
+    public List<OrderOutcome> createOrders(List<OrderRequestDTO> orderRequests) {
+        List<Map<Long, Integer>> quantities = new ArrayList<>(orderRequests.size());
+        Set<Long> productIds = new TreeSet<>();
+        for (OrderRequestDTO orderRequest : orderRequests) {
+            Map<Long, Integer> orderQuantities = aggregateQuantities(orderRequest.getItems());
+            quantities.add(orderQuantities);
+            productIds.addAll(orderQuantities.keySet());
+        }
+
+        Map<Long, Product> products = metrics.time(Phase.LOAD_PRODUCTS, () -> findProducts(productIds));
+        Map<Long, Integer> available = new HashMap<>();
+        products.forEach((id, product) -> available.put(id, product.getStock()));
+        Map<Long, Integer> totals = new TreeMap<>();
+        Map<Long, Integer> sold = new TreeMap<>();
+
+        OrderOutcome[] outcomes = new OrderOutcome[orderRequests.size()];
+        Order[] orders = new Order[orderRequests.size()];
+        for (int i = 0; i < orderRequests.size(); i++) {
+            Map<Long, Integer> orderQuantities = quantities.get(i);
+            Long missing = orderQuantities.keySet().stream()
+                    .filter(id -> !products.containsKey(id))
+                    .findFirst()
+                    .orElse(null);
+            if (missing != null) {
+                outcomes[i] = OrderOutcome.failed(new ProductNotFoundException(missing));
+                continue;
             }
 
-            Product product = productOpt.get();
-            
-            if (product.getStock() < itemRequest.getQuantity()) {
-                List<StockErrorDTO> errors = new ArrayList<>();
-                errors.add(new StockErrorDTO(product.getId(), product.getStock()));
-                throw new InsufficientStockException(errors);
+            Order order = new Order();
+            List<StockErrorDTO> stockErrors = switch (stockMode) {
+                case LEDGER -> reserveInLedger(orderQuantities, order);
+                case WAREHOUSE -> reserveInWarehouses(orderQuantities, order);
+                default -> takeFrom(available, orderQuantities, totals);
+            };
+            if (!stockErrors.isEmpty()) {
+                outcomes[i] = OrderOutcome.failed(new InsufficientStockException(stockErrors));
+                continue;
             }
 
-            product.setStock(product.getStock() - itemRequest.getQuantity());
-            productRepository.save(product);
+            addItems(order, orderRequests.get(i), orderQuantities, products);
+            orders[i] = order;
+            orderQuantities.forEach((id, quantity) -> sold.merge(id, quantity, Integer::sum));
+        }
 
-            BigDecimal unitPrice = product.getPrice();
-            BigDecimal lineTotal = unitPrice.multiply(BigDecimal.valueOf(itemRequest.getQuantity()))
-                                           .setScale(2, RoundingMode.HALF_EVEN);
-            
-            OrderItem orderItem = new OrderItem(product, itemRequest.getQuantity(), unitPrice);
-            orderItem.setLineTotal(lineTotal);
-            order.addItem(orderItem);
+        metrics.time(Phase.DECREMENT_STOCK, () -> decrementBatchTotals(totals, products));
+        metrics.time(Phase.PERSIST, () -> orderRepository.saveAll(Arrays.stream(orders).filter(Objects::nonNull).toList()));
+        publishSales(sold);
+        metrics.timeCommit();
 
-            total = total.add(lineTotal);
+        return metrics.time(Phase.TO_DTO, () -> {
+            for (int i = 0; i < orders.length; i++) {
+                if (orders[i] != null) {
+                    outcomes[i] = OrderOutcome.created(convertToResponseDTO(orders[i]));
+                }
+            }
+            return List.of(outcomes);
+        });
+    }
+
+    /**
+     * Reserva de carrinho: separa o estoque sem criar pedido (tudo ou nada). No modo LEDGER só em
+     * memória (recarregado de stock_reservation_items na inicialização); no WAREHOUSE pelo mesmo caminho
+     * do checkout, e as partes por armazém vão para allocations; em OPTIMISTIC e ATOMIC é sempre o
+     * UPDATE condicional só do estoque, que não depende de versão lida antes; o vendido só sobe na confirmação.
+     */
+    @Transactional
+    public List<StockErrorDTO> holdStock(Map<Long, Integer> quantities, Consumer<OrderAllocation> allocations) {
+        Map<Long, Product> products = loadProducts(quantities.keySet());
+        return switch (stockMode) {
+            case LEDGER -> stockChanged(quantities, stockLedger.orElseThrow().hold(quantities));
+            case WAREHOUSE -> stockChanged(quantities,
+                    warehouseInventory.orElseThrow().reserve(quantities, allocations, () -> null));
+            default -> {
+                List<StockErrorDTO> errors = validateStock(quantities, products);
+                yield errors.isEmpty() ? decrementStockAtomically(quantities, false) : errors;
+            }
+        };
+    }
+
+    // Devolve o estoque de uma reserva liberada ou expirada
+    @Transactional
+    public void releaseStock(Map<Long, Integer> quantities, List<OrderAllocation> allocations) {
+        switch (stockMode) {
+            // O ledger publica a alteração depois de devolver o estoque em memória, após o commit
+            case LEDGER -> stockLedger.orElseThrow().release(quantities);
+            case WAREHOUSE -> {
+                warehouseInventory.orElseThrow().release(allocations);
+                publishStockChanged(quantities);
+            }
+            default -> {
+                for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+                    productRepository.incrementStock(entry.getKey(), entry.getValue());
+                }
+                publishStockChanged(quantities);
+            }
         }
+    }
 
-        order.setTotal(total.setScale(2, RoundingMode.HALF_EVEN));
-        Order savedOrder = orderRepository.save(order);
+    // Pedido de uma reserva confirmada: o estoque já foi separado na reserva e só o vendido sobe aqui:
+    // na entidade (OPTIMISTIC), num UPDATE relativo sem checagem de versão (ATOMIC, que não usa
+    // optimistic lock) ou na gravação em lote (LEDGER e WAREHOUSE, com stock_synced = false até lá)
+    @Transactional
+    public OrderResponseDTO createReservedOrder(OrderRequestDTO orderRequest, List<OrderAllocation> allocations) {
+        Map<Long, Integer> quantities = aggregateQuantities(orderRequest.getItems());
+        Map<Long, Product> products = loadProducts(quantities.keySet());
+        Order order = new Order();
+        allocations.forEach(order::addAllocation);
 
+        addItems(order, orderRequest, quantities, products);
+        switch (stockMode) {
+            case OPTIMISTIC -> quantities.forEach((productId, quantity) -> {
+                Product product = products.get(productId);
+                product.setSoldQuantity(product.getSoldQuantity() + quantity);
+            });
+            case LEDGER -> {
+                order.setStockSynced(false);
+                stockLedger.orElseThrow().confirm(quantities, order::getId);
+            }
+            case WAREHOUSE -> {
+                order.setStockSynced(false);
+                warehouseInventory.orElseThrow().confirm(quantities, order::getId);
+            }
+            case ATOMIC -> quantities.forEach(productRepository::addSoldQuantity);
+        }
+        Order savedOrder = orderRepository.save(order);
+        publishSales(quantities);
         return convertToResponseDTO(savedOrder);
     }
 
-    private List<StockErrorDTO> validateStock(List<OrderItemRequestDTO> items) {
+    @Transactional(readOnly = true)
+    public Optional<OrderResponseDTO> findOrder(Long id) {
+        return orderRepository.findWithItemsById(id).map(this::convertToResponseDTO);
+    }
+
+    // Número fixo de consultas por página, qualquer que seja o número de itens: ids + total, depois pedidos com itens e produtos
+    @Transactional(readOnly = true)
+    public Page<OrderResponseDTO> findOrders(int page, int size) {
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+        Page<Long> ids = orderRepository.findOrderIds(pageable);
+        if (ids.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, ids.getTotalElements());
+        }
+
+        List<OrderResponseDTO> content = orderRepository.findWithItemsByIdIn(ids.getContent()).stream()
+                .map(this::convertToResponseDTO)
+                .toList();
+        return new PageImpl<>(content, pageable, ids.getTotalElements());
+    }
+
+    // Valida e desconta do saldo em memória do lote, acumulando o total a decrementar por produto
+    private List<StockErrorDTO> takeFrom(Map<Long, Integer> available, Map<Long, Integer> quantities,
+                                         Map<Long, Integer> totals) {
         List<StockErrorDTO> errors = new ArrayList<>();
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            int stock = available.get(entry.getKey());
+            if (stock < entry.getValue()) {
+                errors.add(new StockErrorDTO(entry.getKey(), stock));
+            }
+        }
+        if (!errors.isEmpty()) {
+            return errors;
+        }
 
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            available.merge(entry.getKey(), -entry.getValue(), Integer::sum);
+            totals.merge(entry.getKey(), entry.getValue(), Integer::sum);
+        }
+        return errors;
+    }
+
+    // Um UPDATE por produto para o lote inteiro
+    private void decrementBatchTotals(Map<Long, Integer> totals, Map<Long, Product> products) {
+        if (totals.isEmpty()) {
+            return;
+        }
+
+        if (stockMode == StockReservationMode.OPTIMISTIC) {
+            decrementManagedStock(totals, products);
+            return;
+        }
+
+        for (Map.Entry<Long, Integer> entry : totals.entrySet()) {
+            if (productRepository.sellIfAvailable(entry.getKey(), entry.getValue()) != 1) {
+                throw new OptimisticLockingFailureException(
+                        "Estoque do produto " + entry.getKey() + " alterado fora do lote");
+            }
+        }
+        publishStockChanged(totals);
+    }
+
+    // products.sold_quantity anda junto com o decremento de cada modo (entidade, UPDATE condicional ou
+    // gravação em lote do ledger/armazéns); o evento alimenta o ranking em memória após o commit
+    private void publishSales(Map<Long, Integer> quantities) {
+        if (!quantities.isEmpty()) {
+            eventPublisher.publishEvent(new ProductsSoldEvent(quantities));
+        }
+    }
+
+    // Em centavos (long): uma conversão de preço por linha e BigDecimal só para gravar. As regras de preço
+    // vêm de um único snapshot em memória por pedido; as faixas usam a quantidade total do produto no pedido
+    private void addItems(Order order, OrderRequestDTO orderRequest, Map<Long, Integer> quantities,
+                          Map<Long, Product> products) {
+        PricingSnapshot pricing = pricingEngine.snapshot();
+        long now = System.currentTimeMillis();
+        long total = 0;
+
+        for (OrderItemRequestDTO itemRequest : orderRequest.getItems()) {
+            Product product = products.get(itemRequest.getProductId());
+
+            long unitPrice = pricing.unitPriceCents(product.getId(), product.getPrice(),
+                    quantities.get(product.getId()), orderRequest.getCustomerId(), now);
+            OrderItem orderItem;
+            long lineTotal;
+            if (unitPrice == PricingSnapshot.LIST_PRICE) {
+                lineTotal = Money.lineTotal(product.getPrice(), itemRequest.getQuantity());
+                orderItem = new OrderItem(product, itemRequest.getQuantity(), product.getPrice(), lineTotal);
+            } else {
+                lineTotal = Money.multiply(unitPrice, itemRequest.getQuantity());
+                orderItem = new OrderItem(product, itemRequest.getQuantity(), Money.toBigDecimal(unitPrice), lineTotal);
+            }
+            order.addItem(orderItem);
+
+            total = Money.add(total, lineTotal);
+        }
+
+        order.setTotal(Money.toBigDecimal(total));
+    }
+
+    // Ordenado por id para que pedidos concorrentes atualizem os produtos sempre na mesma ordem
+    private Map<Long, Integer> aggregateQuantities(List<OrderItemRequestDTO> items) {
+        Map<Long, Integer> quantities = new TreeMap<>();
         for (OrderItemRequestDTO item : items) {
-            Optional<Product> productOpt = productRepository.findById(item.getProductId());
-            if (productOpt.isPresent()) {
-                Product product = productOpt.get();
-                if (product.getStock() < item.getQuantity()) {
-                    errors.add(new StockErrorDTO(product.getId(), product.getStock()));
-                }
+            quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+        }
+        return quantities;
+    }
+
+    private Map<Long, Product> loadProducts(Iterable<Long> productIds) {
+        Map<Long, Product> products = findProducts(productIds);
+
+        for (Long productId : productIds) {
+            if (!products.containsKey(productId)) {
+                throw new ProductNotFoundException(productId);
+            }
+        }
+
+        return products;
+    }
+
+    private Map<Long, Product> findProducts(Iterable<Long> productIds) {
+        Map<Long, Product> products = new HashMap<>();
+        for (Product product : productRepository.findAllById(productIds)) {
+            products.put(product.getId(), product);
+        }
+        return products;
+    }
+
+    // Tudo ou nada: se retornar erros, nenhum estoque foi alterado
+    private List<StockErrorDTO> reserveStock(Map<Long, Integer> quantities, Map<Long, Product> products, Order order) {
+        if (stockMode == StockReservationMode.LEDGER) {
+            // O ledger valida e decrementa sob o mesmo lock; as duas fases ficam juntas
+            return metrics.time(Phase.DECREMENT_STOCK, () -> reserveInLedger(quantities, order));
+        }
+        if (stockMode == StockReservationMode.WAREHOUSE) {
+            // products.stock é só o total; quem decide é o saldo de cada armazém
+            return metrics.time(Phase.DECREMENT_STOCK, () -> reserveInWarehouses(quantities, order));
+        }
+
+        List<StockErrorDTO> errors = metrics.time(Phase.VALIDATE_STOCK, () -> validateStock(quantities, products));
+        if (!errors.isEmpty()) {
+            return errors;
+        }
+
+        return metrics.time(Phase.DECREMENT_STOCK, () -> stockMode == StockReservationMode.ATOMIC
+                ? decrementStockAtomically(quantities, true)
+                : decrementManagedStock(quantities, products));
+    }
+
+    // Produtos gerenciados: o dirty checking gera os UPDATEs em lote no flush
+    private List<StockErrorDTO> decrementManagedStock(Map<Long, Integer> quantities, Map<Long, Product> products) {
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            Product product = products.get(entry.getKey());
+            product.setStock(product.getStock() - entry.getValue());
+            product.setSoldQuantity(product.getSoldQuantity() + entry.getValue());
+        }
+        return List.of();
+    }
+
+    // O WHERE stock >= :q decide de fato; a validação em reserveStock só poupa UPDATEs nos casos óbvios.
+    // Numa venda o vendido sobe no mesmo UPDATE; numa reserva de carrinho só o estoque muda. Se algum
+    // produto falhar, a exceção desfaz na transação os UPDATEs que já passaram
+    private List<StockErrorDTO> decrementStockAtomically(Map<Long, Integer> quantities, boolean sale) {
+        List<StockErrorDTO> errors = new ArrayList<>();
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            int updated = sale
+                    ? productRepository.sellIfAvailable(entry.getKey(), entry.getValue())
+                    : productRepository.decrementStockIfAvailable(entry.getKey(), entry.getValue());
+            if (updated != 1) {
+                errors.add(new StockErrorDTO(entry.getKey(), productRepository.findStockById(entry.getKey())));
+            }
+        }
+
+        if (!errors.isEmpty()) {
+            throw new InsufficientStockException(errors);
+        }
+
+        return stockChanged(quantities, errors);
+    }
+
+    // O estoque das entidades pode estar defasado em relação ao ledger; só ele decide
+    private List<StockErrorDTO> reserveInLedger(Map<Long, Integer> quantities, Order order) {
+        order.setStockSynced(false);
+        return stockChanged(quantities, stockLedger.orElseThrow().reserve(quantities, order::getId));
+    }
+
+    // O total em products.stock e o vendido são gravados em lote; até lá o pedido fica com stock_synced = false
+    private List<StockErrorDTO> reserveInWarehouses(Map<Long, Integer> quantities, Order order) {
+        order.setStockSynced(false);
+        return stockChanged(quantities, warehouseInventory.orElseThrow().reserve(quantities, order::addAllocation, order::getId));
+    }
+
+    // UPDATEs em massa, o ledger e os armazéns não passam pelos callbacks da entidade (só o OPTIMISTIC
+    // passa). O evento sai após o commit e só quando o estoque de fato mudou
+    private List<StockErrorDTO> stockChanged(Map<Long, Integer> quantities, List<StockErrorDTO> errors) {
+        if (errors.isEmpty()) {
+            publishStockChanged(quantities);
+        }
+        return errors;
+    }
+
+    private void publishStockChanged(Map<Long, Integer> quantities) {
+        eventPublisher.publishEvent(ProductChangedEvent.stockChanged(quantities.keySet()));
+    }
+
+    private List<StockErrorDTO> validateStock(Map<Long, Integer> quantities, Map<Long, Product> products) {
+        List<StockErrorDTO> errors = new ArrayList<>();
+
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            Product product = products.get(entry.getKey());
+            if (product.getStock() < entry.getValue()) {
+                errors.add(new StockErrorDTO(product.getId(), product.getStock()));
             }
         }
 
         return errors;
     }
 
-    private OrderResponseDTO convertToResponseDTO(Order order) {
+    OrderResponseDTO convertToResponseDTO(Order order) {
         List<OrderItemResponseDTO> itemDTOs = order.getItems().stream()
             .map(item -> new OrderItemResponseDTO(
                 item.getId(),
@@ -110,4 +464,3 @@ public class OrderService {
         );
     }
 }
-
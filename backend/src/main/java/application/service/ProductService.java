@@ -1,51 +1,167 @@
 package application.service;
 
+import application.cache.ProductCatalogCache;
+import application.datasource.ReadYourWrites;
 import application.dto.ProductDTO;
+import application.dto.ProductScrollDTO;
 import application.repository.ProductRepository;
 import application.entity.Product;
+import application.inventory.StockLedger;
+import application.search.ProductSearchIndex;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 @Service
 public class ProductService {
 
+    private static final int MAX_SCROLL_SIZE = 1000;
+
     private final ProductRepository productRepository;
+    private final ProductCatalogCache catalogCache;
+    private final Optional<ProductSearchIndex> searchIndex;
+    private final Optional<StockLedger> stockLedger;
+    private final TransactionTemplate readOnly;
 
     @Autowired
-    public ProductService(ProductRepository productRepository) {
+    public ProductService(ProductRepository productRepository, ProductCatalogCache catalogCache,
+                          Optional<ProductSearchIndex> searchIndex, Optional<StockLedger> stockLedger,
+                          PlatformTransactionManager transactionManager) {
         this.productRepository = productRepository;
+        this.catalogCache = catalogCache;
+        this.searchIndex = searchIndex;
+        this.stockLedger = stockLedger;
+
+        // Só em volta das cargas: um acerto no cache não abre transação nem pega conexão.
+        // readOnly deixa o flush do Hibernate em MANUAL e marca a conexão como somente leitura
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
     }
 
     public Page<ProductDTO> findProducts(String search, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size);
-        Page<Product> products;
-        
-        if (search == null || search.trim().isEmpty()) {
-            products = productRepository.findAllActiveProducts(pageable);
+        String term = search == null ? "" : search.trim();
+        if (ReadYourWrites.isActive()) {
+            return readOnly.execute(status -> loadProducts(term, page, size));
+        }
+        return catalogCache.getPage(term, page, size,
+                () -> readOnly.execute(status -> loadProducts(term, page, size)));
+    }
+
+    // Sem cache: varreduras completas do catálogo só expulsariam as páginas quentes
+    public ProductScrollDTO scrollProducts(String search, long after, int size, boolean count) {
+        return readOnly.execute(status -> scroll(search == null ? "" : search.trim(), after, size, count));
+    }
+
+    private ProductScrollDTO scroll(String term, long after, int size, boolean count) {
+        int limit = Math.min(Math.max(size, 1), MAX_SCROLL_SIZE);
+        List<ProductDTO> products;
+        Long total = null;
+
+        if (term.isEmpty()) {
+            products = productRepository.findActiveProductsAfter(after, Limit.of(limit + 1));
+            if (count) {
+                total = productRepository.countActiveProducts();
+            }
+        } else if (searchIndex.isPresent() && searchIndex.get().isReady()) {
+            long[] matches = searchIndex.get().search(term);
+            products = loadIndexedAfter(matches, after, limit + 1);
+            if (count) {
+                total = (long) matches.length;
+            }
         } else {
-            products = productRepository.findActiveProductsByNameContaining(search.trim(), pageable);
+            products = productRepository.findActiveProductsByNameContainingAfter(term, after, Limit.of(limit + 1));
+            if (count) {
+                total = productRepository.countActiveProductsByNameContaining(term);
+            }
+        }
+
+        // Um item a mais indica se existe próxima página, sem precisar do total
+        boolean hasNext = products.size() > limit;
+        List<ProductDTO> content = withAvailableStock(hasNext ? products.subList(0, limit) : products);
+        Long nextCursor = hasNext ? content.get(content.size() - 1).id() : null;
+        return new ProductScrollDTO(content, nextCursor, hasNext, total);
+    }
+
+    public Optional<ProductDTO> findProduct(Long id) {
+        // O cache pode ter sido preenchido por uma réplica atrasada depois da escrita do cliente
+        if (ReadYourWrites.isActive()) {
+            return readOnly.execute(status -> productRepository.findActiveProductById(id)).map(this::withAvailableStock);
         }
-        
-        return products.map(this::convertToDTO);
+        return catalogCache.getProduct(id,
+                () -> readOnly.execute(status -> productRepository.findActiveProductById(id)).map(this::withAvailableStock));
     }
 
     public Optional<Product> findById(Long id) {
         return productRepository.findById(id);
     }
 
-    private ProductDTO convertToDTO(Product product) {
-        return new ProductDTO(
-            product.getId(),
-            product.getName(),
-            product.getPrice(),
-            product.getStock(),
-            product.getActive()
-        );
+    private Page<ProductDTO> loadProducts(String search, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size);
+
+        Page<ProductDTO> products;
+        if (search.isEmpty()) {
+            products = productRepository.findAllActiveProducts(pageable);
+        } else if (searchIndex.isPresent() && searchIndex.get().isReady()) {
+            products = searchIndexed(searchIndex.get(), search, pageable);
+        } else {
+            products = productRepository.findActiveProductsByNameContaining(search, pageable);
+        }
+        return stockLedger.isEmpty() ? products : products.map(this::withAvailableStock);
+    }
+
+    // No modo LEDGER, vendas ainda não gravadas e reservas de carrinho só existem no ledger: products.stock
+    // é o estoque físico, e o catálogo mostra o disponível. Reserva, liberação, expiração e gravação do
+    // ledger publicam ProductChangedEvent, então o cache é invalidado como nos outros modos
+    private ProductDTO withAvailableStock(ProductDTO product) {
+        if (stockLedger.isEmpty()) {
+            return product;
+        }
+        int available = stockLedger.get().available(product.id(), product.stock());
+        return available == product.stock()
+                ? product
+                : new ProductDTO(product.id(), product.name(), product.price(), available, product.active());
     }
-}
 
+    private List<ProductDTO> withAvailableStock(List<ProductDTO> products) {
+        return stockLedger.isEmpty() ? products : products.stream().map(this::withAvailableStock).toList();
+    }
+
+    // O índice resolve o filtro e o total; o banco só carrega os ids da página pedida
+    private Page<ProductDTO> searchIndexed(ProductSearchIndex index, String search, Pageable pageable) {
+        long[] matches = index.search(search);
+        int from = (int) Math.min(pageable.getOffset(), matches.length);
+        int to = Math.min(from + pageable.getPageSize(), matches.length);
+
+        List<Long> pageIds = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            pageIds.add(matches[i]);
+        }
+
+        List<ProductDTO> content = pageIds.isEmpty() ? List.of() : productRepository.findProductsByIdIn(pageIds);
+        return new PageImpl<>(content, pageable, matches.length);
+    }
+
+    private List<ProductDTO> loadIndexedAfter(long[] matches, long after, int limit) {
+        int position = Arrays.binarySearch(matches, after);
+        int from = position >= 0 ? position + 1 : -position - 1;
+        int to = Math.min(from + limit, matches.length);
+
+        List<Long> ids = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            ids.add(matches[i]);
+        }
+
+        return ids.isEmpty() ? List.of() : productRepository.findProductsByIdIn(ids);
+    }
+}
@@ -0,0 +1,16 @@
+package application.service;
+
+public enum StockReservationMode {
+
+    // Lê o produto, decrementa em memória e depende do @Version para detectar conflitos
+    OPTIMISTIC,
+
+    // UPDATE condicional (stock >= quantidade) por produto; o número de linhas afetadas decide
+    ATOMIC,
+
+    // Reserva no StockLedger em memória; products.stock é atualizado em lote em segundo plano
+    LEDGER,
+
+    // Estoque por armazém (warehouse_stock), dividido pelo WarehouseAllocator; products.stock é o total mantido em lote
+    WAREHOUSE
+}
@@ -0,0 +1,320 @@
+package application.stream;
+
+import application.dto.StockUpdateDTO;
+import application.event.CatalogImportedEvent;
+import application.event.ProductChangedEvent;
+import application.exception.InvalidSubscriptionException;
+import application.inventory.StockLedger;
+import application.service.StockReservationMode;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Estoque e preço ao vivo por SSE. Cada assinante escolhe os produtos que acompanha. As alterações
+ * confirmadas só marcam o produto como sujo; a cada interval-ms uma thread lê os valores atuais dos sujos
+ * numa consulta, compara com o último enviado e repassa aos assinantes apenas o que mudou, então várias
+ * vendas do mesmo produto no intervalo viram um evento. As conexões ficam no modo assíncrono do servlet,
+ * sem thread por cliente: um pool fixo de writers escreve nos assinantes que têm algo pendente.
+ * O estoque vem de quem decide no modo ativo: o ledger (LEDGER), a soma dos armazéns (WAREHOUSE) ou
+ * products.stock, que nesses dois modos só recebe o total em lote.
+ */
+@Component
+public class StockStream implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(StockStream.class);
+    private static final int QUERY_CHUNK_SIZE = 1000;
+    private static final String PRODUCTS_QUERY = "SELECT id, stock, price FROM products WHERE id IN (:ids)";
+    // Produtos ainda sem linhas nos armazéns (antes do primeiro reconcile) ficam com products.stock
+    private static final String WAREHOUSE_QUERY =
+            "SELECT p.id, COALESCE((SELECT SUM(w.quantity) FROM warehouse_stock w WHERE w.product_id = p.id), p.stock), " +
+            "p.price FROM products p WHERE p.id IN (:ids)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final Optional<StockLedger> stockLedger;
+    private final String stockQuery;
+    private final int maxProducts;
+    private final long intervalMillis;
+    private final long heartbeatMillis;
+    private final long timeoutMillis;
+    private final int writerThreads;
+
+    private final Set<StockSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Set<StockSubscriber>> subscribersByProduct = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    private final Queue<StockSubscriber> joining = new ConcurrentLinkedQueue<>();
+    // Último valor publicado por produto; só a thread de publicação acessa
+    private final Map<Long, String> lastPublished = new HashMap<>();
+    private final Counter events;
+
+    private ScheduledExecutorService publisher;
+    private ExecutorService writers;
+    private long lastHeartbeat;
+    private volatile boolean running;
+
+    @Autowired
+    public StockStream(NamedParameterJdbcTemplate jdbcTemplate,
+                       ObjectMapper objectMapper,
+                       MeterRegistry meterRegistry,
+                       @Value("${ecommerce.orders.stock-mode:OPTIMISTIC}") StockReservationMode stockMode,
+                       Optional<StockLedger> stockLedger,
+                       @Value("${ecommerce.catalog.stream.max-products:100}") int maxProducts,
+                       @Value("${ecommerce.catalog.stream.interval-ms:100}") long intervalMillis,
+                       @Value("${ecommerce.catalog.stream.heartbeat-seconds:15}") long heartbeatSeconds,
+                       @Value("${ecommerce.catalog.stream.timeout-minutes:30}") long timeoutMinutes,
+                       @Value("${ecommerce.catalog.stream.writer-threads:4}") int writerThreads) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.stockLedger = stockLedger;
+        this.stockQuery = stockMode == StockReservationMode.WAREHOUSE ? WAREHOUSE_QUERY : PRODUCTS_QUERY;
+        this.maxProducts = maxProducts;
+        this.intervalMillis = intervalMillis;
+        this.heartbeatMillis = TimeUnit.SECONDS.toMillis(heartbeatSeconds);
+        this.timeoutMillis = TimeUnit.MINUTES.toMillis(timeoutMinutes);
+        this.writerThreads = writerThreads;
+
+        this.events = Counter.builder("catalog.stream.events")
+                .description("Eventos de estoque enviados aos assinantes")
+                .register(meterRegistry);
+        Gauge.builder("catalog.stream.subscribers", subscribers, Set::size)
+                .description("Conexões abertas no stream de estoque")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(Collection<Long> productIds) {
+        if (productIds.isEmpty() || productIds.size() > maxProducts) {
+            throw new InvalidSubscriptionException("Informe de 1 a " + maxProducts + " produtos em ids");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        StockSubscriber subscriber = new StockSubscriber(emitter, Set.copyOf(productIds));
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onError(error -> unsubscribe(subscriber));
+        // O EventSource reconecta sozinho e recebe os valores atuais de novo
+        emitter.onTimeout(emitter::complete);
+
+        subscribers.add(subscriber);
+        for (Long productId : subscriber.productIds()) {
+            subscribersByProduct.compute(productId, (id, set) -> {
+                Set<StockSubscriber> target = set != null ? set : ConcurrentHashMap.newKeySet();
+                target.add(subscriber);
+                return target;
+            });
+        }
+        joining.add(subscriber);
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        for (Long productId : event.productIds()) {
+            if (subscribersByProduct.containsKey(productId)) {
+                dirty.add(productId);
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogImported(CatalogImportedEvent event) {
+        dirty.addAll(subscribersByProduct.keySet());
+    }
+
+    void publish() {
+        List<StockSubscriber> joined = new ArrayList<>();
+        for (StockSubscriber subscriber; (subscriber = joining.poll()) != null; ) {
+            if (subscribers.contains(subscriber)) {
+                joined.add(subscriber);
+            }
+        }
+        Set<Long> changed = new HashSet<>();
+        for (Iterator<Long> it = dirty.iterator(); it.hasNext(); ) {
+            changed.add(it.next());
+            it.remove();
+        }
+
+        // Entregues aos writers só no fim do ciclo: um evento por assinante com tudo o que mudou
+        List<StockSubscriber> ready = new ArrayList<>();
+        try {
+            Set<Long> ids = new HashSet<>(changed);
+            joined.forEach(subscriber -> ids.addAll(subscriber.productIds()));
+            Map<Long, String> current = ids.isEmpty() ? Map.of() : load(ids);
+
+            for (Long productId : changed) {
+                String update = current.get(productId);
+                Set<StockSubscriber> targets = subscribersByProduct.get(productId);
+                if (update == null || targets == null) {
+                    lastPublished.remove(productId);
+                } else if (!update.equals(lastPublished.put(productId, update))) {
+                    for (StockSubscriber subscriber : targets) {
+                        if (subscriber.offer(productId, update)) {
+                            ready.add(subscriber);
+                        }
+                    }
+                }
+            }
+            // Quem acabou de entrar recebe os valores atuais. O último publicado só é preenchido se faltar:
+            // uma alteração confirmada depois da leitura ainda vai chegar aos outros assinantes pelo dirty
+            for (StockSubscriber subscriber : joined) {
+                for (Long productId : subscriber.productIds()) {
+                    String update = current.get(productId);
+                    if (update != null) {
+                        lastPublished.putIfAbsent(productId, update);
+                        if (subscriber.offer(productId, update)) {
+                            ready.add(subscriber);
+                        }
+                    }
+                }
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Falha ao publicar alterações de estoque; nova tentativa em {} ms", intervalMillis, ex);
+            dirty.addAll(changed);
+            joining.addAll(joined);
+        }
+        ready.forEach(this::dispatch);
+
+        long now = System.currentTimeMillis();
+        if (now - lastHeartbeat >= heartbeatMillis) {
+            lastHeartbeat = now;
+            for (StockSubscriber subscriber : subscribers) {
+                if (subscriber.ping()) {
+                    dispatch(subscriber);
+                }
+            }
+        }
+    }
+
+    private Map<Long, String> load(Set<Long> ids) {
+        List<Long> all = new ArrayList<>(ids);
+        Map<Long, String> updates = new HashMap<>(all.size() * 2);
+        for (int from = 0; from < all.size(); from += QUERY_CHUNK_SIZE) {
+            List<Long> chunk = all.subList(from, Math.min(all.size(), from + QUERY_CHUNK_SIZE));
+            jdbcTemplate.query(stockQuery, Map.of("ids", chunk),
+                    (ResultSet rs) -> {
+                        long id = rs.getLong(1);
+                        int stock = stockLedger.isPresent()
+                                ? stockLedger.get().available(id, rs.getInt(2))
+                                : rs.getInt(2);
+                        updates.put(id, toJson(new StockUpdateDTO(id, stock, rs.getBigDecimal(3))));
+                    });
+        }
+        return updates;
+    }
+
+    // Serializado uma vez por produto e compartilhado por todos os assinantes dele
+    private String toJson(StockUpdateDTO update) {
+        try {
+            return objectMapper.writeValueAsString(update);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void dispatch(StockSubscriber subscriber) {
+        try {
+            writers.execute(() -> write(subscriber));
+        } catch (RejectedExecutionException ex) {
+            // Desligando: stop() encerra as conexões
+        }
+    }
+
+    private void write(StockSubscriber subscriber) {
+        try {
+            events.increment(subscriber.drain());
+        } catch (IOException | IllegalStateException ex) {
+            // Cliente desconectado ou emitter já encerrado
+            unsubscribe(subscriber);
+            subscriber.emitter().completeWithError(ex);
+        }
+    }
+
+    private void unsubscribe(StockSubscriber subscriber) {
+        if (!subscribers.remove(subscriber)) {
+            return;
+        }
+        for (Long productId : subscriber.productIds()) {
+            Set<StockSubscriber> remaining = subscribersByProduct.computeIfPresent(productId, (id, set) -> {
+                set.remove(subscriber);
+                return set.isEmpty() ? null : set;
+            });
+            if (remaining == null) {
+                // A thread de publicação descarta o último valor do produto sem assinantes
+                dirty.add(productId);
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        AtomicInteger writerCount = new AtomicInteger();
+        writers = Executors.newFixedThreadPool(writerThreads, r -> {
+            Thread thread = new Thread(r, "stock-stream-writer-" + writerCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        publisher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "stock-stream");
+            thread.setDaemon(true);
+            return thread;
+        });
+        lastHeartbeat = System.currentTimeMillis();
+        publisher.scheduleWithFixedDelay(this::publish, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (publisher != null) {
+            publisher.shutdown();
+            writers.shutdown();
+            try {
+                publisher.awaitTermination(5, TimeUnit.SECONDS);
+                writers.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        for (StockSubscriber subscriber : List.copyOf(subscribers)) {
+            subscriber.emitter().complete();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,81 @@
+package application.stream;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Buffer de um assinante: no máximo um valor pendente por produto, o mais recente. scheduled garante
+// um único writer por vez; o que chega durante uma escrita sai na volta seguinte, já conflado
+final class StockSubscriber {
+
+    private final SseEmitter emitter;
+    private final Set<Long> productIds;
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final Map<Long, String> pending = new LinkedHashMap<>();
+    private boolean heartbeat;
+
+    StockSubscriber(SseEmitter emitter, Set<Long> productIds) {
+        this.emitter = emitter;
+        this.productIds = productIds;
+    }
+
+    SseEmitter emitter() {
+        return emitter;
+    }
+
+    Set<Long> productIds() {
+        return productIds;
+    }
+
+    // Verdadeiro quando o assinante precisa ser entregue a um writer
+    boolean offer(Long productId, String update) {
+        synchronized (this) {
+            pending.put(productId, update);
+        }
+        return scheduled.compareAndSet(false, true);
+    }
+
+    boolean ping() {
+        synchronized (this) {
+            heartbeat = true;
+        }
+        return scheduled.compareAndSet(false, true);
+    }
+
+    // Chamado só pelo writer que ganhou o scheduled; devolve o número de eventos escritos
+    int drain() throws IOException {
+        int sent = 0;
+        while (true) {
+            String batch;
+            boolean ping;
+            synchronized (this) {
+                batch = pending.isEmpty() ? null : "[" + String.join(",", pending.values()) + "]";
+                pending.clear();
+                ping = heartbeat;
+                heartbeat = false;
+            }
+
+            if (batch != null) {
+                emitter.send(SseEmitter.event().name("stock").data(batch));
+                sent++;
+            } else if (ping) {
+                emitter.send(SseEmitter.event().comment("ping"));
+            } else {
+                scheduled.set(false);
+                // Algo pode ter chegado entre esvaziar e soltar o scheduled
+                synchronized (this) {
+                    if (pending.isEmpty() && !heartbeat) {
+                        return sent;
+                    }
+                }
+                if (!scheduled.compareAndSet(false, true)) {
+                    return sent;
+                }
+            }
+        }
+    }
+}
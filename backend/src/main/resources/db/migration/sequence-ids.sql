@@ -0,0 +1,15 @@
+-- Migração de ids IDENTITY para sequências (H2), para bancos criados antes da mudança.
+-- Rodar uma vez, com a aplicação parada. O INCREMENT BY tem que ser igual ao allocationSize
+-- das entidades (50); cada sequência recomeça depois do maior id existente.
+
+CREATE SEQUENCE IF NOT EXISTS products_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE products_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM products);
+ALTER TABLE products ALTER COLUMN id DROP IDENTITY;
+
+CREATE SEQUENCE IF NOT EXISTS orders_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE orders_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM orders);
+ALTER TABLE orders ALTER COLUMN id DROP IDENTITY;
+
+CREATE SEQUENCE IF NOT EXISTS order_items_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE order_items_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM order_items);
+ALTER TABLE order_items ALTER COLUMN id DROP IDENTITY;
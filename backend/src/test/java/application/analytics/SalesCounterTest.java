@@ -0,0 +1,61 @@
+package application.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SalesCounterTest {
+
+    private static List<Long> ids(List<long[]> ranking) {
+        return ranking.stream().map(entry -> entry[0]).toList();
+    }
+
+    @Test
+    void testRankingFollowsEachSale() {
+        SalesCounter counter = new SalesCounter(SalesWindow.ALL_TIME);
+        counter.add(Map.of(1L, 5, 2L, 3, 3L, 3), 0, 0);
+        assertEquals(List.of(1L, 2L, 3L), ids(counter.top(3, 0)));
+
+        counter.add(Map.of(3L, 4), 0, 0);
+        assertEquals(List.of(3L, 1L), ids(counter.top(2, 0)));
+        assertEquals(7, counter.top(1, 0).get(0)[1]);
+    }
+
+    @Test
+    void testExpiredBucketsLeaveTheRanking() {
+        SalesCounter counter = new SalesCounter(SalesWindow.HOUR);
+        long minute = Duration.ofMinutes(1).toMillis();
+        counter.add(Map.of(1L, 10), 0, 0);
+        counter.add(Map.of(2L, 4), 30 * minute, 30 * minute);
+
+        assertEquals(List.of(1L, 2L), ids(counter.top(5, 30 * minute)));
+        assertEquals(List.of(2L), ids(counter.top(5, 61 * minute)));
+        assertTrue(counter.top(5, 91 * minute).isEmpty());
+    }
+
+    @Test
+    void testTopMatchesFullSortOfTotals() {
+        SalesCounter counter = new SalesCounter(SalesWindow.ALL_TIME);
+        Map<Long, Long> totals = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 5_000; i++) {
+            long productId = random.nextInt(500);
+            int quantity = 1 + random.nextInt(5);
+            counter.add(Map.of(productId, quantity), 0, 0);
+            totals.merge(productId, (long) quantity, Long::sum);
+        }
+
+        List<Long> expected = totals.entrySet().stream()
+                .sorted(Map.Entry.<Long, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(20)
+                .map(Map.Entry::getKey)
+                .toList();
+        assertEquals(expected, ids(counter.top(20, 0)));
+    }
+}
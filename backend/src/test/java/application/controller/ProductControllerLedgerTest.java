@@ -0,0 +1,72 @@
+package application.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "ecommerce.orders.stock-mode=LEDGER",
+        "spring.datasource.url=jdbc:h2:mem:product-controller-ledger",
+        "spring.jpa.show-sql=false"})
+@AutoConfigureMockMvc
+class ProductControllerLedgerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private JsonNode read(String url) throws Exception {
+        return objectMapper.readTree(mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    private int stockIn(String url, long productId) throws Exception {
+        for (JsonNode product : read(url).get("content")) {
+            if (product.get("id").asLong() == productId) {
+                return product.get("stock").asInt();
+            }
+        }
+        throw new AssertionError("Produto " + productId + " fora de " + url);
+    }
+
+    @Test
+    void testCatalogShowsStockMinusCartHolds() throws Exception {
+        // Café Torrado 500g, cadastrado pelo DataInitializer com estoque 5
+        JsonNode product = read("/api/v1/products?search=cafe").get("content").get(0);
+        long productId = product.get("id").asLong();
+        int stock = product.get("stock").asInt();
+        assertEquals(5, stock);
+        // Página e produto já em cache: a reserva precisa invalidá-los
+        read("/api/v1/products/" + productId);
+        assertEquals(stock, stockIn("/api/v1/products?size=100", productId));
+
+        String body = "{\"items\": [{\"productId\": " + productId + ", \"quantity\": 2}]}";
+        String reservationId = objectMapper.readTree(mockMvc.perform(post("/api/v1/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString()).get("id").asText();
+
+        assertEquals(stock - 2, stockIn("/api/v1/products?size=100", productId));
+        assertEquals(stock - 2, read("/api/v1/products/" + productId).get("stock").asInt());
+        assertEquals(stock - 2, stockIn("/api/v1/products/scroll?size=100", productId));
+
+        mockMvc.perform(delete("/api/v1/reservations/" + reservationId)).andExpect(status().isNoContent());
+        assertEquals(stock, stockIn("/api/v1/products?size=100", productId));
+        assertEquals(stock, read("/api/v1/products/" + productId).get("stock").asInt());
+    }
+}
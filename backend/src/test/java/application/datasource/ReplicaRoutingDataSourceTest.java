@@ -0,0 +1,147 @@
+package application.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replica1Connection = mock(Connection.class);
+    private final Connection replica2Connection = mock(Connection.class);
+    private DataSource primary;
+    private DataSource replica1;
+    private DataSource replica2;
+    private SimpleMeterRegistry meterRegistry;
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        primary = mock(DataSource.class);
+        replica1 = mock(DataSource.class);
+        replica2 = mock(DataSource.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica1.getConnection()).thenReturn(replica1Connection);
+        when(replica2.getConnection()).thenReturn(replica2Connection);
+        when(replica1Connection.createStatement()).thenReturn(mock(Statement.class));
+        when(replica2Connection.createStatement()).thenReturn(mock(Statement.class));
+
+        meterRegistry = new SimpleMeterRegistry();
+        routing = new ReplicaRoutingDataSource(primary, List.of(replica1, replica2), "SELECT 1", 1000, meterRegistry);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void testReadOnlyTransactionsAlternateBetweenReplicas() throws SQLException {
+        List<Connection> connections = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            connections.add(routing.getConnection());
+        }
+
+        assertEquals(List.of(replica1Connection, replica2Connection, replica1Connection, replica2Connection), connections);
+        assertEquals(2.0, meterRegistry.get("datasource.routing.connections").tag("target", "replica-1").counter().count());
+        verify(primary, never()).getConnection();
+    }
+
+    @Test
+    void testWritesGoToPrimary() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+
+        assertSame(primaryConnection, routing.getConnection());
+        verifyNoInteractions(replica1, replica2);
+    }
+
+    @Test
+    void testFailingReplicaIsEjectedAndReadmittedByHealthCheck() throws SQLException {
+        when(replica1.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        assertSame(replica2Connection, routing.getConnection());
+        assertSame(replica2Connection, routing.getConnection());
+        assertEquals(1.0, meterRegistry.get("datasource.replicas.healthy").gauge().value());
+        // Ejetada: não é mais tentada a cada leitura
+        verify(replica1, times(1)).getConnection();
+
+        doReturn(replica1Connection).when(replica1).getConnection();
+        routing.checkHealth();
+        assertEquals(2.0, meterRegistry.get("datasource.replicas.healthy").gauge().value());
+    }
+
+    @Test
+    void testReadsFallBackToPrimaryWithoutHealthyReplicas() throws SQLException {
+        when(replica1.getConnection()).thenThrow(new SQLException("Connection refused"));
+        when(replica2.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        assertSame(primaryConnection, routing.getConnection());
+        assertEquals(1.0, meterRegistry.get("datasource.routing.fallbacks").counter().count());
+    }
+
+    @Test
+    void testExplicitCredentialsAreRoutedAndPassedToThePool() throws SQLException {
+        when(replica1.getConnection("report", "secret")).thenReturn(replica1Connection);
+        when(primary.getConnection("report", "secret")).thenReturn(primaryConnection);
+
+        assertSame(replica1Connection, routing.getConnection("report", "secret"));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        assertSame(primaryConnection, routing.getConnection("report", "secret"));
+        verify(replica1, never()).getConnection();
+        verify(primary, never()).getConnection();
+    }
+
+    @Test
+    void testPoolWithoutPerCallCredentialsDoesNotEjectReplica() throws SQLException {
+        when(replica1.getConnection("report", "secret")).thenThrow(new SQLFeatureNotSupportedException());
+
+        assertThrows(SQLFeatureNotSupportedException.class, () -> routing.getConnection("report", "secret"));
+        assertEquals(2.0, meterRegistry.get("datasource.replicas.healthy").gauge().value());
+    }
+
+    @Test
+    void testReadYourWritesHeaderPinsReadsToPrimary() throws Exception {
+        ReadYourWrites filter = new ReadYourWrites(5000);
+        MockHttpServletResponse written = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/v1/orders"), written, (req, res) -> { });
+        String until = written.getHeader(ReadYourWrites.HEADER);
+        assertNotNull(until);
+
+        List<Connection> connections = new ArrayList<>();
+        MockHttpServletRequest read = new MockHttpServletRequest("GET", "/api/v1/products/1");
+        read.addHeader(ReadYourWrites.HEADER, until);
+        filter.doFilter(read, new MockHttpServletResponse(), (req, res) -> connections.add(getConnection()));
+
+        // Sem o header, ou com um prazo além da janela, a leitura volta para as réplicas
+        MockHttpServletRequest tooFar = new MockHttpServletRequest("GET", "/api/v1/products/1");
+        tooFar.addHeader(ReadYourWrites.HEADER, String.valueOf(System.currentTimeMillis() + 60_000));
+        filter.doFilter(tooFar, new MockHttpServletResponse(), (req, res) -> connections.add(getConnection()));
+
+        assertEquals(List.of(primaryConnection, replica1Connection), connections);
+        assertFalse(ReadYourWrites.isActive());
+    }
+
+    private Connection getConnection() {
+        try {
+            return routing.getConnection();
+        } catch (SQLException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
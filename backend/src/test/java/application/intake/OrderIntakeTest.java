@@ -0,0 +1,72 @@
+package application.intake;
+
+import application.dto.OrderIntakeDTO;
+import application.dto.OrderItemRequestDTO;
+import application.dto.OrderRequestDTO;
+import application.dto.OrderResponseDTO;
+import application.exception.IntakeNotAcceptingException;
+import application.exception.IntakeQueueFullException;
+import application.service.OrderService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OrderIntakeTest {
+
+    private final OrderService orderService = mock(OrderService.class);
+    private final CountDownLatch processing = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private OrderIntake intake;
+
+    private OrderRequestDTO request() {
+        return new OrderRequestDTO(List.of(new OrderItemRequestDTO(1L, 1)));
+    }
+
+    // Resultados finais expiram na hora (TTL 0); o pedido fica preso no OrderService até release
+    private OrderIntake blockedIntake(int capacity) {
+        when(orderService.createOrder(any())).thenAnswer(invocation -> {
+            processing.countDown();
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+            return new OrderResponseDTO();
+        });
+        return new OrderIntake(orderService, Optional.empty(), new SimpleMeterRegistry(), capacity, 1, 1, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (intake != null && intake.isRunning()) {
+            intake.stop();
+        }
+    }
+
+    @Test
+    void testSubmitBeforeStartIsNotMistakenForAFullQueue() {
+        intake = blockedIntake(1);
+        assertThrows(IntakeNotAcceptingException.class, () -> intake.submit(request()));
+    }
+
+    @Test
+    void testPendingTokensDoNotExpireWithCompletedResults() throws Exception {
+        intake = blockedIntake(1);
+        intake.start();
+
+        String processingToken = intake.submit(request()).getToken();
+        assertTrue(processing.await(5, TimeUnit.SECONDS));
+        String queuedToken = intake.submit(request()).getToken();
+        assertThrows(IntakeQueueFullException.class, () -> intake.submit(request()));
+
+        assertEquals(OrderIntakeDTO.Status.PENDING, intake.status(processingToken).orElseThrow().getStatus());
+        assertEquals(OrderIntakeDTO.Status.PENDING, intake.status(queuedToken).orElseThrow().getStatus());
+    }
+}
@@ -0,0 +1,181 @@
+package application.inventory;
+
+import application.dto.StockErrorDTO;
+import application.event.CatalogImportedEvent;
+import application.event.ProductChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class StockLedgerTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private ApplicationEventPublisher eventPublisher;
+    private StockLedger ledger;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        jdbcTemplate.execute("CREATE TABLE products (id BIGINT PRIMARY KEY, stock INT, sold_quantity BIGINT, version BIGINT)");
+        jdbcTemplate.execute("CREATE TABLE orders (id BIGINT PRIMARY KEY, stock_synced BOOLEAN)");
+        jdbcTemplate.execute("CREATE TABLE order_items (order_id BIGINT, product_id BIGINT, quantity INT)");
+        jdbcTemplate.execute("CREATE TABLE stock_reservation_items (product_id BIGINT, quantity INT)");
+        jdbcTemplate.update("INSERT INTO products VALUES (1, 10, 0, 0)");
+
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        ledger = new StockLedger(jdbcTemplate, transactionTemplate, eventPublisher,
+                new SimpleMeterRegistry(), 4, 60_000, 1000);
+    }
+
+    private List<StockErrorDTO> sell(long orderId, int quantity) {
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.update("INSERT INTO orders VALUES (?, FALSE)", orderId);
+            return ledger.reserve(Map.of(1L, quantity), () -> orderId);
+        });
+    }
+
+    private int stockInDatabase() {
+        return jdbcTemplate.queryForObject("SELECT stock FROM products WHERE id = 1", Integer.class);
+    }
+
+    @Test
+    void testProductEditIsReloadedWithoutLosingUnflushedSales() {
+        assertTrue(sell(1, 3).isEmpty());
+        assertEquals(OptionalInt.of(7), ledger.available(1));
+
+        // Edição do produto: products.stock passa a 20, com a venda ainda não gravada
+        jdbcTemplate.update("UPDATE products SET stock = 20 WHERE id = 1");
+        ledger.onProductChanged(new ProductChangedEvent(Set.of(1L), false));
+        assertTrue(sell(2, 1).isEmpty());
+        assertEquals(OptionalInt.of(16), ledger.available(1));
+
+        ledger.flush();
+        assertEquals(16, stockInDatabase());
+        assertEquals(OptionalInt.of(16), ledger.available(1));
+    }
+
+    @Test
+    void testOwnStockWritesDoNotDiscardKnownStock() {
+        assertTrue(sell(1, 3).isEmpty());
+        ledger.flush();
+        ledger.onProductChanged(ProductChangedEvent.stockChanged(Set.of(1L)));
+
+        // Escrita direta no banco sem evento: o valor conhecido continua valendo
+        jdbcTemplate.update("UPDATE products SET stock = 100 WHERE id = 1");
+        assertEquals(OptionalInt.of(7), ledger.available(1));
+    }
+
+    @Test
+    void testImportDiscardsAllKnownStock() {
+        assertTrue(sell(1, 4).isEmpty());
+        ledger.flush();
+        jdbcTemplate.update("UPDATE products SET stock = 2 WHERE id = 1");
+        ledger.onCatalogImported(new CatalogImportedEvent(1));
+
+        List<StockErrorDTO> errors = sell(2, 3);
+        assertEquals(1, errors.size());
+        assertEquals(2, errors.get(0).getAvailable());
+        assertEquals(OptionalInt.of(2), ledger.available(1));
+    }
+
+    @Test
+    void testRollbackReturnsReservedStock() {
+        assertThrows(IllegalStateException.class, () -> transactionTemplate.executeWithoutResult(status -> {
+            ledger.reserve(Map.of(1L, 6), () -> 1L);
+            throw new IllegalStateException("rollback");
+        }));
+
+        assertEquals(OptionalInt.of(10), ledger.available(1));
+        assertEquals(0, ledger.pendingOrders());
+        // O stream de estoque pode ter lido o valor separado antes do rollback
+        verify(eventPublisher).publishEvent(ProductChangedEvent.stockChanged(Set.of(1L)));
+    }
+
+    @Test
+    void testAvailableFallsBackToDatabaseStockMinusUnflushedSales() {
+        assertTrue(sell(1, 3).isEmpty());
+        ledger.onProductChanged(new ProductChangedEvent(Set.of(1L), false));
+
+        assertEquals(OptionalInt.empty(), ledger.available(1));
+        assertEquals(7, ledger.available(1, stockInDatabase()));
+        assertEquals(5, ledger.available(2, 5));
+    }
+
+    @Test
+    void testCartHoldsAreRebuiltFromReservationsAtStartup() {
+        transactionTemplate.executeWithoutResult(status -> {
+            assertTrue(ledger.hold(Map.of(1L, 4)).isEmpty());
+            jdbcTemplate.update("INSERT INTO stock_reservation_items VALUES (1, 4)");
+        });
+        assertEquals(OptionalInt.of(6), ledger.available(1));
+        assertEquals(0, ledger.pendingOrders());
+        assertEquals(10, stockInDatabase());
+
+        // Reinício: o ledger novo só conhece o que está em stock_reservation_items
+        StockLedger restarted = new StockLedger(jdbcTemplate, transactionTemplate, mock(ApplicationEventPublisher.class),
+                new SimpleMeterRegistry(), 4, 60_000, 1000);
+        restarted.start();
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    assertEquals(6, restarted.hold(Map.of(1L, 7)).get(0).getAvailable()));
+
+            transactionTemplate.executeWithoutResult(status -> {
+                restarted.release(Map.of(1L, 4));
+                jdbcTemplate.update("DELETE FROM stock_reservation_items");
+            });
+            assertEquals(OptionalInt.of(10), restarted.available(1));
+            assertEquals(10, stockInDatabase());
+        } finally {
+            restarted.stop();
+        }
+    }
+
+    @Test
+    void testConfirmedHoldIsWrittenLikeASale() {
+        transactionTemplate.executeWithoutResult(status -> assertTrue(ledger.hold(Map.of(1L, 4)).isEmpty()));
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("INSERT INTO orders VALUES (5, FALSE)");
+            ledger.confirm(Map.of(1L, 4), () -> 5L);
+        });
+        assertEquals(1, ledger.pendingOrders());
+
+        ledger.flush();
+        assertEquals(6, stockInDatabase());
+        assertEquals(4, jdbcTemplate.queryForObject("SELECT sold_quantity FROM products WHERE id = 1", Integer.class));
+        assertEquals(OptionalInt.of(6), ledger.available(1));
+    }
+
+    @Test
+    void testListenerFailureAfterCommitDoesNotReapplyTheBatch() {
+        assertTrue(sell(1, 3).isEmpty());
+        doThrow(new IllegalStateException("listener")).when(eventPublisher)
+                .publishEvent(ProductChangedEvent.stockChanged(Set.of(1L)));
+
+        ledger.flush();
+        ledger.flush();
+
+        assertEquals(7, stockInDatabase());
+        assertEquals(0, ledger.pendingOrders());
+        assertEquals(OptionalInt.of(7), ledger.available(1));
+    }
+}
@@ -0,0 +1,100 @@
+package application.inventory;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WarehouseAllocatorTest {
+
+    private static int shipments(int[] taken, int warehouses) {
+        int used = 0;
+        for (int w = 0; w < warehouses; w++) {
+            for (int i = w; i < taken.length; i += warehouses) {
+                if (taken[i] > 0) {
+                    used++;
+                    break;
+                }
+            }
+        }
+        return used;
+    }
+
+    @Test
+    void testPrefersSingleWarehouseThatServesWholeCart() {
+        WarehouseAllocator allocator = new WarehouseAllocator(3, Integer.MAX_VALUE);
+        // Só o terceiro armazém tem as duas linhas inteiras
+        int[] taken = allocator.allocate(new int[]{4, 2}, new int[]{
+                5, 0, 4,
+                0, 3, 2});
+
+        assertArrayEquals(new int[]{0, 0, 4, 0, 0, 2}, taken);
+    }
+
+    @Test
+    void testSplitsLineAcrossWarehousesWhenNoneHasEnough() {
+        WarehouseAllocator allocator = new WarehouseAllocator(3, Integer.MAX_VALUE);
+        int[] taken = allocator.allocate(new int[]{5, 1}, new int[]{
+                3, 2, 1,
+                0, 1, 0});
+
+        assertEquals(5, taken[0] + taken[1] + taken[2]);
+        assertEquals(1, taken[4]);
+        assertEquals(2, shipments(taken, 3));
+    }
+
+    @Test
+    void testTiesGoToFirstWarehouse() {
+        WarehouseAllocator allocator = new WarehouseAllocator(3, Integer.MAX_VALUE);
+        int[] taken = allocator.allocate(new int[]{1}, new int[]{3, 3, 3});
+
+        assertArrayEquals(new int[]{1, 0, 0}, taken);
+    }
+
+    @Test
+    void testParallelEvaluationPicksSameAllocation() {
+        Random random = new Random(42);
+        WarehouseAllocator sequential = new WarehouseAllocator(4, Integer.MAX_VALUE);
+        WarehouseAllocator parallel = new WarehouseAllocator(4, 1);
+        for (int cart = 0; cart < 500; cart++) {
+            int lines = 1 + random.nextInt(300);
+            int[] quantities = new int[lines];
+            int[] available = new int[lines * 4];
+            for (int line = 0; line < lines; line++) {
+                int total = 0;
+                for (int w = 0; w < 4; w++) {
+                    available[line * 4 + w] = random.nextInt(10);
+                    total += available[line * 4 + w];
+                }
+                quantities[line] = Math.max(1, random.nextInt(total + 1));
+                available[line * 4 + random.nextInt(4)] += quantities[line];
+            }
+
+            int[] expected = sequential.allocate(quantities, available);
+            assertArrayEquals(expected, parallel.allocate(quantities, available));
+            for (int line = 0; line < lines; line++) {
+                int sum = 0;
+                for (int w = 0; w < 4; w++) {
+                    assertTrue(expected[line * 4 + w] <= available[line * 4 + w]);
+                    sum += expected[line * 4 + w];
+                }
+                assertEquals(quantities[line], sum);
+            }
+        }
+    }
+
+    @Test
+    void testCandidatesArePermutationsUpToFiveWarehouses() {
+        assertEquals(6, WarehouseAllocator.candidateOrders(3).length);
+        assertEquals(120, WarehouseAllocator.candidateOrders(5).length);
+        assertEquals(8, WarehouseAllocator.candidateOrders(8).length);
+        assertArrayEquals(new int[]{0, 1, 2}, WarehouseAllocator.candidateOrders(3)[0]);
+    }
+
+    @Test
+    void testRejectsLineLargerThanAllWarehouses() {
+        WarehouseAllocator allocator = new WarehouseAllocator(2, Integer.MAX_VALUE);
+        assertThrows(IllegalArgumentException.class, () -> allocator.allocate(new int[]{5}, new int[]{2, 2}));
+    }
+}
@@ -0,0 +1,119 @@
+package application.inventory;
+
+import application.entity.OrderAllocation;
+import application.event.ProductChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+class WarehouseInventoryTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private ApplicationEventPublisher eventPublisher;
+    private WarehouseInventory inventory;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        jdbcTemplate.execute("CREATE TABLE products (id BIGINT PRIMARY KEY, stock INT, sold_quantity BIGINT, version BIGINT)");
+        jdbcTemplate.execute("CREATE TABLE warehouses (id BIGINT PRIMARY KEY)");
+        jdbcTemplate.execute("CREATE TABLE warehouse_stock (product_id BIGINT, warehouse_id BIGINT, quantity INT, " +
+                "PRIMARY KEY (product_id, warehouse_id))");
+        jdbcTemplate.execute("CREATE TABLE orders (id BIGINT PRIMARY KEY, stock_synced BOOLEAN)");
+        jdbcTemplate.execute("CREATE TABLE order_items (order_id BIGINT, product_id BIGINT, quantity INT)");
+        jdbcTemplate.update("INSERT INTO warehouses VALUES (1), (2)");
+        jdbcTemplate.update("INSERT INTO products VALUES (1, 9, 0, 0)");
+        jdbcTemplate.update("INSERT INTO warehouse_stock VALUES (1, 1, 4), (1, 2, 5)");
+
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        inventory = new WarehouseInventory(jdbcTemplate, transactionTemplate, eventPublisher,
+                new SimpleMeterRegistry(), 1000, 60_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (inventory.isRunning()) {
+            inventory.stop();
+        }
+    }
+
+    @Test
+    void testReservesBeforeApplicationReady() {
+        inventory.start();
+
+        List<OrderAllocation> allocations = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status ->
+                assertTrue(inventory.reserve(Map.of(1L, 6), allocations::add, () -> null).isEmpty()));
+
+        assertEquals(6, allocations.stream().mapToInt(OrderAllocation::getQuantity).sum());
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT SUM(quantity) FROM warehouse_stock", Integer.class));
+    }
+
+    @Test
+    void testReconcileInsertsAndUpdatesWarehouseRows() {
+        jdbcTemplate.update("INSERT INTO products VALUES (2, 5, 0, 0)");
+        jdbcTemplate.update("UPDATE products SET stock = 13 WHERE id = 1");
+
+        inventory.reconcile(false);
+
+        assertEquals(13, jdbcTemplate.queryForObject(
+                "SELECT SUM(quantity) FROM warehouse_stock WHERE product_id = 1", Integer.class));
+        assertEquals(List.of(3, 2), jdbcTemplate.queryForList(
+                "SELECT quantity FROM warehouse_stock WHERE product_id = 2 ORDER BY warehouse_id", Integer.class));
+    }
+
+    @Test
+    void testListenerFailureAfterCommitDoesNotReapplyTheTotals() {
+        inventory.start();
+        transactionTemplate.executeWithoutResult(status ->
+                assertTrue(inventory.reserve(Map.of(1L, 6), allocation -> { }, () -> null).isEmpty()));
+        doThrow(new IllegalStateException("listener")).when(eventPublisher)
+                .publishEvent(ProductChangedEvent.stockChanged(Set.of(1L)));
+
+        inventory.flush();
+        inventory.flush();
+
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT stock FROM products WHERE id = 1", Integer.class));
+    }
+
+    @Test
+    void testReconcileKeepsDecrementCommittedAfterItsRead() {
+        // Um pedido decrementa o armazém 1 depois da leitura do reconcile e antes do MERGE
+        JdbcTemplate racing = new JdbcTemplate(jdbcTemplate.getDataSource()) {
+            @Override
+            public int[] batchUpdate(String sql, List<Object[]> batchArgs) {
+                if (sql.startsWith("MERGE")) {
+                    jdbcTemplate.update("UPDATE warehouse_stock SET quantity = quantity - 1 WHERE product_id = 1 AND warehouse_id = 1");
+                }
+                return super.batchUpdate(sql, batchArgs);
+            }
+        };
+        inventory = new WarehouseInventory(racing, transactionTemplate, eventPublisher, new SimpleMeterRegistry(), 1000, 60_000);
+        jdbcTemplate.update("UPDATE products SET stock = 13 WHERE id = 1");
+
+        inventory.reconcile(false);
+
+        assertEquals(List.of(5, 7), jdbcTemplate.queryForList(
+                "SELECT quantity FROM warehouse_stock WHERE product_id = 1 ORDER BY warehouse_id", Integer.class));
+    }
+}
@@ -0,0 +1,106 @@
+package application.pricing;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    // Cálculo anterior do OrderService, referência para a equivalência
+    private static BigDecimal legacyLineTotal(BigDecimal unitPrice, int quantity) {
+        return unitPrice.multiply(BigDecimal.valueOf(quantity)).setScale(2, RoundingMode.HALF_EVEN);
+    }
+
+    private static BigDecimal lineTotal(BigDecimal unitPrice, int quantity) {
+        return Money.toBigDecimal(Money.lineTotal(unitPrice, quantity));
+    }
+
+    @Test
+    void testLineTotalMatchesBigDecimalForEveryPriceUpTo1000() {
+        for (long cents = 0; cents <= 100_000; cents++) {
+            BigDecimal unitPrice = BigDecimal.valueOf(cents, 2);
+            for (int quantity = 1; quantity <= 64; quantity++) {
+                BigDecimal expected = legacyLineTotal(unitPrice, quantity);
+                BigDecimal actual = lineTotal(unitPrice, quantity);
+                if (!expected.equals(actual)) {
+                    fail(unitPrice + " x " + quantity + ": esperado " + expected + ", obtido " + actual);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testLineTotalMatchesBigDecimalForOtherScales() {
+        Random random = new Random(42);
+        for (int i = 0; i < 1_000_000; i++) {
+            BigDecimal unitPrice = BigDecimal.valueOf(random.nextInt(10_000_000), random.nextInt(7) - 1);
+            int quantity = 1 + random.nextInt(1000);
+            assertEquals(legacyLineTotal(unitPrice, quantity), lineTotal(unitPrice, quantity),
+                    unitPrice + " x " + quantity);
+        }
+    }
+
+    @Test
+    void testRoundsHalfEvenOnceOnLineTotal() {
+        assertEquals(new BigDecimal("0.12"), lineTotal(new BigDecimal("0.125"), 1));
+        assertEquals(new BigDecimal("0.14"), lineTotal(new BigDecimal("0.135"), 1));
+        // 0.005 x 3 = 0.015 -> 0.02; arredondar o preço antes daria 0.00
+        assertEquals(new BigDecimal("0.02"), lineTotal(new BigDecimal("0.005"), 3));
+        assertEquals(new BigDecimal("12.00"), lineTotal(new BigDecimal("3.999"), 3));
+        assertEquals(new BigDecimal("30.00"), lineTotal(new BigDecimal("1E+1"), 3));
+    }
+
+    @Test
+    void testOrderTotalMatchesBigDecimalSum() {
+        Random random = new Random(7);
+        for (int order = 0; order < 2_000; order++) {
+            BigDecimal expected = BigDecimal.ZERO;
+            long total = 0;
+            int lines = 1 + random.nextInt(500);
+            for (int line = 0; line < lines; line++) {
+                BigDecimal unitPrice = BigDecimal.valueOf(1 + random.nextInt(1_000_000), 2);
+                int quantity = 1 + random.nextInt(100);
+                expected = expected.add(legacyLineTotal(unitPrice, quantity));
+                total = Money.add(total, Money.lineTotal(unitPrice, quantity));
+            }
+            assertEquals(expected.setScale(2, RoundingMode.HALF_EVEN), Money.toBigDecimal(total));
+        }
+    }
+
+    @Test
+    void testPercentOffMatchesBigDecimal() {
+        for (long cents = 0; cents <= 20_000; cents++) {
+            for (int basisPoints = 1; basisPoints < Money.BASIS_POINTS; basisPoints += 37) {
+                BigDecimal expected = BigDecimal.valueOf(cents, 2)
+                        .multiply(BigDecimal.ONE.subtract(BigDecimal.valueOf(basisPoints, 4)))
+                        .setScale(2, RoundingMode.HALF_EVEN);
+                assertEquals(expected, Money.toBigDecimal(Money.percentOff(cents, basisPoints)),
+                        cents + " - " + basisPoints + "bp");
+            }
+        }
+        // 0,25 - 50% = 0,125 -> 0,12 e 0,35 - 50% = 0,175 -> 0,18
+        assertEquals(12, Money.percentOff(25, 5000));
+        assertEquals(18, Money.percentOff(35, 5000));
+    }
+
+    @Test
+    void testConvertsBoundaryValues() {
+        assertEquals(new BigDecimal("0.00"), Money.toBigDecimal(0));
+        assertEquals(999_999_999_999L, Money.toCents(new BigDecimal("9999999999.99")));
+        assertEquals(new BigDecimal("9999999999.99"), Money.toBigDecimal(999_999_999_999L));
+        assertEquals(1890, Money.toCents(new BigDecimal("18.9")));
+        assertEquals(1800, Money.toCents(new BigDecimal("18")));
+        assertEquals(Long.MAX_VALUE, Money.toCents(BigDecimal.valueOf(Long.MAX_VALUE, 2)));
+    }
+
+    @Test
+    void testOverflowThrowsInsteadOfWrapping() {
+        assertThrows(ArithmeticException.class, () -> Money.multiply(Long.MAX_VALUE / 2, 3));
+        assertThrows(ArithmeticException.class, () -> Money.add(Long.MAX_VALUE, 1));
+        assertThrows(ArithmeticException.class, () -> Money.toCents(BigDecimal.valueOf(Long.MAX_VALUE)));
+    }
+}
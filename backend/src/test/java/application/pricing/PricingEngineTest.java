@@ -0,0 +1,46 @@
+package application.pricing;
+
+import application.entity.PriceRule;
+import application.repository.PriceRuleRepository;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PricingEngineTest {
+
+    @Test
+    void testOlderReloadFinishingLastDoesNotOverwriteNewerSnapshot() throws Exception {
+        PriceRuleRepository repository = mock(PriceRuleRepository.class);
+        PricingEngine engine = new PricingEngine(repository);
+        CountDownLatch firstReading = new CountDownLatch(1);
+        CountDownLatch secondDone = new CountDownLatch(1);
+
+        // A primeira recompilação lê as regras antigas e só termina depois da segunda
+        when(repository.findNotExpired(any()))
+                .thenAnswer(invocation -> {
+                    firstReading.countDown();
+                    assertTrue(secondDone.await(5, TimeUnit.SECONDS));
+                    return List.of();
+                })
+                .thenReturn(List.of(
+                        PriceRule.tier(1L, 2, new BigDecimal("10")),
+                        PriceRule.tier(2L, 2, new BigDecimal("5"))));
+
+        CompletableFuture<Void> first = CompletableFuture.runAsync(engine::reload);
+        assertTrue(firstReading.await(5, TimeUnit.SECONDS));
+        engine.reload();
+        secondDone.countDown();
+        first.get(5, TimeUnit.SECONDS);
+
+        assertEquals(2, engine.snapshot().getRuleCount());
+    }
+}
@@ -0,0 +1,90 @@
+package application.reservation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    @Test
+    void testExpiresOnFirstAdvanceAfterDeadlineAcrossAllLevels() {
+        Random random = new Random(42);
+        TimingWheel<Integer> wheel = new TimingWheel<>(1, 0);
+        Map<Integer, Long> deadlines = new HashMap<>();
+        for (int i = 0; i < 20_000; i++) {
+            // Até 400 mil ticks: passa das três primeiras rodas (64^3 = 262.144)
+            long deadline = random.nextInt(400_000);
+            deadlines.put(i, deadline);
+            wheel.schedule(i, deadline);
+        }
+
+        long previous = 0;
+        long now = 0;
+        int expired = 0;
+        while (now < 400_000) {
+            now = Math.min(400_000, now + 1 + random.nextInt(500));
+            for (Integer value : wheel.advance(now)) {
+                long deadline = deadlines.get(value);
+                assertTrue(deadline <= now, "expirou antes do prazo: " + value);
+                assertTrue(deadline > previous, "atrasou um advance: " + value);
+                expired++;
+            }
+            previous = now;
+        }
+
+        assertEquals(deadlines.size(), expired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testCancelledAndRescheduledEntries() {
+        TimingWheel<String> wheel = new TimingWheel<>(100, 1_000);
+        TimingWheel.Timeout<String> cancelled = wheel.schedule("cancelada", 5_000);
+        TimingWheel.Timeout<String> extended = wheel.schedule("prorrogada", 5_000);
+        wheel.schedule("normal", 5_000);
+        assertEquals(3, wheel.size());
+
+        assertTrue(wheel.cancel(cancelled));
+        assertFalse(wheel.cancel(cancelled));
+        assertTrue(wheel.reschedule(extended, 60_000));
+
+        assertEquals(List.of(), wheel.advance(4_999));
+        assertEquals(List.of("normal"), wheel.advance(5_000));
+        assertEquals(List.of(), wheel.advance(59_900));
+        assertEquals(List.of("prorrogada"), wheel.advance(60_000));
+        assertFalse(wheel.isPending(extended));
+        assertFalse(wheel.reschedule(extended, 90_000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testRoundsDeadlineUpToNextTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(100, 0);
+        wheel.schedule("a", 150);
+        wheel.schedule("vencida", -500);
+
+        assertEquals(List.of("vencida"), wheel.advance(100));
+        assertEquals(List.of("a"), wheel.advance(200));
+    }
+
+    @Test
+    void testDeadlineBeyondTopWheelIsRedistributed() {
+        TimingWheel<String> wheel = new TimingWheel<>(1, 0);
+        long beyond = (1L << (TimingWheel.WHEEL_BITS * TimingWheel.LEVELS)) + 5_000;
+        wheel.schedule("distante", beyond);
+
+        List<String> expired = new ArrayList<>();
+        for (long now = 0; now < beyond - 1; now += 1_000_000) {
+            expired.addAll(wheel.advance(now));
+        }
+        expired.addAll(wheel.advance(beyond - 1));
+        assertEquals(List.of(), expired);
+        assertEquals(List.of("distante"), wheel.advance(beyond));
+    }
+}
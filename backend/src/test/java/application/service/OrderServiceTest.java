@@ -0,0 +1,424 @@
+package application.service;
+
+import application.dto.OrderItemRequestDTO;
+import application.dto.OrderRequestDTO;
+import application.dto.OrderResponseDTO;
+import application.dto.StockErrorDTO;
+import application.entity.Order;
+import application.entity.OrderItem;
+import application.entity.PriceRule;
+import application.entity.Product;
+import application.event.ProductChangedEvent;
+import application.event.ProductsSoldEvent;
+import application.exception.InsufficientStockException;
+import application.inventory.StockLedger;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import application.metrics.OrderMetrics;
+import application.pricing.PricingEngine;
+import application.repository.OrderRepository;
+import application.repository.PriceRuleRepository;
+import application.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import application.service.OrderOutcome;
+import application.service.OrderService;
+import application.service.StockReservationMode;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderServiceTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PriceRuleRepository priceRuleRepository;
+
+    private PricingEngine pricingEngine;
+
+    private OrderService orderService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OrderMetrics orderMetrics;
+
+    private Product product1;
+    private Product product2;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        orderMetrics = new OrderMetrics(meterRegistry);
+        pricingEngine = new PricingEngine(priceRuleRepository);
+        orderService = new OrderService(orderRepository, productRepository, StockReservationMode.OPTIMISTIC, Optional.empty(), Optional.empty(), eventPublisher, orderMetrics, pricingEngine);
+
+        product1 = new Product("Café Torrado 500g", new BigDecimal("18.90"), 5);
+        product1.setId(1L);
+        
+        product2 = new Product("Garrafa Térmica 1L", new BigDecimal("79.90"), 2);
+        product2.setId(2L);
+    }
+
+    @Test
+    void testCreateOrderSuccess() {
+        OrderItemRequestDTO item1 = new OrderItemRequestDTO(1L, 2);
+        OrderItemRequestDTO item2 = new OrderItemRequestDTO(2L, 1);
+        OrderRequestDTO orderRequest = new OrderRequestDTO(Arrays.asList(item1, item2));
+
+        when(productRepository.findAllById(any())).thenReturn(Arrays.asList(product1, product2));
+        when(orderRepository.save(any())).thenAnswer(invocation -> {
+            var order = invocation.getArgument(0);
+            return order;
+        });
+
+        OrderResponseDTO result = orderService.createOrder(orderRequest);
+
+        assertNotNull(result);
+        assertEquals(new BigDecimal("117.70"), result.getTotal());
+        assertEquals(2, result.getItems().size());
+        
+        verify(productRepository, times(1)).findAllById(any());
+        verify(productRepository, never()).findById(any());
+        verify(productRepository, never()).save(any(Product.class));
+        assertEquals(3, product1.getStock());
+        assertEquals(1, product2.getStock());
+    }
+
+    @Test
+    void testEachCheckoutPhaseIsTimed() {
+        OrderRequestDTO orderRequest = new OrderRequestDTO(Arrays.asList(new OrderItemRequestDTO(1L, 2)));
+
+        when(productRepository.findAllById(any())).thenReturn(List.of(product1));
+        when(orderRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+
+        orderService.createOrder(orderRequest);
+
+        for (String phase : List.of("load_products", "validate_stock", "decrement_stock", "persist", "to_dto")) {
+            assertEquals(1, meterRegistry.get("orders.create.phase").tag("phase", phase).timer().count(), phase);
+        }
+    }
+
+    @Test
+    void testConfirmedOrderCountsSoldQuantityWithTheStockDecrement() {
+        OrderRequestDTO orderRequest = new OrderRequestDTO(Arrays.asList(
+            new OrderItemRequestDTO(1L, 2), new OrderItemRequestDTO(1L, 1), new OrderItemRequestDTO(2L, 1)));
+
+        when(productRepository.findAllById(any())).thenReturn(Arrays.asList(product1, product2));
+        when(orderRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+
+        orderService.createOrder(orderRequest);
+
+        // No mesmo UPDATE versionado do estoque, sem outro UPDATE no produto
+        assertEquals(3L, product1.getSoldQuantity());
+        assertEquals(1L, product2.getSoldQuantity());
+        verify(eventPublisher).publishEvent(new ProductsSoldEvent(Map.of(1L, 3, 2L, 1)));
+    }
+
+    @Test
+    void testCreateOrderInsufficientStock() {
+        OrderItemRequestDTO item1 = new OrderItemRequestDTO(1L, 10);
+        OrderItemRequestDTO item2 = new OrderItemRequestDTO(2L, 3);
+        OrderRequestDTO orderRequest = new OrderRequestDTO(Arrays.asList(item1, item2));
+
+        when(productRepository.findAllById(any())).thenReturn(Arrays.asList(product1, product2));
+
+        InsufficientStockException exception = assertThrows(
+            InsufficientStockException.class,
+            () -> orderService.createOrder(orderRequest)
+        );
+
+        List<StockErrorDTO> stockErrors = exception.getStockErrors();
+        assertEquals(2, stockErrors.size());
+        
+        assertTrue(stockErrors.stream().anyMatch(error ->
+            error.getProductId().equals(1L) && error.getAvailable().equals(5)));
+        assertTrue(stockErrors.stream().anyMatch(error -> 
+            error.getProductId().equals(2L) && error.getAvailable().equals(2)));
+
+        verify(productRepository, never()).save(any(Product.class));
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    void testCreateOrderPartialInsufficientStock() {
+        OrderItemRequestDTO item1 = new OrderItemRequestDTO(1L, 2);
+        OrderItemRequestDTO item2 = new OrderItemRequestDTO(2L, 5);
+        OrderRequestDTO orderRequest = new OrderRequestDTO(Arrays.asList(item1, item2));
+
+        when(productRepository.findAllById(any())).thenReturn(Arrays.asList(product1, product2));
+
+        InsufficientStockException exception = assertThrows(
+            InsufficientStockException.class,
+            () -> orderService.createOrder(orderRequest)
+        );
+
+        List<StockErrorDTO> stockErrors = exception.getStockErrors();
+        assertEquals(1, stockErrors.size());
+        assertEquals(2L, stockErrors.get(0).getProductId());
+        assertEquals(2, stockErrors.get(0).getAvailable());
+
+        verify(productRepository, never()).save(any(Product.class));
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    void testCreateOrderProductNotFound() {
+        OrderItemRequestDTO item = new OrderItemRequestDTO(999L, 1);
+        OrderRequestDTO orderRequest = new OrderRequestDTO(Arrays.asList(item));
+
+        when(productRepository.findAllById(any())).thenReturn(List.of());
+
+        RuntimeException exception = assertThrows(
+            RuntimeException.class,
+            () -> orderService.createOrder(orderRequest)
+        );
+
+        assertTrue(exception.getMessage().contains("Produto não encontrado: 999"));
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    void testCreateOrderEmptyItems() {
+        OrderRequestDTO orderRequest = new OrderRequestDTO(Arrays.asList());
+
+        when(orderRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+
+        OrderResponseDTO result = orderService.createOrder(orderRequest);
+
+        assertNotNull(result);
+        assertEquals(BigDecimal.ZERO.setScale(2), result.getTotal());
+        assertEquals(0, result.getItems().size());
+    }
+
+    @Test
+    void testDuplicateLinesAreValidatedTogether() {
+        OrderItemRequestDTO line1 = new OrderItemRequestDTO(1L, 3);
+        OrderItemRequestDTO line2 = new OrderItemRequestDTO(1L, 3);
+        OrderRequestDTO orderRequest = new OrderRequestDTO(Arrays.asList(line1, line2));
+
+        when(productRepository.findAllById(any())).thenReturn(List.of(product1));
+
+        InsufficientStockException exception = assertThrows(
+            InsufficientStockException.class,
+            () -> orderService.createOrder(orderRequest)
+        );
+
+        List<StockErrorDTO> stockErrors = exception.getStockErrors();
+        assertEquals(1, stockErrors.size());
+        assertEquals(1L, stockErrors.get(0).getProductId());
+        assertEquals(5, stockErrors.get(0).getAvailable());
+        assertEquals(5, product1.getStock());
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldCreateOrderWhenStockIsSufficient() {
+        Product product = new Product();
+        product.setId(1L);
+        product.setName("Café Torrado 500g");
+        product.setPrice(BigDecimal.valueOf(18.90));
+        product.setStock(5);
+
+        when(productRepository.findAllById(any())).thenReturn(List.of(product));
+        when(orderRepository.save(any(Order.class))).thenAnswer(i -> {
+            Order order = i.getArgument(0);
+            order.setId(1L);
+            return order;
+        });
+
+        OrderRequestDTO dto = new OrderRequestDTO(
+                List.of(new OrderItemRequestDTO(1L, 2))
+        );
+
+        var response = orderService.createOrder(dto);
+
+        assertNotNull(response.getId());
+        assertEquals(BigDecimal.valueOf(37.80).setScale(2), response.getTotal());
+        assertEquals(3, product.getStock());
+        verify(orderRepository).save(any(Order.class));
+    }
+
+    @Test
+    void testAtomicModeDecrementsWithConditionalUpdate() {
+        orderService = new OrderService(orderRepository, productRepository, StockReservationMode.ATOMIC, Optional.empty(), Optional.empty(), eventPublisher, orderMetrics, pricingEngine);
+        OrderRequestDTO orderRequest = new OrderRequestDTO(Arrays.asList(
+            new OrderItemRequestDTO(1L, 2), new OrderItemRequestDTO(2L, 1)));
+
+        when(productRepository.findAllById(any())).thenReturn(Arrays.asList(product1, product2));
+        when(productRepository.sellIfAvailable(any(), anyInt())).thenReturn(1);
+        when(orderRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+
+        OrderResponseDTO result = orderService.createOrder(orderRequest);
+
+        assertEquals(new BigDecimal("117.70"), result.getTotal());
+        verify(productRepository).sellIfAvailable(1L, 2);
+        verify(productRepository).sellIfAvailable(2L, 1);
+        verify(productRepository, never()).save(any(Product.class));
+        verify(eventPublisher).publishEvent(any(ProductChangedEvent.class));
+        assertEquals(5, product1.getStock());
+    }
+
+    @Test
+    void testAtomicModeLeavesRollbackToTransactionWhenAnotherOrderWonTheRace() {
+        orderService = new OrderService(orderRepository, productRepository, StockReservationMode.ATOMIC, Optional.empty(), Optional.empty(), eventPublisher, orderMetrics, pricingEngine);
+        OrderRequestDTO orderRequest = new OrderRequestDTO(Arrays.asList(
+            new OrderItemRequestDTO(1L, 2), new OrderItemRequestDTO(2L, 2)));
+
+        when(productRepository.findAllById(any())).thenReturn(Arrays.asList(product1, product2));
+        when(productRepository.sellIfAvailable(1L, 2)).thenReturn(1);
+        when(productRepository.sellIfAvailable(2L, 2)).thenReturn(0);
+        when(productRepository.findStockById(2L)).thenReturn(1);
+
+        InsufficientStockException exception = assertThrows(
+            InsufficientStockException.class,
+            () -> orderService.createOrder(orderRequest)
+        );
+
+        assertEquals(1, exception.getStockErrors().size());
+        assertEquals(2L, exception.getStockErrors().get(0).getProductId());
+        assertEquals(1, exception.getStockErrors().get(0).getAvailable());
+        // Sem UPDATE de compensação: a exceção desfaz a baixa do produto 1 junto com a transação
+        verify(productRepository).sellIfAvailable(1L, 2);
+        verify(productRepository, never()).incrementStock(any(), anyInt());
+        verify(eventPublisher, never()).publishEvent(any(ProductChangedEvent.class));
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    void testLedgerCheckoutPublishesStockChange() {
+        StockLedger stockLedger = mock(StockLedger.class);
+        orderService = new OrderService(orderRepository, productRepository, StockReservationMode.LEDGER, Optional.of(stockLedger), Optional.empty(), eventPublisher, orderMetrics, pricingEngine);
+        OrderRequestDTO orderRequest = new OrderRequestDTO(List.of(new OrderItemRequestDTO(1L, 2)));
+
+        when(productRepository.findAllById(any())).thenReturn(List.of(product1));
+        when(stockLedger.reserve(eq(Map.of(1L, 2)), any())).thenReturn(List.of());
+        when(orderRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+
+        orderService.createOrder(orderRequest);
+
+        // Nada passa pela entidade: sem o evento, o stream de estoque não veria a venda
+        verify(eventPublisher).publishEvent(ProductChangedEvent.stockChanged(Set.of(1L)));
+        assertEquals(5, product1.getStock());
+    }
+
+    @Test
+    void testGroupCommitIsolatesOrderWithoutStock() {
+        OrderRequestDTO first = new OrderRequestDTO(List.of(new OrderItemRequestDTO(1L, 4)));
+        OrderRequestDTO second = new OrderRequestDTO(List.of(new OrderItemRequestDTO(1L, 2)));
+        OrderRequestDTO third = new OrderRequestDTO(List.of(new OrderItemRequestDTO(1L, 1), new OrderItemRequestDTO(2L, 2)));
+
+        when(productRepository.findAllById(any())).thenReturn(Arrays.asList(product1, product2));
+
+        List<OrderOutcome> outcomes = orderService.createOrders(List.of(first, second, third));
+
+        assertNotNull(outcomes.get(0).order());
+        assertInstanceOf(InsufficientStockException.class, outcomes.get(1).error());
+        assertNotNull(outcomes.get(2).order());
+        assertEquals(0, product1.getStock());
+        assertEquals(0, product2.getStock());
+        verify(productRepository, times(1)).findAllById(any());
+        verify(orderRepository, times(1)).saveAll(argThat(orders -> ((List<?>) orders).size() == 2));
+    }
+
+    @Test
+    void testOrderHistoryLoadsItemsWithSingleFetchQuery() {
+        Order order = new Order(new BigDecimal("37.80"));
+        order.setId(7L);
+        order.addItem(new OrderItem(product1, 2, product1.getPrice()));
+
+        when(orderRepository.findOrderIds(any())).thenReturn(new PageImpl<>(List.of(7L), PageRequest.of(0, 20), 1));
+        when(orderRepository.findWithItemsByIdIn(List.of(7L))).thenReturn(List.of(order));
+
+        Page<OrderResponseDTO> page = orderService.findOrders(0, 20);
+
+        assertEquals(1, page.getTotalElements());
+        assertEquals("Café Torrado 500g", page.getContent().get(0).getItems().get(0).getProductName());
+        verify(orderRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void testPriceRulesComeFromCompiledSnapshot() {
+        PriceRule tier = PriceRule.tier(1L, 2, new BigDecimal("10"));
+        tier.setId(1L);
+        PriceRule customerPrice = PriceRule.customerPrice(2L, 7L, new BigDecimal("70.00"));
+        customerPrice.setId(2L);
+        PriceRule promotion = PriceRule.promotion(2L, new BigDecimal("20"),
+                LocalDateTime.now().minusHours(1), LocalDateTime.now().plusHours(1));
+        promotion.setId(3L);
+        when(priceRuleRepository.findNotExpired(any())).thenReturn(List.of(tier, customerPrice, promotion));
+        pricingEngine.reload();
+
+        OrderRequestDTO orderRequest = new OrderRequestDTO(Arrays.asList(
+                new OrderItemRequestDTO(1L, 1), new OrderItemRequestDTO(2L, 1), new OrderItemRequestDTO(1L, 1)));
+        orderRequest.setCustomerId(7L);
+        when(productRepository.findAllById(any())).thenReturn(Arrays.asList(product1, product2));
+        when(orderRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        OrderResponseDTO result = orderService.createOrder(orderRequest);
+
+        // Faixa pela quantidade total do produto (2 = 1 + 1): 18,90 - 10%; cliente 70,00 - 20% da promoção
+        assertEquals(new BigDecimal("17.01"), result.getItems().get(0).getUnitPrice());
+        assertEquals(new BigDecimal("56.00"), result.getItems().get(1).getUnitPrice());
+        assertEquals(new BigDecimal("90.02"), result.getTotal());
+        verify(priceRuleRepository, times(1)).findNotExpired(any());
+    }
+
+    @Test
+    void testConfirmedReservationCountsSoldOnTheEntity() {
+        when(productRepository.findAllById(any())).thenReturn(List.of(product1));
+        when(orderRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+
+        orderService.createReservedOrder(new OrderRequestDTO(List.of(new OrderItemRequestDTO(1L, 2))), List.of());
+
+        // Vendido no flush versionado da entidade; o estoque já saiu na reserva
+        assertEquals(2L, product1.getSoldQuantity());
+        assertEquals(5, product1.getStock());
+        verify(productRepository, never()).sellIfAvailable(any(), anyInt());
+        verify(eventPublisher).publishEvent(new ProductsSoldEvent(Map.of(1L, 2)));
+    }
+
+    @Test
+    void testAtomicReservationCountsSoldOnlyWhenConfirmed() {
+        orderService = new OrderService(orderRepository, productRepository, StockReservationMode.ATOMIC, Optional.empty(), Optional.empty(), eventPublisher, orderMetrics, pricingEngine);
+        when(productRepository.findAllById(any())).thenReturn(List.of(product1));
+        when(productRepository.decrementStockIfAvailable(1L, 2)).thenReturn(1);
+        when(orderRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+
+        // A reserva só separa o estoque; a liberação só o devolve
+        assertTrue(orderService.holdStock(Map.of(1L, 2), allocation -> { }).isEmpty());
+        orderService.releaseStock(Map.of(1L, 2), List.of());
+        verify(productRepository, never()).sellIfAvailable(any(), anyInt());
+        verify(productRepository, never()).addSoldQuantity(any(), anyInt());
+        verify(productRepository).incrementStock(1L, 2);
+
+        orderService.createReservedOrder(new OrderRequestDTO(List.of(new OrderItemRequestDTO(1L, 2))), List.of());
+        verify(productRepository).addSoldQuantity(1L, 2);
+        verify(eventPublisher).publishEvent(new ProductsSoldEvent(Map.of(1L, 2)));
+    }
+}
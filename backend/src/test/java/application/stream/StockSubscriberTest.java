@@ -0,0 +1,77 @@
+package application.stream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StockSubscriberTest {
+
+    @Test
+    void testConflatesUpdatesOfTheSameProductIntoOneEvent() throws Exception {
+        RecordingEmitter emitter = new RecordingEmitter();
+        StockSubscriber subscriber = new StockSubscriber(emitter, Set.of(1L, 2L));
+
+        assertTrue(subscriber.offer(1L, "{\"productId\":1,\"stock\":5}"));
+        assertFalse(subscriber.offer(2L, "{\"productId\":2,\"stock\":9}"));
+        assertFalse(subscriber.offer(1L, "{\"productId\":1,\"stock\":4}"));
+
+        assertEquals(1, subscriber.drain());
+        assertEquals(List.of("[{\"productId\":1,\"stock\":4},{\"productId\":2,\"stock\":9}]"), emitter.sent);
+
+        // Depois de esvaziar, a próxima alteração volta a pedir um writer
+        assertTrue(subscriber.offer(2L, "{\"productId\":2,\"stock\":8}"));
+    }
+
+    @Test
+    void testUpdateArrivingDuringWriteIsSentByTheSameWriter() throws Exception {
+        RecordingEmitter emitter = new RecordingEmitter();
+        StockSubscriber subscriber = new StockSubscriber(emitter, Set.of(1L));
+        emitter.onSend = () -> {
+            emitter.onSend = null;
+            assertFalse(subscriber.offer(1L, "{\"productId\":1,\"stock\":2}"));
+        };
+
+        subscriber.offer(1L, "{\"productId\":1,\"stock\":3}");
+        assertEquals(2, subscriber.drain());
+        assertEquals(List.of("[{\"productId\":1,\"stock\":3}]", "[{\"productId\":1,\"stock\":2}]"), emitter.sent);
+        assertTrue(subscriber.offer(1L, "{\"productId\":1,\"stock\":1}"));
+    }
+
+    @Test
+    void testHeartbeatWithoutUpdatesSendsOnlyAComment() throws Exception {
+        RecordingEmitter emitter = new RecordingEmitter();
+        StockSubscriber subscriber = new StockSubscriber(emitter, Set.of(1L));
+
+        assertTrue(subscriber.ping());
+        assertEquals(0, subscriber.drain());
+        assertEquals(List.of(":ping\n\n"), emitter.sent);
+    }
+
+    // Guarda o texto de cada evento em vez de escrever numa resposta
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<String> sent = new ArrayList<>();
+        private Runnable onSend;
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            StringBuilder text = new StringBuilder();
+            for (ResponseBodyEmitter.DataWithMediaType part : builder.build()) {
+                text.append(part.getData());
+            }
+            String event = text.toString();
+            sent.add(event.startsWith("event:stock\ndata:")
+                    ? event.substring("event:stock\ndata:".length()).trim()
+                    : event);
+            if (onSend != null) {
+                onSend.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package application.benchmark;
+
+import application.EcommerceBackendApplication;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+// Sobe o backend sem servidor web, com um H2 em memória exclusivo e logs silenciosos
+final class BackendContext {
+
+    private BackendContext() {
+    }
+
+    static ConfigurableApplicationContext start(String... properties) {
+        // Como argumentos de linha de comando para prevalecer sobre o application.properties
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.open-in-view=false",
+                "--logging.level.root=WARN",
+                "--logging.level.application=WARN",
+                "--logging.level.org.springframework.web=WARN",
+                // Conflitos de optimistic lock são esperados sob disputa e contados pelo benchmark
+                "--logging.level.org.hibernate.orm.jdbc.batch=OFF"));
+        Arrays.stream(properties).map(property -> "--" + property).forEach(args::add);
+
+        return new SpringApplicationBuilder(EcommerceBackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .run(args.toArray(String[]::new));
+    }
+}
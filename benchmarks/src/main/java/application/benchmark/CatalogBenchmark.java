@@ -0,0 +1,68 @@
+package application.benchmark;
+
+import application.cache.ProductCatalogCache;
+import application.event.ProductChangedEvent;
+import application.search.ProductSearchIndex;
+import application.service.ProductService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// ProductService.findProducts sobre o backend completo, com e sem busca, com o cache do catálogo quente ou vazio
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx2g"})
+public class CatalogBenchmark {
+
+    private static final int PRODUCTS = 100_000;
+
+    @Param({"", "mascavo", "moedor manual"})
+    public String search;
+
+    @Param({"0", "50"})
+    public int page;
+
+    @Param({"10", "100"})
+    public int size;
+
+    @Param({"true", "false"})
+    public boolean cached;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private ProductCatalogCache catalogCache;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BackendContext.start();
+        productService = context.getBean(ProductService.class);
+        catalogCache = context.getBean(ProductCatalogCache.class);
+
+        // A massa entra direto por JDBC, sem eventos: o índice precisa ser reconstruído
+        CatalogFixture.populate(context.getBean(JdbcTemplate.class), PRODUCTS, 50);
+        context.getBean(ProductSearchIndex.class).rebuild();
+    }
+
+    @Setup(Level.Invocation)
+    public void evict() {
+        if (!cached) {
+            catalogCache.onProductChanged(new ProductChangedEvent(Set.of(), true));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object findProducts() {
+        return productService.findProducts(search, page, size);
+    }
+}
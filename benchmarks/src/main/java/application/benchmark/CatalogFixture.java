@@ -0,0 +1,67 @@
+package application.benchmark;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+// Banco H2 em memória com a mesma tabela products do backend, populado com nomes sintéticos
+final class CatalogFixture {
+
+    private static final String[] ITEMS = {
+        "Café Torrado", "Filtro de Papel", "Garrafa Térmica", "Açúcar Mascavo", "Caneca Inox",
+        "Chaleira Elétrica", "Moedor Manual", "Prensa Francesa", "Xícara Porcelana", "Coador de Pano"
+    };
+    private static final String[] VARIANTS = {
+        "500g", "1kg", "nº103", "1L", "300ml", "Preto", "Branco", "Orgânico", "Tradicional", "Premium"
+    };
+
+    private CatalogFixture() {
+    }
+
+    static JdbcTemplate create(int products) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE products (" +
+                "id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "name VARCHAR(120) NOT NULL, " +
+                "price NUMERIC(12,2) NOT NULL, " +
+                "stock INTEGER NOT NULL, " +
+                "active BOOLEAN NOT NULL, " +
+                "version INTEGER NOT NULL)");
+
+        populate(jdbcTemplate, products, 50);
+        return jdbcTemplate;
+    }
+
+    // Também usado sobre o schema criado pelo Hibernate nos benchmarks que sobem o backend
+    static void populate(JdbcTemplate jdbcTemplate, int products, int stock) {
+        long firstId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) + 1 FROM products", Long.class);
+        Random random = new Random(42);
+        List<Object[]> batch = new ArrayList<>(10_000);
+        for (int i = 0; i < products; i++) {
+            String name = ITEMS[random.nextInt(ITEMS.length)] + " " +
+                    VARIANTS[random.nextInt(VARIANTS.length)] + " " + Integer.toString(i, 36);
+            batch.add(new Object[]{firstId + i, name, BigDecimal.valueOf(100 + random.nextInt(10_000), 2), stock});
+            if (batch.size() == 10_000 || i == products - 1) {
+                jdbcTemplate.batchUpdate(
+                        "INSERT INTO products (id, name, price, stock, active, version) VALUES (?, ?, ?, ?, TRUE, 0)", batch);
+                batch.clear();
+            }
+        }
+
+        // No schema do backend os ids vêm de products_seq: recomeça depois dos ids inseridos aqui
+        Integer sequences = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'PRODUCTS_SEQ'", Integer.class);
+        if (sequences != null && sequences > 0) {
+            jdbcTemplate.execute("ALTER SEQUENCE products_seq RESTART WITH " + (firstId + products));
+        }
+    }
+}
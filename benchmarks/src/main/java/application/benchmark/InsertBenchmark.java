@@ -0,0 +1,64 @@
+package application.benchmark;
+
+import application.entity.Order;
+import application.entity.OrderItem;
+import application.repository.OrderRepository;
+import application.repository.ProductRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+// Gravação de um pedido com N itens numa transação (Order + OrderItems em cascata), em pedidos/s.
+// Isola o custo dos INSERTs e da geração de ids: estoque e validação ficam de fora.
+// O caminho do Hibernate demora a compilar; o warmup é longo de propósito.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 20, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class InsertBenchmark {
+
+    private static final BigDecimal PRICE = new BigDecimal("18.90");
+
+    @Param({"1", "10", "50"})
+    public int items;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate transactionTemplate;
+    private OrderRepository orderRepository;
+    private ProductRepository productRepository;
+    private long firstProductId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BackendContext.start();
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        orderRepository = context.getBean(OrderRepository.class);
+        productRepository = context.getBean(ProductRepository.class);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        firstProductId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM products", Long.class) + 1;
+        CatalogFixture.populate(jdbcTemplate, items, 1_000_000);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Order insertOrder() {
+        return transactionTemplate.execute(status -> {
+            Order order = new Order(PRICE.multiply(BigDecimal.valueOf(items)));
+            for (int i = 0; i < items; i++) {
+                order.addItem(new OrderItem(productRepository.getReferenceById(firstProductId + i), 1, PRICE));
+            }
+            return orderRepository.save(order);
+        });
+    }
+}
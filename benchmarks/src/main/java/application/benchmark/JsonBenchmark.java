@@ -0,0 +1,63 @@
+package application.benchmark;
+
+import application.dto.OrderItemResponseDTO;
+import application.dto.OrderResponseDTO;
+import application.dto.ProductDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Serialização JSON das respostas de checkout e catálogo, com o mesmo ObjectMapper padrão do Spring Boot
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int items;
+
+    private ObjectMapper objectMapper;
+    private OrderResponseDTO order;
+    private Page<ProductDTO> page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        List<OrderItemResponseDTO> orderItems = new ArrayList<>(items);
+        List<ProductDTO> products = new ArrayList<>(items);
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 1; i <= items; i++) {
+            BigDecimal price = BigDecimal.valueOf(1890 + i, 2);
+            orderItems.add(new OrderItemResponseDTO((long) i, (long) i, "Café Torrado 500g " + i, 2, price,
+                    price.multiply(BigDecimal.valueOf(2))));
+            products.add(new ProductDTO((long) i, "Café Torrado 500g " + i, price, 50, true));
+            total = total.add(price.multiply(BigDecimal.valueOf(2)));
+        }
+        order = new OrderResponseDTO(1L, LocalDateTime.now(), total, orderItems);
+        page = new PageImpl<>(products, PageRequest.of(0, items), 100_000);
+    }
+
+    @Benchmark
+    public byte[] orderResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(order);
+    }
+
+    @Benchmark
+    public byte[] productPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
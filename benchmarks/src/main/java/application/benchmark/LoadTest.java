@@ -0,0 +1,154 @@
+package application.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Teste de carga em malha fechada contra um backend já em execução: cada cliente envia uma
+ * requisição, espera a resposta e envia a próxima. Metade das requisições é checkout
+ * (POST /api/v1/orders, sempre passa pela transação JDBC) e metade é paginação por cursor
+ * (GET /api/v1/products/scroll, fora do cache).
+ *
+ * Argumentos: --url=http://localhost:8080 --clients=1000 --warmup=10 --duration=30 (segundos)
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>(Map.of(
+                "url", "http://localhost:8080", "clients", "1000", "warmup", "10", "duration", "30"));
+        for (String arg : args) {
+            String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(pair[0], pair[1]);
+        }
+
+        String url = options.get("url");
+        int clients = Integer.parseInt(options.get("clients"));
+        long warmupEnd = System.nanoTime() + Duration.ofSeconds(Long.parseLong(options.get("warmup"))).toNanos();
+        long end = warmupEnd + Duration.ofSeconds(Long.parseLong(options.get("duration"))).toNanos();
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        Client[] workers = new Client[clients];
+        CountDownLatch done = new CountDownLatch(clients);
+        for (int i = 0; i < clients; i++) {
+            Client worker = new Client(httpClient, url, warmupEnd, end);
+            workers[i] = worker;
+            Thread thread = new Thread(() -> {
+                try {
+                    worker.run();
+                } finally {
+                    done.countDown();
+                }
+            }, "load-client-" + i);
+            thread.start();
+        }
+        done.await();
+
+        report(workers, clients, Long.parseLong(options.get("duration")));
+    }
+
+    private static void report(Client[] workers, int clients, long seconds) {
+        int total = 0;
+        for (Client worker : workers) {
+            total += worker.count;
+        }
+
+        long[] latencies = new long[total];
+        Map<String, Integer> outcomes = new TreeMap<>();
+        int offset = 0;
+        for (Client worker : workers) {
+            System.arraycopy(worker.latencies, 0, latencies, offset, worker.count);
+            offset += worker.count;
+            worker.outcomes.forEach((outcome, n) -> outcomes.merge(outcome, n, Integer::sum));
+        }
+        Arrays.sort(latencies);
+
+        System.out.printf("clientes: %d, duração: %ds, requisições: %d%n", clients, seconds, total);
+        System.out.printf("throughput: %.0f req/s%n", total / (double) seconds);
+        if (total > 0) {
+            System.out.printf("latência (ms): p50=%.1f p90=%.1f p99=%.1f max=%.1f%n",
+                    percentile(latencies, 0.50), percentile(latencies, 0.90),
+                    percentile(latencies, 0.99), latencies[total - 1] / 1e6);
+        }
+        System.out.println("respostas: " + outcomes);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+
+    private static final class Client implements Runnable {
+
+        private final HttpClient httpClient;
+        private final String url;
+        private final long warmupEnd;
+        private final long end;
+        private final Map<String, Integer> outcomes = new HashMap<>();
+        private long[] latencies = new long[1024];
+        private int count;
+
+        Client(HttpClient httpClient, String url, long warmupEnd, long end) {
+            this.httpClient = httpClient;
+            this.url = url;
+            this.warmupEnd = warmupEnd;
+            this.end = end;
+        }
+
+        @Override
+        public void run() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            while (System.nanoTime() < end) {
+                HttpRequest request = random.nextBoolean() ? checkout(random) : scroll(random);
+                long start = System.nanoTime();
+                String outcome;
+                try {
+                    outcome = String.valueOf(httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode());
+                } catch (Exception e) {
+                    outcome = e.getClass().getSimpleName();
+                }
+                long elapsed = System.nanoTime() - start;
+
+                if (start >= warmupEnd) {
+                    record(elapsed);
+                    outcomes.merge(outcome, 1, Integer::sum);
+                }
+            }
+        }
+
+        private void record(long elapsed) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = elapsed;
+        }
+
+        private HttpRequest checkout(ThreadLocalRandom random) {
+            String body = "{\"items\":[{\"productId\":" + (1 + random.nextInt(5)) + ",\"quantity\":1}]}";
+            return HttpRequest.newBuilder(URI.create(url + "/api/v1/orders"))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        }
+
+        private HttpRequest scroll(ThreadLocalRandom random) {
+            return HttpRequest.newBuilder(URI.create(url + "/api/v1/products/scroll?size=20&after=" + random.nextInt(5)))
+                    .timeout(Duration.ofSeconds(30))
+                    .GET()
+                    .build();
+        }
+    }
+}
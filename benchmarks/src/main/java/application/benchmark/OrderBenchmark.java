@@ -0,0 +1,111 @@
+package application.benchmark;
+
+import application.dto.OrderItemRequestDTO;
+import application.dto.OrderRequestDTO;
+import application.service.OrderService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// OrderService.createOrder sobre o backend completo (H2 em memória), por modo de estoque e tamanho do carrinho.
+// Contended: todas as threads compram os mesmos produtos; uncontended: cada thread tem os seus.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx2g"})
+@Threads(OrderBenchmark.THREADS)
+public class OrderBenchmark {
+
+    static final int THREADS = 4;
+    private static final int MAX_CART_SIZE = 20;
+
+    @State(Scope.Benchmark)
+    public static class Backend {
+
+        @Param({"OPTIMISTIC", "ATOMIC", "LEDGER"})
+        public String stockMode;
+
+        @Param({"1", "5", "20"})
+        public int cartSize;
+
+        ConfigurableApplicationContext context;
+        OrderService orderService;
+        long firstProductId;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            context = BackendContext.start("ecommerce.orders.stock-mode=" + stockMode);
+            orderService = context.getBean(OrderService.class);
+
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            firstProductId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM products", Long.class) + 1;
+            CatalogFixture.populate(jdbcTemplate, MAX_CART_SIZE * (THREADS + 1), 1_000_000_000);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            context.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Carts {
+
+        OrderRequestDTO contended;
+        OrderRequestDTO uncontended;
+
+        @Setup(Level.Trial)
+        public void setUp(Backend backend, ThreadParams threadParams) {
+            contended = cart(backend.firstProductId, backend.cartSize);
+            uncontended = cart(backend.firstProductId + (long) MAX_CART_SIZE * (threadParams.getThreadIndex() + 1),
+                    backend.cartSize);
+        }
+
+        private static OrderRequestDTO cart(long firstId, int size) {
+            List<OrderItemRequestDTO> items = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                items.add(new OrderItemRequestDTO(firstId + i, 1));
+            }
+            return new OrderRequestDTO(items);
+        }
+    }
+
+    // Pedidos abortados por optimistic lock (só no modo OPTIMISTIC com disputa)
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+
+        public long conflicts;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            conflicts = 0;
+        }
+    }
+
+    @Benchmark
+    public Object createOrderContended(Backend backend, Carts carts, Outcomes outcomes) {
+        return place(backend, carts.contended, outcomes);
+    }
+
+    @Benchmark
+    public Object createOrderUncontended(Backend backend, Carts carts, Outcomes outcomes) {
+        return place(backend, carts.uncontended, outcomes);
+    }
+
+    private static Object place(Backend backend, OrderRequestDTO cart, Outcomes outcomes) {
+        try {
+            return backend.orderService.createOrder(cart);
+        } catch (OptimisticLockingFailureException e) {
+            outcomes.conflicts++;
+            return e;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package application.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+// Página de 100 itens numa posição profunda do catálogo: OFFSET + COUNT (página atual) x cursor por id
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+public class PaginationBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"100000", "1000000"})
+    public int products;
+
+    // Fração do catálogo já percorrida
+    @Param({"0.01", "0.5", "0.99"})
+    public double depth;
+
+    private JdbcTemplate jdbcTemplate;
+    private long offset;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jdbcTemplate = CatalogFixture.create(products);
+        offset = (long) (products * depth);
+    }
+
+    @Benchmark
+    public void offsetPage(Blackhole blackhole) {
+        blackhole.consume(jdbcTemplate.queryForList(
+                "SELECT id, name, price, stock, active FROM products WHERE active = TRUE " +
+                "OFFSET ? ROWS FETCH FIRST ? ROWS ONLY",
+                offset, PAGE_SIZE));
+        blackhole.consume(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM products WHERE active = TRUE", Long.class));
+    }
+
+    @Benchmark
+    public void keysetPage(Blackhole blackhole) {
+        // Os ids da massa são contíguos, então o cursor equivalente ao offset é o próprio offset
+        blackhole.consume(jdbcTemplate.queryForList(
+                "SELECT id, name, price, stock, active FROM products WHERE active = TRUE AND id > ? " +
+                "ORDER BY id FETCH FIRST ? ROWS ONLY",
+                offset, PAGE_SIZE + 1));
+    }
+}
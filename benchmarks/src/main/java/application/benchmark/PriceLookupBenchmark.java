@@ -0,0 +1,90 @@
+package application.benchmark;
+
+import application.entity.PriceRule;
+import application.pricing.PricingSnapshot;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Preço de uma linha do pedido consultado no PricingSnapshot: cada produto com regras tem 3 faixas,
+// 1 em cada 5 tem duas promoções (uma vigente) e 1.000 clientes têm preço negociado em 10 produtos cada
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PriceLookupBenchmark {
+
+    private static final int QUERIES = 4096;
+
+    @Param({"1000", "100000"})
+    public int products;
+
+    private PricingSnapshot snapshot;
+    private long now;
+    private Long[] productIds;
+    private Long[] unpricedProductIds;
+    private Long[] customerIds;
+    private int[] quantities;
+    private BigDecimal[] prices;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        LocalDateTime start = LocalDateTime.now();
+        List<PriceRule> rules = new ArrayList<>();
+        for (long product = 1; product <= products; product++) {
+            rules.add(PriceRule.tier(product, 5, new BigDecimal("5")));
+            rules.add(PriceRule.tier(product, 10, new BigDecimal("10")));
+            rules.add(PriceRule.tier(product, 50, new BigDecimal("15")));
+            if (product % 5 == 0) {
+                rules.add(PriceRule.promotion(product, new BigDecimal("20"), start.minusDays(1), start.plusDays(1)));
+                rules.add(PriceRule.promotion(product, new BigDecimal("30"), start.plusDays(7), start.plusDays(8)));
+            }
+        }
+        for (long customer = 1; customer <= 1000; customer++) {
+            for (int i = 0; i < 10; i++) {
+                rules.add(PriceRule.customerPrice(1L + random.nextInt(products), customer,
+                        BigDecimal.valueOf(500 + random.nextInt(10_000), 2)));
+            }
+        }
+        for (int i = 0; i < rules.size(); i++) {
+            rules.get(i).setId(i + 1L);
+        }
+        snapshot = PricingSnapshot.compile(rules, ZoneId.systemDefault());
+        now = System.currentTimeMillis();
+
+        productIds = new Long[QUERIES];
+        unpricedProductIds = new Long[QUERIES];
+        customerIds = new Long[QUERIES];
+        quantities = new int[QUERIES];
+        prices = new BigDecimal[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            productIds[i] = 1L + random.nextInt(products);
+            unpricedProductIds[i] = products + 1L + random.nextInt(products);
+            customerIds[i] = random.nextBoolean() ? null : 1L + random.nextInt(2000);
+            quantities[i] = 1 + random.nextInt(60);
+            prices[i] = BigDecimal.valueOf(100 + random.nextInt(100_000), 2);
+        }
+    }
+
+    @Benchmark
+    public long pricedProduct() {
+        int i = next++ & (QUERIES - 1);
+        return snapshot.unitPriceCents(productIds[i], prices[i], quantities[i], customerIds[i], now);
+    }
+
+    @Benchmark
+    public long unpricedProduct() {
+        int i = next++ & (QUERIES - 1);
+        return snapshot.unitPriceCents(unpricedProductIds[i], prices[i], quantities[i], customerIds[i], now);
+    }
+}
@@ -0,0 +1,62 @@
+package application.benchmark;
+
+import application.pricing.Money;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Total de um carrinho: cálculo anterior com BigDecimal (incluindo a linha recalculada no construtor
+// do OrderItem) contra centavos em long. Nos dois, o total de cada linha sai como BigDecimal para gravar
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PricingBenchmark {
+
+    @Param({"10", "100", "500"})
+    public int lines;
+
+    private BigDecimal[] prices;
+    private int[] quantities;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        prices = new BigDecimal[lines];
+        quantities = new int[lines];
+        for (int i = 0; i < lines; i++) {
+            prices[i] = BigDecimal.valueOf(100 + random.nextInt(100_000), 2);
+            quantities[i] = 1 + random.nextInt(20);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimal(Blackhole blackhole) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < lines; i++) {
+            BigDecimal lineTotal = prices[i].multiply(BigDecimal.valueOf(quantities[i]))
+                                            .setScale(2, RoundingMode.HALF_EVEN);
+            blackhole.consume(prices[i].multiply(BigDecimal.valueOf(quantities[i])));
+            blackhole.consume(lineTotal);
+            total = total.add(lineTotal);
+        }
+        return total.setScale(2, RoundingMode.HALF_EVEN);
+    }
+
+    @Benchmark
+    public BigDecimal cents(Blackhole blackhole) {
+        long total = 0;
+        for (int i = 0; i < lines; i++) {
+            long lineTotal = Money.lineTotal(prices[i], quantities[i]);
+            blackhole.consume(Money.toBigDecimal(lineTotal));
+            total = Money.add(total, lineTotal);
+        }
+        return Money.toBigDecimal(total);
+    }
+}
@@ -0,0 +1,64 @@
+package application.benchmark;
+
+import application.search.ProductSearchIndex;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+// Busca de uma página de 10 itens + total: LIKE '%termo%' (consulta atual) x índice de trigramas
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+public class SearchBenchmark {
+
+    private static final int PAGE_SIZE = 10;
+
+    @Param({"10000", "100000", "1000000"})
+    public int products;
+
+    @Param({"mascavo", "moedor manual", "inox 30"})
+    public String term;
+
+    private JdbcTemplate jdbcTemplate;
+    private ProductSearchIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jdbcTemplate = CatalogFixture.create(products);
+        index = new ProductSearchIndex(jdbcTemplate);
+        index.rebuild();
+    }
+
+    @Benchmark
+    public void likeQuery(Blackhole blackhole) {
+        blackhole.consume(jdbcTemplate.queryForList(
+                "SELECT id, name, price, stock, active FROM products WHERE active = TRUE AND " +
+                "LOWER(name) LIKE LOWER(CONCAT('%', ?, '%')) OFFSET 0 ROWS FETCH FIRST ? ROWS ONLY",
+                term, PAGE_SIZE));
+        blackhole.consume(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM products WHERE active = TRUE AND " +
+                "LOWER(name) LIKE LOWER(CONCAT('%', ?, '%'))",
+                Long.class, term));
+    }
+
+    @Benchmark
+    public void indexedSearch(Blackhole blackhole) {
+        long[] matches = index.search(term);
+        blackhole.consume(matches.length);
+
+        Object[] pageIds = Arrays.stream(matches).limit(PAGE_SIZE).boxed().toArray();
+        if (pageIds.length > 0) {
+            String placeholders = String.join(",", Collections.nCopies(pageIds.length, "?"));
+            blackhole.consume(jdbcTemplate.queryForList(
+                    "SELECT id, name, price, stock, active FROM products WHERE id IN (" + placeholders + ")",
+                    pageIds));
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package application.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Fan-out do stream de estoque contra um backend já em execução: importa um produto com estoque alto,
+ * abre `subscribers` conexões em GET /api/v1/products/stream acompanhando esse produto e faz `orders`
+ * pedidos de uma unidade a `rate` pedidos/s. Cada evento recebido é casado com o pedido que levou o
+ * estoque àquele valor; a latência vai do envio do pedido até a chegada do evento em cada assinante.
+ * As conexões usam o HttpClient assíncrono, sem thread por conexão também no cliente.
+ *
+ * Argumentos: --url=http://localhost:8080 --subscribers=10000 --orders=100 --rate=5
+ */
+public class StockStreamLoadTest {
+
+    private static final long INITIAL_STOCK = 1_000_000;
+    private static final int CONNECT_BATCH = 500;
+    private static final Pattern PRODUCT_ID = Pattern.compile("\"id\":(\\d+)");
+    private static final Pattern STOCK = Pattern.compile("\"stock\":(\\d+)");
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>(Map.of(
+                "url", "http://localhost:8080", "subscribers", "10000", "orders", "100", "rate", "5"));
+        for (String arg : args) {
+            String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(pair[0], pair[1]);
+        }
+
+        String url = options.get("url");
+        int subscribers = Integer.parseInt(options.get("subscribers"));
+        int orders = Integer.parseInt(options.get("orders"));
+        long pauseNanos = TimeUnit.SECONDS.toNanos(1) / Long.parseLong(options.get("rate"));
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        long productId = importProduct(httpClient, url);
+
+        // sentAt[k]: envio do pedido que deixou o estoque em INITIAL_STOCK - k
+        AtomicLongArray sentAt = new AtomicLongArray(orders + 1);
+        AtomicInteger connected = new AtomicInteger();
+        AtomicInteger closed = new AtomicInteger();
+        List<Listener> listeners = new ArrayList<>(subscribers);
+        HttpRequest subscribe = HttpRequest.newBuilder(URI.create(url + "/api/v1/products/stream?ids=" + productId))
+                .header("Accept", "text/event-stream")
+                .GET()
+                .build();
+
+        long connectStart = System.nanoTime();
+        for (int i = 0; i < subscribers; i++) {
+            Listener listener = new Listener(sentAt, connected, closed);
+            listeners.add(listener);
+            httpClient.sendAsync(subscribe, HttpResponse.BodyHandlers.fromLineSubscriber(listener))
+                    .whenComplete((response, error) -> listener.close());
+            // Em lotes, para não estourar a fila de accept do servidor
+            if ((i + 1) % CONNECT_BATCH == 0) {
+                await(() -> connected.get() + closed.get() >= listeners.size(), Duration.ofSeconds(60));
+            }
+        }
+        await(() -> connected.get() + closed.get() >= subscribers, Duration.ofSeconds(60));
+        long connectMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - connectStart);
+        System.out.printf("assinantes conectados: %d de %d em %d ms%n", connected.get(), subscribers, connectMillis);
+
+        HttpRequest order = HttpRequest.newBuilder(URI.create(url + "/api/v1/orders"))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"items\":[{\"productId\":" + productId + ",\"quantity\":1}]}"))
+                .build();
+        int placed = 0;
+        long next = System.nanoTime();
+        for (int k = 1; k <= orders; k++) {
+            while (System.nanoTime() < next) {
+                Thread.onSpinWait();
+            }
+            next += pauseNanos;
+            sentAt.set(placed + 1, System.nanoTime());
+            if (httpClient.send(order, HttpResponse.BodyHandlers.discarding()).statusCode() == 201) {
+                placed++;
+            }
+        }
+        int finalPlaced = placed;
+        // Espera o último valor chegar a todos (ou 10s)
+        await(() -> listeners.stream().allMatch(l -> l.closed || l.lastStock <= INITIAL_STOCK - finalPlaced),
+                Duration.ofSeconds(10));
+
+        report(listeners, subscribers, connected.get(), closed.get(), finalPlaced);
+        System.exit(0);
+    }
+
+    private static long importProduct(HttpClient httpClient, String url) throws Exception {
+        String sku = "STREAM-" + System.currentTimeMillis();
+        String csv = "sku,name,price,stock\n" + sku + ",Produto " + sku + ",10.00," + INITIAL_STOCK + "\n";
+        HttpResponse<String> imported = httpClient.send(HttpRequest.newBuilder(URI.create(url + "/api/v1/products/import"))
+                .header("Content-Type", "text/csv")
+                .POST(HttpRequest.BodyPublishers.ofString(csv))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (imported.statusCode() != 200) {
+            throw new IllegalStateException("Importação falhou: " + imported.body());
+        }
+
+        HttpResponse<String> found = httpClient.send(HttpRequest.newBuilder(
+                URI.create(url + "/api/v1/products/scroll?size=1&search=" + sku)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        Matcher matcher = PRODUCT_ID.matcher(found.body());
+        if (!matcher.find()) {
+            throw new IllegalStateException("Produto importado não encontrado: " + found.body());
+        }
+        return Long.parseLong(matcher.group(1));
+    }
+
+    private static void await(BooleanSupplier condition, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+    }
+
+    private static void report(List<Listener> listeners, int subscribers, int connected, int closed, int placed) {
+        int total = 0;
+        int events = 0;
+        int complete = 0;
+        for (Listener listener : listeners) {
+            total += listener.count;
+            events += listener.events;
+            if (listener.lastStock == INITIAL_STOCK - placed) {
+                complete++;
+            }
+        }
+        long[] latencies = new long[total];
+        int offset = 0;
+        for (Listener listener : listeners) {
+            System.arraycopy(listener.latencies, 0, latencies, offset, listener.count);
+            offset += listener.count;
+        }
+        Arrays.sort(latencies);
+
+        System.out.printf("assinantes: %d, conectados: %d, encerrados: %d, pedidos: %d%n",
+                subscribers, connected, closed, placed);
+        System.out.printf("eventos recebidos: %d (%.1f por assinante); com o estoque final: %d%n",
+                events, events / (double) Math.max(connected, 1), complete);
+        if (total > 0) {
+            System.out.printf("pedido até o evento (ms): p50=%.1f p90=%.1f p99=%.1f max=%.1f%n",
+                    percentile(latencies, 0.50), percentile(latencies, 0.90),
+                    percentile(latencies, 0.99), latencies[total - 1] / 1e6);
+        }
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+
+    // onNext é serial por conexão, então os campos não precisam de sincronização além do volatile de leitura
+    private static final class Listener implements Flow.Subscriber<String> {
+
+        private final AtomicLongArray sentAt;
+        private final AtomicInteger connected;
+        private final AtomicInteger closedCount;
+        private long[] latencies = new long[64];
+        private int count;
+        private int events;
+        private volatile long lastStock = Long.MAX_VALUE;
+        private volatile boolean closed;
+
+        Listener(AtomicLongArray sentAt, AtomicInteger connected, AtomicInteger closedCount) {
+            this.sentAt = sentAt;
+            this.connected = connected;
+            this.closedCount = closedCount;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            if (!line.startsWith("data:")) {
+                return;
+            }
+            long now = System.nanoTime();
+            Matcher matcher = STOCK.matcher(line);
+            if (!matcher.find()) {
+                return;
+            }
+            long stock = Long.parseLong(matcher.group(1));
+            if (lastStock == Long.MAX_VALUE) {
+                connected.incrementAndGet();
+            } else {
+                events++;
+                int k = (int) (INITIAL_STOCK - stock);
+                if (k > 0 && k < sentAt.length() && sentAt.get(k) != 0) {
+                    if (count == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, count * 2);
+                    }
+                    latencies[count++] = now - sentAt.get(k);
+                }
+            }
+            lastStock = stock;
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            close();
+        }
+
+        @Override
+        public void onComplete() {
+            close();
+        }
+
+        synchronized void close() {
+            if (!closed) {
+                closed = true;
+                closedCount.incrementAndGet();
+            }
+        }
+    }
+}
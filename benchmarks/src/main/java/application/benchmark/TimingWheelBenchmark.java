@@ -0,0 +1,65 @@
+package application.benchmark;
+
+import application.reservation.TimingWheel;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// Agendar e cancelar uma reserva com `pending` outras já aguardando (prazos espalhados em 15 minutos):
+// TimingWheel das reservas contra uma tarefa por reserva num ScheduledThreadPoolExecutor (heap com remoção
+// no cancelamento). O executor nunca chega a rodar as tarefas; mede-se só o custo de manter a fila
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx2g"})
+public class TimingWheelBenchmark {
+
+    private static final long TTL_MILLIS = TimeUnit.MINUTES.toMillis(15);
+    private static final Runnable NOOP = () -> { };
+
+    @Param({"10000", "1000000"})
+    public int pending;
+
+    private TimingWheel<Long> wheel;
+    private ScheduledThreadPoolExecutor executor;
+    private long now;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        now = System.currentTimeMillis();
+        wheel = new TimingWheel<>(100, now);
+        executor = new ScheduledThreadPoolExecutor(1);
+        executor.setRemoveOnCancelPolicy(true);
+        for (int i = 0; i < pending; i++) {
+            long delay = 1 + (long) (random.nextDouble() * TTL_MILLIS);
+            wheel.schedule((long) i, now + delay);
+            executor.schedule(NOOP, TTL_MILLIS + delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public boolean timingWheel() {
+        long id = sequence++;
+        TimingWheel.Timeout<Long> timeout = wheel.schedule(id, now + TTL_MILLIS - (id & 0xFFFF));
+        return wheel.cancel(timeout);
+    }
+
+    @Benchmark
+    public boolean scheduledExecutor() {
+        long id = sequence++;
+        ScheduledFuture<?> future = executor.schedule(NOOP, TTL_MILLIS - (id & 0xFFFF), TimeUnit.MILLISECONDS);
+        return future.cancel(false);
+    }
+}
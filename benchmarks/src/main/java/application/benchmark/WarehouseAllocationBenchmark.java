@@ -0,0 +1,57 @@
+package application.benchmark;
+
+import application.inventory.WarehouseAllocator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Escolha da divisão de um carrinho entre 3 armazéns (6 candidatos): avaliação sequencial contra
+// paralela (ForkJoinPool comum; com uma thread só no pool as duas seguem o caminho sequencial).
+// Cada linha tem saldo espalhado, então poucos carrinhos saem de um armazém só
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WarehouseAllocationBenchmark {
+
+    private static final int WAREHOUSES = 3;
+
+    @Param({"10", "100", "1000", "5000"})
+    public int lines;
+
+    private WarehouseAllocator sequential;
+    private WarehouseAllocator parallel;
+    private int[] quantities;
+    private int[] available;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        sequential = new WarehouseAllocator(WAREHOUSES, Integer.MAX_VALUE);
+        parallel = new WarehouseAllocator(WAREHOUSES, 1);
+        quantities = new int[lines];
+        available = new int[lines * WAREHOUSES];
+        for (int line = 0; line < lines; line++) {
+            int total = 0;
+            for (int w = 0; w < WAREHOUSES; w++) {
+                available[line * WAREHOUSES + w] = random.nextInt(20);
+                total += available[line * WAREHOUSES + w];
+            }
+            quantities[line] = 1 + random.nextInt(Math.max(1, total));
+            available[line * WAREHOUSES + random.nextInt(WAREHOUSES)] += quantities[line];
+        }
+    }
+
+    @Benchmark
+    public int[] sequential() {
+        return sequential.allocate(quantities, available);
+    }
+
+    @Benchmark
+    public int[] parallel() {
+        return parallel.allocate(quantities, available);
+    }
+}
@@ -0,0 +1,49 @@
+package application.service;
+
+import application.entity.Order;
+import application.entity.OrderItem;
+import application.entity.Product;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// No pacote do serviço para alcançar o convertToResponseDTO (package-private)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderMappingBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int items;
+
+    private OrderService orderService;
+    private Order order;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        orderService = new OrderService(null, null, StockReservationMode.OPTIMISTIC, Optional.empty(), Optional.empty(), null, null, null);
+
+        order = new Order();
+        order.setId(1L);
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 1; i <= items; i++) {
+            Product product = new Product("Café Torrado 500g " + i, BigDecimal.valueOf(1890 + i, 2), 50);
+            product.setId((long) i);
+            OrderItem item = new OrderItem(product, 2, product.getPrice());
+            item.setId((long) i);
+            order.addItem(item);
+            total = total.add(item.getLineTotal());
+        }
+        order.setTotal(total);
+    }
+
+    @Benchmark
+    public Object convertToResponseDTO() {
+        return orderService.convertToResponseDTO(order);
+    }
+}
@@ -1,10 +1,10 @@
 import { Component, OnInit, OnDestroy } from '@angular/core';
 import { CommonModule } from '@angular/common';
 import { FormsModule } from '@angular/forms';
-import {Subject, debounceTime, distinctUntilChanged, takeUntil, switchMap} from 'rxjs';
+import {Subject, Subscription, debounceTime, distinctUntilChanged, takeUntil, switchMap} from 'rxjs';
 import { ProductService } from '../../services/product.service';
 import { CartService } from '../../services/cart.service';
-import { Product, ProductPage } from '../../models/product.model';
+import { Product, ProductPage, StockUpdate } from '../../models/product.model';
 
 @Component({
   selector: 'app-product-list',
@@ -189,6 +189,7 @@ export class ProductListComponent implements OnInit, OnDestroy {
   loading: boolean = false;
   private destroy$ = new Subject<void>();
   private searchSubject = new Subject<string>();
+  private stockSubscription?: Subscription;
 
   constructor(
     private productService: ProductService,
@@ -200,7 +201,7 @@ export class ProductListComponent implements OnInit, OnDestroy {
       switchMap(term => this.productService.getProducts(term, 0, 10)),
       takeUntil(this.destroy$)
     ).subscribe({
-      next: (page) => { this.productPage = page; this.products = page.content; this.loading = false; },
+      next: (page) => { this.productPage = page; this.products = page.content; this.loading = false; this.watchStock(); },
       error: (err) => { /* tratamento */ }
     });
 
@@ -211,6 +212,7 @@ export class ProductListComponent implements OnInit, OnDestroy {
   }
 
   ngOnDestroy(): void {
+    this.stockSubscription?.unsubscribe();
     this.destroy$.next();
     this.destroy$.complete();
   }
@@ -226,6 +228,7 @@ export class ProductListComponent implements OnInit, OnDestroy {
         this.productPage = productPage;
         this.products = productPage.content;
         this.loading = false;
+        this.watchStock();
       },
       error: (error) => {
         console.error('Erro ao carregar produtos:', error);
@@ -240,6 +243,24 @@ export class ProductListComponent implements OnInit, OnDestroy {
     }
   }
 
+  // Estoque e preço da página atual ao vivo, sem recarregar a listagem
+  private watchStock(): void {
+    this.stockSubscription?.unsubscribe();
+    if (this.products.length === 0) {
+      return;
+    }
+    this.stockSubscription = this.productService.streamStock(this.products.map(product => product.id))
+      .subscribe(updates => this.applyStock(updates));
+  }
+
+  private applyStock(updates: StockUpdate[]): void {
+    const byId = new Map(updates.map(update => [update.productId, update]));
+    this.products = this.products.map(product => {
+      const update = byId.get(product.id);
+      return update ? { ...product, stock: update.stock, price: update.price } : product;
+    });
+  }
+
   addToCart(product: Product): void {
     if (product.stock > 0) {
       this.cartService.addToCart(product, 1);
@@ -16,3 +16,8 @@ export interface ProductPage {
   last: boolean;
 }
 
+export interface StockUpdate {
+  productId: number;
+  stock: number;
+  price: number;
+}
@@ -1,7 +1,7 @@
 import { Injectable } from '@angular/core';
 import { HttpClient, HttpParams } from '@angular/common/http';
 import { Observable } from 'rxjs';
-import { Product, ProductPage } from '../models/product.model';
+import { Product, ProductPage, StockUpdate } from '../models/product.model';
 import { environment } from '../../environments/environment';
 
 
@@ -25,5 +25,14 @@ export class ProductService {
 
     return this.http.get<ProductPage>(this.apiUrl, { params });
   }
+
+  // Primeiro evento com os valores atuais, depois só o que mudou; o EventSource reconecta sozinho
+  streamStock(ids: number[]): Observable<StockUpdate[]> {
+    return new Observable<StockUpdate[]>(subscriber => {
+      const source = new EventSource(`${this.apiUrl}/stream?ids=${ids.join(',')}`);
+      source.addEventListener('stock', event => subscriber.next(JSON.parse((event as MessageEvent).data)));
+      return () => source.close();
+    });
+  }
 }
 
@@ -0,0 +1,21 @@
+import { HttpInterceptorFn, HttpResponse } from '@angular/common/http';
+import { tap } from 'rxjs';
+
+const HEADER = 'Read-Your-Writes-Until';
+
+// Prazo recebido na última escrita; enquanto não passar, as leituras pedem o primário ao backend
+let readYourWritesUntil = 0;
+
+export const readYourWritesInterceptor: HttpInterceptorFn = (req, next) => {
+  if (Date.now() < readYourWritesUntil) {
+    req = req.clone({ setHeaders: { [HEADER]: String(readYourWritesUntil) } });
+  }
+  return next(req).pipe(
+    tap(event => {
+      const until = event instanceof HttpResponse ? Number(event.headers.get(HEADER)) : 0;
+      if (until > readYourWritesUntil) {
+        readYourWritesUntil = until;
+      }
+    })
+  );
+};